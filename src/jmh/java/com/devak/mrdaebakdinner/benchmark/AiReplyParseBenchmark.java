@@ -0,0 +1,37 @@
+package com.devak.mrdaebakdinner.benchmark;
+
+import com.devak.mrdaebakdinner.service.AiOrderService;
+import com.devak.mrdaebakdinner.service.ConversationCompactor;
+import com.devak.mrdaebakdinner.service.ConversationStore;
+import com.devak.mrdaebakdinner.service.ExtractedOrderParser;
+import com.devak.mrdaebakdinner.service.MenuFaqResponder;
+import com.devak.mrdaebakdinner.service.ModelReplyCache;
+import com.devak.mrdaebakdinner.service.OllamaClient;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// AiOrderService가 /api/chat 응답 본문에서 status/message/extracted_info를 꺼내는 비용 (HTTP 호출 없음)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AiReplyParseBenchmark {
+
+    private AiOrderService aiOrderService;
+
+    @Setup
+    public void setUp() {
+        aiOrderService = new AiOrderService(new OllamaClient("http://localhost:11434", 2000, 60_000, 8, 4, "30m",
+                15_000, new SimpleMeterRegistry()),
+                new ConversationStore(30, 10_000, 64L << 20),
+                new ExtractedOrderParser(), new ConversationCompactor(4, 8, 3500),
+                new MenuFaqResponder(), new ModelReplyCache(1000, 60));
+    }
+
+    @Benchmark
+    public AiOrderService.ModelReply parseModelReply() throws JsonProcessingException {
+        return aiOrderService.parseModelReply(Fixtures.OLLAMA_CHAT_RESPONSE);
+    }
+}
@@ -0,0 +1,43 @@
+package com.devak.mrdaebakdinner.benchmark;
+
+import com.devak.mrdaebakdinner.dto.OrderDTO;
+import com.devak.mrdaebakdinner.dto.OrderItemDTO;
+import com.devak.mrdaebakdinner.service.ItemCatalog;
+import com.devak.mrdaebakdinner.service.OrderPricing;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// OrderService.placeOrder 중 DB를 타지 않는 부분: 검증 + 가격 계산 + VIP 할인(10원 단위 버림)
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class CheckoutPricingBenchmark {
+
+    private ItemCatalog itemCatalog;
+    private OrderDTO orderDTO;
+    private OrderItemDTO orderItemDTO;
+
+    @Setup
+    public void setUp() {
+        itemCatalog = Fixtures.itemCatalog();
+        orderDTO = Fixtures.champagneOrder();
+        orderItemDTO = Fixtures.fullOrderItems();
+    }
+
+    @Benchmark
+    public void validate() {
+        OrderPricing.validate(orderDTO, orderItemDTO);
+    }
+
+    @Benchmark
+    public int subtotal() {
+        return OrderPricing.subtotal(orderItemDTO, itemCatalog);
+    }
+
+    @Benchmark
+    public int validateAndPriceVip() {
+        OrderPricing.validate(orderDTO, orderItemDTO);
+        return OrderPricing.applyDiscount(OrderPricing.subtotal(orderItemDTO, itemCatalog), "VIP");
+    }
+}
@@ -0,0 +1,104 @@
+package com.devak.mrdaebakdinner.benchmark;
+
+import com.devak.mrdaebakdinner.dto.OrderDTO;
+import com.devak.mrdaebakdinner.dto.OrderItemDTO;
+import com.devak.mrdaebakdinner.entity.*;
+import com.devak.mrdaebakdinner.repository.ItemRepository;
+import com.devak.mrdaebakdinner.service.ItemCatalog;
+
+import java.lang.reflect.Proxy;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+// 벤치마크용 고정 입력 (V3__seed_items.sql과 같은 item/단가)
+final class Fixtures {
+
+    static final String[] ITEM_NAMES = {
+            "wine", "steak", "coffee_cup", "coffee_pot", "salad",
+            "eggscramble", "bacon", "bread", "baguette", "champagne"
+    };
+    static final int[] UNIT_PRICES = {43000, 39000, 6000, 36000, 23000, 16000, 10000, 7000, 8000, 98000};
+
+    private Fixtures() {
+    }
+
+    // findAll()만 동작하는 ItemRepository로 만든 ItemCatalog (DB 없음)
+    static ItemCatalog itemCatalog() {
+        List<ItemEntity> items = new ArrayList<>();
+        for (int i = 0; i < ITEM_NAMES.length; i++) {
+            ItemEntity item = new ItemEntity();
+            item.setId((long) (i + 1));
+            item.setName(ITEM_NAMES[i]);
+            item.setUnitPrice(UNIT_PRICES[i]);
+            items.add(item);
+        }
+        ItemRepository itemRepository = (ItemRepository) Proxy.newProxyInstance(
+                ItemRepository.class.getClassLoader(),
+                new Class<?>[]{ItemRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findAll") && (args == null || args.length == 0)) {
+                        return items;
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        ItemCatalog itemCatalog = new ItemCatalog(itemRepository);
+        itemCatalog.refresh();
+        return itemCatalog;
+    }
+
+    // CHAMPAGNE 디너 기본 구성 + 추가 item (10개 item 전부 채움)
+    static OrderItemDTO fullOrderItems() {
+        OrderItemDTO orderItemDTO = new OrderItemDTO();
+        orderItemDTO.setWine(1);
+        orderItemDTO.setSteak(2);
+        orderItemDTO.setCoffee_cup(0);
+        orderItemDTO.setCoffee_pot(1);
+        orderItemDTO.setSalad(1);
+        orderItemDTO.setEggscramble(0);
+        orderItemDTO.setBacon(0);
+        orderItemDTO.setBread(0);
+        orderItemDTO.setBaguette(4);
+        orderItemDTO.setChampagne(1);
+        return orderItemDTO;
+    }
+
+    static OrderDTO champagneOrder() {
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.setDinnerKind(OrderDnrKind.CHAMPAGNE);
+        orderDTO.setDinnerStyle(OrderDnrStyle.DELUXE);
+        orderDTO.setDeliveryAddress("서울시 광진구 능동로 120");
+        orderDTO.setCardNumber("1234-5678-9012-3456");
+        return orderDTO;
+    }
+
+    static OrderEntity deliveredOrder() {
+        CustomerEntity customer = new CustomerEntity();
+        customer.setId(1L);
+        customer.setLoginId("regular01");
+        customer.setName("단골");
+        customer.setMembershipLevel("VIP");
+
+        OrderEntity order = new OrderEntity();
+        order.setId(42L);
+        order.setCustomer(customer);
+        order.setOrderTime(OffsetDateTime.of(2026, 2, 14, 19, 0, 0, 0, ZoneOffset.ofHours(9)));
+        order.setDinnerKind(OrderDnrKind.VALENTINE);
+        order.setDinnerStyle(OrderDnrStyle.GRAND);
+        order.setDeliveryAddress("서울시 광진구 능동로 120");
+        order.setDeliveryTime(OffsetDateTime.of(2026, 2, 14, 19, 40, 0, 0, ZoneOffset.ofHours(9)));
+        order.setTotalPrice(73800);
+        order.setCardNumber("1234-5678-9012-3456");
+        order.setStatus(OrderStatus.DELIVERED);
+        return order;
+    }
+
+    // gemma3가 CONTINUE 턴에 돌려주는 형태의 /api/chat 응답 본문
+    static final String OLLAMA_CHAT_RESPONSE = """
+            {"model":"gemma3:12b","created_at":"2026-02-14T10:00:00Z",
+             "message":{"role":"assistant","content":"{\\"status\\": \\"CONTINUE\\", \\"message\\": \\"발렌타인 디너를 선택하셨습니다. 스타일은 SIMPLE, GRAND, DELUXE 중 어떤 것으로 하시겠어요?\\", \\"extracted_info\\": {\\"menu\\": \\"VALENTINE\\", \\"style\\": null, \\"items\\": {\\"wine\\": 1, \\"steak\\": 1, \\"coffee_cup\\": 0, \\"coffee_pot\\": 0, \\"salad\\": 0, \\"eggscramble\\": 0, \\"bacon\\": 0, \\"bread\\": 0, \\"baguette\\": 0, \\"champagne\\": 0}, \\"reservation_time\\": null, \\"delivery_address\\": null, \\"card_number\\": null}}"},
+             "done_reason":"stop","done":true,"total_duration":2870000000,"load_duration":51000000,
+             "prompt_eval_count":1412,"prompt_eval_duration":1630000000,"eval_count":118,"eval_duration":1180000000}
+            """;
+}
@@ -0,0 +1,55 @@
+package com.devak.mrdaebakdinner.benchmark;
+
+import com.devak.mrdaebakdinner.dto.OrderHistoryDTO;
+import com.devak.mrdaebakdinner.dto.OrderItemDTO;
+import com.devak.mrdaebakdinner.entity.OrderEntity;
+import com.devak.mrdaebakdinner.mapper.OrderMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+// OrderMapper.toOrderHistoryDTO와 OrderItemDTO의 item별 getter/setter, 템플릿용 Map view
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class OrderMappingBenchmark {
+
+    private OrderEntity orderEntity;
+    private OrderItemDTO orderItemDTO;
+
+    @Setup
+    public void setUp() {
+        orderEntity = Fixtures.deliveredOrder();
+        orderItemDTO = Fixtures.fullOrderItems();
+    }
+
+    @Benchmark
+    public OrderHistoryDTO toOrderHistoryDTO() {
+        return OrderMapper.toOrderHistoryDTO(orderEntity);
+    }
+
+    // 템플릿/폼 바인딩처럼 10개 getter를 모두 읽음
+    @Benchmark
+    public int readAllItemQuantities() {
+        return orderItemDTO.getWine() + orderItemDTO.getSteak() + orderItemDTO.getCoffee_cup()
+                + orderItemDTO.getCoffee_pot() + orderItemDTO.getSalad() + orderItemDTO.getEggscramble()
+                + orderItemDTO.getBacon() + orderItemDTO.getBread() + orderItemDTO.getBaguette()
+                + orderItemDTO.getChampagne();
+    }
+
+    // 폼 바인딩처럼 새 DTO에 10개 setter를 모두 호출
+    @Benchmark
+    public OrderItemDTO bindAllItemQuantities() {
+        return Fixtures.fullOrderItems();
+    }
+
+    // 주문 상세 템플릿처럼 getOrderItems() Map view를 만들어 순회
+    @Benchmark
+    public int iterateOrderItemsView() {
+        int total = 0;
+        for (int quantity : orderItemDTO.getOrderItems().values()) {
+            total += quantity;
+        }
+        return total;
+    }
+}
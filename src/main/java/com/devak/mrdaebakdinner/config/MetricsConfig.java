@@ -0,0 +1,39 @@
+package com.devak.mrdaebakdinner.config;
+
+import com.devak.mrdaebakdinner.service.ConversationStore;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+// 호출 지점에서 재지 않는 지표 (이미 있는 stats()를 Prometheus가 긁을 때 읽음)
+// 호출 지점에서 재는 지표: checkout.place.order, orders.status.transitions (OrderService), ai.ollama.* (OllamaClient)
+// repository 호출 시간(spring.data.repository.invocations)과 HTTP 요청(http.server.requests)은 actuator가 기록
+@Configuration
+public class MetricsConfig {
+
+    // AI 주문 대화 저장소: 현재 대화 수 / 추정 byte, 끝난 이유별 누적 대화 수
+    @Bean
+    public MeterBinder conversationStoreMetrics(ConversationStore conversationStore) {
+        return registry -> {
+            Gauge.builder("ai.conversations.size", conversationStore, store -> store.stats().get("conversations"))
+                    .description("보관 중인 AI 주문 대화 수")
+                    .register(registry);
+            Gauge.builder("ai.conversations.bytes", conversationStore, store -> store.stats().get("weightedBytes"))
+                    .description("보관 중인 AI 주문 대화 기록 크기 (추정치)")
+                    .baseUnit("bytes")
+                    .register(registry);
+            Supplier<Map<String, Long>> stats = conversationStore::stats;
+            for (String reason : new String[]{"completed", "expired", "sizeEvicted"}) {
+                FunctionCounter.builder("ai.conversations.removed", stats, s -> s.get().get(reason))
+                        .description("저장소에서 지운 AI 주문 대화 수")
+                        .tag("reason", reason)
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,10 @@
+package com.devak.mrdaebakdinner.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// @Scheduled 작업 (inventory ledger flush 등) 활성화
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
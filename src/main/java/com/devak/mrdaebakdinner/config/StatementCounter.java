@@ -0,0 +1,31 @@
+package com.devak.mrdaebakdinner.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Hibernate가 준비하는 SQL 문장 수를 스레드별로 셈 (hibernate.session_factory.statement_inspector로 등록)
+// batch로 묶인 INSERT/UPDATE는 문장을 한 번만 준비하므로 한 번으로 셈 -> 대략 DB round trip 수
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    // 현재 스레드에서 세기 시작
+    public static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    // 세기를 멈추고 그동안 준비된 문장 수 반환
+    public static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+}
@@ -1,13 +1,19 @@
 package com.devak.mrdaebakdinner.controller;
 
 import com.devak.mrdaebakdinner.dto.CustomerSessionDTO;
+import com.devak.mrdaebakdinner.exception.AiBusyException;
+import com.devak.mrdaebakdinner.service.AiChatStreamService;
 import com.devak.mrdaebakdinner.service.AiOrderService;
 import jakarta.servlet.http.HttpSession;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequiredArgsConstructor
@@ -15,33 +21,67 @@ import java.util.Map;
 public class AiOrderController {
 
     private final AiOrderService aiOrderService;
+    private final AiChatStreamService aiChatStreamService;
 
+    // 모델 응답을 기다리는 동안 Tomcat worker를 돌려줌 (servlet async, CompletableFuture가 끝나면 응답)
     @PostMapping("/ai-chat-order")
-    public ResponseEntity<?> chatWithAi(@RequestBody Map<String, String> request,
-                                        HttpSession session) {
+    public CompletableFuture<ResponseEntity<?>> chatWithAi(@RequestBody Map<String, String> request,
+                                                           HttpSession session) {
+        String userInput = request.get("userInput");
+        if (userInput == null || userInput.isBlank()) {
+            return CompletableFuture.completedFuture(ResponseEntity.badRequest().body(Map.of(
+                    "status", "ERROR",
+                    "message", "사용자 입력이 누락되었습니다."
+            )));
+        }
+        CustomerSessionDTO sessionDTO = (CustomerSessionDTO) session.getAttribute("loggedInCustomer");
+        if (sessionDTO == null) {
+            return CompletableFuture.completedFuture(ResponseEntity.status(401).body(Map.of(
+                    "status", "ERROR",
+                    "message", "로그인 정보 없음"
+            )));
+        }
+        String userId = sessionDTO.getLoginId();
+        CompletableFuture<Map<String, Object>> result;
         try {
-            String userInput = request.get("userInput");
-            if (userInput == null || userInput.isBlank()) {
-                return ResponseEntity.badRequest().body(Map.of(
-                        "status", "ERROR",
-                        "message", "사용자 입력이 누락되었습니다."
-                ));
-            }
-            CustomerSessionDTO sessionDTO = (CustomerSessionDTO) session.getAttribute("loggedInCustomer");
-            if (sessionDTO == null) {
-                return ResponseEntity.status(401).body(Map.of(
-                        "status", "ERROR",
-                        "message", "로그인 정보 없음"
-                ));
-            }
-            String userId = sessionDTO.getLoginId();
-            Map<String, Object> result = aiOrderService.processUserMessage(userInput, userId);
-            return ResponseEntity.ok(result);
-        } catch (Exception e) {
-            return ResponseEntity.status(500).body(Map.of(
+            result = aiOrderService.processUserMessage(userInput, userId);
+        } catch (RuntimeException e) {
+            result = CompletableFuture.failedFuture(e);
+        }
+        return result
+                .<ResponseEntity<?>>thenApply(ResponseEntity::ok)
+                .exceptionally(AiOrderController::errorResponse);
+    }
+
+    private static ResponseEntity<?> errorResponse(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure;
+        // 동시에 진행 중인 모델 호출이 상한에 닿음 -> 잠시 후 다시 시도
+        if (cause instanceof AiBusyException) {
+            return ResponseEntity.status(503).body(Map.of(
                     "status", "ERROR",
-                    "message", "서버 오류: " + e.getMessage()
+                    "message", cause.getMessage()
             ));
         }
+        return ResponseEntity.status(500).body(Map.of(
+                "status", "ERROR",
+                "message", "서버 오류: " + cause.getMessage()
+        ));
+    }
+
+    // stream 모드: 답변 message를 생성되는 대로 SSE "token" event로, 마지막에 "result" event (위 응답과 같은 내용)
+    // 입력/로그인 오류도 status ERROR인 "result" event로 보냄
+    @PostMapping(value = "/ai-chat-order/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter chatWithAiStream(@RequestBody Map<String, String> request,
+                                       HttpSession session) {
+        String userInput = request.get("userInput");
+        if (userInput == null || userInput.isBlank()) {
+            return aiChatStreamService.error("사용자 입력이 누락되었습니다.");
+        }
+        CustomerSessionDTO sessionDTO = (CustomerSessionDTO) session.getAttribute("loggedInCustomer");
+        if (sessionDTO == null) {
+            return aiChatStreamService.error("로그인 정보 없음");
+        }
+        return aiChatStreamService.stream(userInput, sessionDTO.getLoginId());
     }
 }
@@ -133,9 +133,9 @@ public class CustomerController {
 
         model.addAttribute("loggedInCustomer", customerSessionDTO);
 
-        // 고객의 loginId로 order목록을 찾아서 보여주는 로직
+        // 고객의 loginId로 최근 order목록(첫 페이지)을 찾아서 보여주는 로직
         List<OrderHistoryDTO> orderList =
-                orderService.findOrderHistoryByLoginId(customerSessionDTO.getLoginId());
+                orderService.findOrderHistoryPage(customerSessionDTO.getLoginId(), null, null).getOrders();
         // "orderList"라는 속성으로 전달
         model.addAttribute("orderList", orderList);
         return "customer/main";
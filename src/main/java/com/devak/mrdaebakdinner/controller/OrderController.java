@@ -2,10 +2,12 @@ package com.devak.mrdaebakdinner.controller;
 
 import com.devak.mrdaebakdinner.dto.*;
 import com.devak.mrdaebakdinner.exception.InsufficientInventoryException;
+import com.devak.mrdaebakdinner.exception.OrderConflictException;
 import com.devak.mrdaebakdinner.service.OrderService;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -13,6 +15,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import java.time.OffsetDateTime;
 import java.util.Comparator;
 import java.util.List;
 
@@ -87,6 +90,9 @@ public class OrderController {
             model.addAttribute("itemErrMsg", e.getMessage());
             model.addAttribute("insufficientItems", e.getInsufficientItems());
             return "customer/order";
+        } catch (OrderConflictException e) { // 동시 주문 충돌로 재시도를 다 쓴 경우
+            model.addAttribute("orderErrMsg", e.getMessage());
+            return "customer/order";
         }
     }
 
@@ -101,15 +107,19 @@ public class OrderController {
 
     /* ============ Order History ============ */
 
-    // 이전주문기록 조회 요청
+    // 이전주문기록 조회 요청 (최근 주문부터 한 페이지씩, beforeTime/beforeId: 이전 페이지 마지막 주문)
     @GetMapping("/customer/orders/history")
     public String showCustomerOrderHistory(@SessionAttribute("loggedInCustomer") CustomerSessionDTO customerSessionDTO,
+                                           @RequestParam(required = false)
+                                           @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime beforeTime,
+                                           @RequestParam(required = false) Long beforeId,
                                            Model model) {
         // 고객의 loginId로 order목록을 찾아서 보여주는 로직
-        List<OrderHistoryDTO> orderList =
-                orderService.findOrderHistoryByLoginId(customerSessionDTO.getLoginId());
+        OrderHistoryPageDTO orderPage =
+                orderService.findOrderHistoryPage(customerSessionDTO.getLoginId(), beforeTime, beforeId);
         // "orderList"라는 속성으로 전달
-        model.addAttribute("orderList", orderList);
+        model.addAttribute("orderList", orderPage.getOrders());
+        model.addAttribute("orderPage", orderPage);
         return "customer/order-history";
     }
 
@@ -133,9 +143,10 @@ public class OrderController {
     public String showOrderDetail(@PathVariable Long orderId,
                                   HttpSession session,
                                   Model model) {
-        // orderId로부터 OrderHistoryDTO 불러오기
-        OrderHistoryDTO order = orderService.findOrderHistoryByOrderId(orderId);
-        OrderItemDTO orderItem = orderService.findOrderItem(orderId);
+        // orderId로부터 주문 + item 수량 불러오기 (쿼리 한 번)
+        OrderDetailDTO orderDetail = orderService.findOrderDetail(orderId);
+        OrderHistoryDTO order = orderDetail.getOrder();
+        OrderItemDTO orderItem = orderDetail.getOrderItem();
 
         // 세션에서 사용자 확인
         CustomerSessionDTO customer = (CustomerSessionDTO) session.getAttribute("loggedInCustomer");
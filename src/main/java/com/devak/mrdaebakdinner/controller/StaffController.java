@@ -1,20 +1,27 @@
 package com.devak.mrdaebakdinner.controller;
 
 import com.devak.mrdaebakdinner.dto.*;
+import com.devak.mrdaebakdinner.entity.OrderStatus;
 import com.devak.mrdaebakdinner.exception.IncorrectPasswordException;
+import com.devak.mrdaebakdinner.service.ActiveOrderIndex;
+import com.devak.mrdaebakdinner.service.BoardStreamService;
 import com.devak.mrdaebakdinner.service.InventoryService;
 import com.devak.mrdaebakdinner.service.OrderService;
 import com.devak.mrdaebakdinner.service.StaffService;
 import jakarta.servlet.http.HttpSession;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import java.util.List;
@@ -27,6 +34,7 @@ public class StaffController {
     private final StaffService staffService;
     private final InventoryService inventoryService;
     private final OrderService orderService;
+    private final BoardStreamService boardStreamService;
 
     /* ============ Auth ============ */
 
@@ -85,22 +93,45 @@ public class StaffController {
             session.setAttribute("loggedInStaff", new StaffSessionDTO("chef"));
         }
 
-        // 주문 상태가 'ORDERED' 또는 '요리중'인 주문 조회
-        List<OrderHistoryDTO> chefOrderHistoryList = orderService.getChefOrders();
+        // 주문 상태가 'ORDERED' 또는 '요리중'인 주문 조회 (이후 변경은 /staff/board/stream으로 받음)
+        ActiveOrderIndex.Snapshot board = orderService.getActiveOrders();
+        List<OrderHistoryDTO> chefOrderHistoryList = board.ordersIn(OrderStatus.ORDERED, OrderStatus.COOKING);
         model.addAttribute("chefOrderList", chefOrderHistoryList);
+        model.addAttribute("boardSeq", board.seq());
 
         return "staff/chef";
     }
 
     @PostMapping("/staff/chef/start")
-    public String setStatusToCooking(@RequestParam Long orderId) {
-        orderService.startCooking(orderId);
+    public String setStatusToCooking(@RequestParam Long orderId, RedirectAttributes redirectAttributes) {
+        if (!orderService.startCooking(orderId)) {
+            redirectAttributes.addFlashAttribute("boardMsg", notAppliedMsg(orderId));
+        }
         return "redirect:/staff/chef";
     }
 
     @PostMapping("/staff/chef/complete")
-    public String setStatusToCooked(@RequestParam Long orderId) {
-        orderService.completeCooking(orderId);
+    public String setStatusToCooked(@RequestParam Long orderId, RedirectAttributes redirectAttributes) {
+        if (!orderService.completeCooking(orderId)) {
+            redirectAttributes.addFlashAttribute("boardMsg", notAppliedMsg(orderId));
+        }
+        return "redirect:/staff/chef";
+    }
+
+    // 체크한 주문들을 한 번에 (선택 안 했으면 아무것도 안 함)
+    @PostMapping("/staff/chef/start/bulk")
+    public String setStatusToCookingBulk(@RequestParam(required = false) List<Long> orderIds,
+                                         RedirectAttributes redirectAttributes) {
+        List<Long> ids = orderIds == null ? List.of() : orderIds;
+        addBulkMsg(redirectAttributes, ids, orderService.startCooking(ids));
+        return "redirect:/staff/chef";
+    }
+
+    @PostMapping("/staff/chef/complete/bulk")
+    public String setStatusToCookedBulk(@RequestParam(required = false) List<Long> orderIds,
+                                        RedirectAttributes redirectAttributes) {
+        List<Long> ids = orderIds == null ? List.of() : orderIds;
+        addBulkMsg(redirectAttributes, ids, orderService.completeCooking(ids));
         return "redirect:/staff/chef";
     }
 
@@ -113,26 +144,74 @@ public class StaffController {
             session.setAttribute("loggedInStaff", new StaffSessionDTO("delivery"));
         }
 
+        ActiveOrderIndex.Snapshot board = orderService.getActiveOrders();
         // 주문 상태가 '배달대기' 또는 '배달중'인 주문 조회
-        model.addAttribute("deliveryOrderList", orderService.getDeliveryOrders());
+        model.addAttribute("deliveryOrderList", board.ordersIn(OrderStatus.COOKED, OrderStatus.DELIVERING));
         // "요리중" 주문 조회
-        model.addAttribute("cookingOrderList", orderService.getCookingOrders());
+        model.addAttribute("cookingOrderList", board.ordersIn(OrderStatus.COOKING));
+        model.addAttribute("boardSeq", board.seq());
 
         return "staff/delivery";
     }
 
     @PostMapping("/staff/delivery/start")
-    public String setStatusToDelivering(@RequestParam Long orderId) {
-        orderService.startDelivery(orderId);
+    public String setStatusToDelivering(@RequestParam Long orderId, RedirectAttributes redirectAttributes) {
+        if (!orderService.startDelivery(orderId)) {
+            redirectAttributes.addFlashAttribute("boardMsg", notAppliedMsg(orderId));
+        }
         return "redirect:/staff/delivery";
     }
 
     @PostMapping("/staff/delivery/complete")
-    public String setStatusToDelivered(@RequestParam Long orderId) {
-        orderService.completeDelivery(orderId);
+    public String setStatusToDelivered(@RequestParam Long orderId, RedirectAttributes redirectAttributes) {
+        if (!orderService.completeDelivery(orderId)) {
+            redirectAttributes.addFlashAttribute("boardMsg", notAppliedMsg(orderId));
+        }
+        return "redirect:/staff/delivery";
+    }
+
+    @PostMapping("/staff/delivery/start/bulk")
+    public String setStatusToDeliveringBulk(@RequestParam(required = false) List<Long> orderIds,
+                                            RedirectAttributes redirectAttributes) {
+        List<Long> ids = orderIds == null ? List.of() : orderIds;
+        addBulkMsg(redirectAttributes, ids, orderService.startDelivery(ids));
         return "redirect:/staff/delivery";
     }
 
+    @PostMapping("/staff/delivery/complete/bulk")
+    public String setStatusToDeliveredBulk(@RequestParam(required = false) List<Long> orderIds,
+                                           RedirectAttributes redirectAttributes) {
+        List<Long> ids = orderIds == null ? List.of() : orderIds;
+        addBulkMsg(redirectAttributes, ids, orderService.completeDelivery(ids));
+        return "redirect:/staff/delivery";
+    }
+
+    /* ============ 상태 전이 결과 메시지 ============ */
+
+    // 다른 직원이 먼저 처리했거나, 지금 상태에서 누를 수 없는 버튼이었던 경우
+    private static String notAppliedMsg(Long orderId) {
+        return orderId + "번 주문은 이미 처리되었거나 지금 상태에서 바꿀 수 없습니다.";
+    }
+
+    private static void addBulkMsg(RedirectAttributes redirectAttributes, List<Long> orderIds, int applied) {
+        long requested = orderIds.stream().filter(Objects::nonNull).distinct().count();
+        if (applied < requested) {
+            redirectAttributes.addFlashAttribute("boardMsg",
+                    requested + "건 중 " + applied + "건을 처리했습니다. 나머지는 이미 처리되었거나 지금 상태에서 바꿀 수 없습니다.");
+        }
+    }
+
+    /* ============ Board stream ============ */
+
+    // chef/delivery 보드가 구독하는 SSE. 화면을 그린 뒤(since)의 주문 변화분(delta)만 받음
+    // 재연결 시에는 브라우저가 보내는 Last-Event-ID(마지막으로 받은 seq)부터
+    @GetMapping(value = "/staff/board/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @ResponseBody
+    public SseEmitter streamBoard(@RequestParam(defaultValue = "0") long since,
+                                  @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return boardStreamService.subscribe(lastEventId != null ? lastEventId : since);
+    }
+
     /* ============ Inventory ============ */
 
     @GetMapping("/staff/inventory")
@@ -0,0 +1,73 @@
+package com.devak.mrdaebakdinner.controller;
+
+import com.devak.mrdaebakdinner.service.ActiveOrderIndex;
+import com.devak.mrdaebakdinner.service.AiChatStreamService;
+import com.devak.mrdaebakdinner.service.BoardStreamService;
+import com.devak.mrdaebakdinner.service.CheckoutConcurrencyPolicy;
+import com.devak.mrdaebakdinner.service.ConversationCompactor;
+import com.devak.mrdaebakdinner.service.ConversationStore;
+import com.devak.mrdaebakdinner.service.ExtractedOrderParser;
+import com.devak.mrdaebakdinner.service.InventoryEngine;
+import com.devak.mrdaebakdinner.service.ItemCatalog;
+import com.devak.mrdaebakdinner.service.MenuFaqResponder;
+import com.devak.mrdaebakdinner.service.ModelReplyCache;
+import com.devak.mrdaebakdinner.service.OllamaClient;
+import com.devak.mrdaebakdinner.service.OrderDetailCache;
+import com.devak.mrdaebakdinner.service.OrderEventBus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 직원용 내부 상태 조회 (캐시 hit/miss 등). /staff/** 이므로 StaffLoginCheckInterceptor 적용됨
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/staff/monitor")
+public class StaffMonitorController {
+
+    private final ItemCatalog itemCatalog;
+    private final InventoryEngine inventoryEngine;
+    private final CheckoutConcurrencyPolicy checkoutConcurrencyPolicy;
+    private final ActiveOrderIndex activeOrderIndex;
+    private final BoardStreamService boardStreamService;
+    private final OrderDetailCache orderDetailCache;
+    private final OrderEventBus orderEventBus;
+    private final ConversationStore conversationStore;
+    private final AiChatStreamService aiChatStreamService;
+    private final OllamaClient ollamaClient;
+    private final ExtractedOrderParser extractedOrderParser;
+    private final ConversationCompactor conversationCompactor;
+    private final MenuFaqResponder menuFaqResponder;
+    private final ModelReplyCache modelReplyCache;
+
+    @GetMapping
+    public Map<String, Object> showStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("itemCatalog", itemCatalog.stats());
+        stats.put("inventoryEngine", inventoryEngine.stats());
+        stats.put("checkout", checkoutConcurrencyPolicy.stats());
+        stats.put("activeOrders", activeOrderIndex.stats());
+        stats.put("boardStream", boardStreamService.stats());
+        stats.put("orderDetailCache", orderDetailCache.stats());
+        stats.put("orderEvents", orderEventBus.stats());
+        stats.put("aiConversations", conversationStore.stats());
+        stats.put("aiPromptWindow", conversationCompactor.stats());
+        stats.put("aiMenuFaq", menuFaqResponder.stats());
+        stats.put("aiReplyCache", modelReplyCache.stats());
+        stats.put("aiChatStream", aiChatStreamService.stats());
+        stats.put("ollama", ollamaClient.stats());
+        stats.put("aiOrderExtraction", extractedOrderParser.stats());
+        return stats;
+    }
+
+    // item/단가를 DB에서 직접 바꾼 경우 catalog 강제 갱신
+    @PostMapping("/catalog/refresh")
+    public Map<String, Long> refreshCatalog() {
+        itemCatalog.refresh();
+        return itemCatalog.stats();
+    }
+}
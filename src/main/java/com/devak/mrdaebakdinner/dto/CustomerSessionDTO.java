@@ -1,11 +1,13 @@
 package com.devak.mrdaebakdinner.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
 
 @NoArgsConstructor
+@AllArgsConstructor // CustomerRepository.findSessionByLoginId projection에서 씀
 @Getter
 @Setter
 @ToString
@@ -0,0 +1,13 @@
+package com.devak.mrdaebakdinner.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@AllArgsConstructor
+@Getter
+@ToString
+public class OrderDetailDTO { // 주문 상세 화면 model (주문 + 고객 loginId + item별 수량)
+    private OrderHistoryDTO order;
+    private OrderItemDTO orderItem;
+}
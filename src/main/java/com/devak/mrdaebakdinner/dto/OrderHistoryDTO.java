@@ -5,6 +5,7 @@ import com.devak.mrdaebakdinner.entity.OrderDnrStyle;
 import com.devak.mrdaebakdinner.entity.OrderStatus;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
@@ -13,6 +14,7 @@ import lombok.ToString;
 import java.time.OffsetDateTime;
 
 @NoArgsConstructor
+@AllArgsConstructor // OrderRepository의 projection 쿼리(SELECT new ...)에서 씀 (필드 순서 = 생성자 인자 순서)
 @Getter
 @Setter
 @ToString
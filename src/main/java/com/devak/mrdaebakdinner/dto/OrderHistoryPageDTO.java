@@ -0,0 +1,28 @@
+package com.devak.mrdaebakdinner.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@AllArgsConstructor
+@Getter
+@ToString
+public class OrderHistoryPageDTO { // 주문 이력 한 페이지 (keyset: 마지막 주문의 order_time, id가 다음 페이지 cursor)
+    private List<OrderHistoryDTO> orders;
+    private boolean hasNext;
+    private OffsetDateTime nextBeforeTime; // 다음 페이지가 없으면 null
+    private Long nextBeforeId;
+
+    // pageSize + 1개를 읽은 결과로 페이지 구성 (하나가 더 있으면 다음 페이지 있음)
+    public static OrderHistoryPageDTO of(List<OrderHistoryDTO> rows, int pageSize) {
+        if (rows.size() <= pageSize) {
+            return new OrderHistoryPageDTO(rows, false, null, null);
+        }
+        List<OrderHistoryDTO> orders = rows.subList(0, pageSize);
+        OrderHistoryDTO last = orders.get(pageSize - 1);
+        return new OrderHistoryPageDTO(orders, true, last.getOrderTime(), last.getId());
+    }
+}
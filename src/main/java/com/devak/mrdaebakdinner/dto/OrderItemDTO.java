@@ -1,137 +1,185 @@
 package com.devak.mrdaebakdinner.dto;
 
-import lombok.Getter;
 import lombok.NoArgsConstructor;
-import lombok.Setter;
 import lombok.ToString;
 
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
+// item별 주문 수량. item 순번(slot)으로 index하는 int[] 하나에 담음
+// - 주문 폼/Thymeleaf는 item별 getter/setter(wine, steak, ...)로 바인딩 (빈 값은 0)
+// - 주문 상세/재주문/JSON은 getOrderItems()/setOrderItems()의 Map<String, Integer>로 기존과 같게 주고받음
+// - 검증/가격 계산은 quantity(slot), totalQuantity()로 boxing 없이 읽음
 @NoArgsConstructor
-@Getter
-@Setter
 @ToString
 public class OrderItemDTO {
-    private Map<String, Integer> orderItems = new HashMap<>();
+    // slot 순서 = 주문 폼의 item 순서. ItemCatalog.Item.slot()이 이 순번을 가리킴
+    public static final List<String> ITEM_NAMES = List.of(
+            "wine", "steak", "coffee_cup", "coffee_pot", "salad", "eggscramble", "bacon", "bread", "baguette", "champagne");
+
+    public static final int WINE = 0;
+    public static final int STEAK = 1;
+    public static final int COFFEE_CUP = 2;
+    public static final int COFFEE_POT = 3;
+    public static final int SALAD = 4;
+    public static final int EGGSCRAMBLE = 5;
+    public static final int BACON = 6;
+    public static final int BREAD = 7;
+    public static final int BAGUETTE = 8;
+    public static final int CHAMPAGNE = 9;
+
+    private final int[] quantities = new int[ITEM_NAMES.size()];
+
+    /* ============ slot 접근 (boxing 없음) ============ */
+
+    public int quantity(int slot) {
+        return quantities[slot];
+    }
+
+    public void setQuantity(int slot, int quantity) {
+        quantities[slot] = quantity;
+    }
+
+    // 전체 수량 합 (0이면 사실상 없는 주문)
+    public int totalQuantity() {
+        int total = 0;
+        for (int quantity : quantities) {
+            total += quantity;
+        }
+        return total;
+    }
+
+    public boolean hasNegativeQuantity() {
+        for (int quantity : quantities) {
+            if (quantity < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // item 이름 -> slot. 없는 이름이면 -1
+    public static int slotOf(String itemName) {
+        return ITEM_NAMES.indexOf(itemName);
+    }
+
+    /* ============ Map 호환 (key: itemName, value: quantity) ============ */
+
+    // slot 순서대로 모든 item (수량 0 포함)
+    public Map<String, Integer> getOrderItems() {
+        Map<String, Integer> orderItems = new LinkedHashMap<>();
+        for (int slot = 0; slot < quantities.length; slot++) {
+            orderItems.put(ITEM_NAMES.get(slot), quantities[slot]);
+        }
+        return orderItems;
+    }
+
+    // 없는 item 이름이면 IllegalArgumentException
+    public void setOrderItems(Map<String, Integer> orderItems) {
+        Arrays.fill(quantities, 0);
+        if (orderItems == null) {
+            return;
+        }
+        for (Map.Entry<String, Integer> entry : orderItems.entrySet()) {
+            int slot = slotOf(entry.getKey());
+            if (slot < 0) {
+                throw new IllegalArgumentException("없는 item입니다." + entry.getKey());
+            }
+            quantities[slot] = entry.getValue() == null ? 0 : entry.getValue();
+        }
+    }
+
+    /* ============ 주문 폼 바인딩 (item별) ============ */
 
     // wine
     public Integer getWine() {
-        if (orderItems == null) return 0;
-        return orderItems.getOrDefault("wine", 0);
+        return quantities[WINE];
     }
 
     public void setWine(Integer wine) {
-        if (orderItems != null) {
-            orderItems.put("wine", wine);
-        }
+        quantities[WINE] = wine == null ? 0 : wine;
     }
 
     // steak
     public Integer getSteak() {
-        if (orderItems == null) return 0;
-        return orderItems.getOrDefault("steak", 0);
+        return quantities[STEAK];
     }
 
     public void setSteak(Integer steak) {
-        if (orderItems != null) {
-            orderItems.put("steak", steak);
-        }
+        quantities[STEAK] = steak == null ? 0 : steak;
     }
 
     // coffee_cup
     public Integer getCoffee_cup() {
-        if (orderItems == null) return 0;
-        return orderItems.getOrDefault("coffee_cup", 0);
+        return quantities[COFFEE_CUP];
     }
 
     public void setCoffee_cup(Integer coffee_cup) {
-        if (orderItems != null) {
-            orderItems.put("coffee_cup", coffee_cup);
-        }
+        quantities[COFFEE_CUP] = coffee_cup == null ? 0 : coffee_cup;
     }
 
     // coffee_pot
     public Integer getCoffee_pot() {
-        if (orderItems == null) return 0;
-        return orderItems.getOrDefault("coffee_pot", 0);
+        return quantities[COFFEE_POT];
     }
 
     public void setCoffee_pot(Integer coffee_pot) {
-        if (orderItems != null) {
-            orderItems.put("coffee_pot", coffee_pot);
-        }
+        quantities[COFFEE_POT] = coffee_pot == null ? 0 : coffee_pot;
     }
 
     // salad
     public Integer getSalad() {
-        if (orderItems == null) return 0;
-        return orderItems.getOrDefault("salad", 0);
+        return quantities[SALAD];
     }
 
     public void setSalad(Integer salad) {
-        if (orderItems != null) {
-            orderItems.put("salad", salad);
-        }
+        quantities[SALAD] = salad == null ? 0 : salad;
     }
 
     // eggscramble
     public Integer getEggscramble() {
-        if (orderItems == null) return 0;
-        return orderItems.getOrDefault("eggscramble", 0);
+        return quantities[EGGSCRAMBLE];
     }
 
     public void setEggscramble(Integer eggscramble) {
-        if (orderItems != null) {
-            orderItems.put("eggscramble", eggscramble);
-        }
+        quantities[EGGSCRAMBLE] = eggscramble == null ? 0 : eggscramble;
     }
 
     // bacon
     public Integer getBacon() {
-        if (orderItems == null) return 0;
-        return orderItems.getOrDefault("bacon", 0);
+        return quantities[BACON];
     }
 
     public void setBacon(Integer bacon) {
-        if (orderItems != null) {
-            orderItems.put("bacon", bacon);
-        }
+        quantities[BACON] = bacon == null ? 0 : bacon;
     }
 
     // bread
     public Integer getBread() {
-        if (orderItems == null) return 0;
-        return orderItems.getOrDefault("bread", 0);
+        return quantities[BREAD];
     }
 
     public void setBread(Integer bread) {
-        if (orderItems != null) {
-            orderItems.put("bread", bread);
-        }
+        quantities[BREAD] = bread == null ? 0 : bread;
     }
 
     // baguette
     public Integer getBaguette() {
-        if (orderItems == null) return 0;
-        return orderItems.getOrDefault("baguette", 0);
+        return quantities[BAGUETTE];
     }
 
     public void setBaguette(Integer baguette) {
-        if (orderItems != null) {
-            orderItems.put("baguette", baguette);
-        }
+        quantities[BAGUETTE] = baguette == null ? 0 : baguette;
     }
 
     // champagne
     public Integer getChampagne() {
-        if (orderItems == null) return 0;
-        return orderItems.getOrDefault("champagne", 0);
+        return quantities[CHAMPAGNE];
     }
 
     public void setChampagne(Integer champagne) {
-        if (orderItems != null) {
-            orderItems.put("champagne", champagne);
-        }
+        quantities[CHAMPAGNE] = champagne == null ? 0 : champagne;
     }
 }
@@ -34,6 +34,9 @@ public class CustomerEntity {
     @Column(name = "membership_level")
     private String membershipLevel;
 
+    @Version // 같은 고객의 동시 주문이 orderCount를 덮어쓰지 않도록
+    private long version;
+
     @PrePersist
     public void prePersist() {
         if (membershipLevel == null) {
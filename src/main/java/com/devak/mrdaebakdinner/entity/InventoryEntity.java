@@ -13,9 +13,12 @@ public class InventoryEntity {
     @Column(name = "item_id")
     private Long itemId;
 
-    @OneToOne
+    @OneToOne(fetch = FetchType.LAZY) // item 이름은 ItemCatalog에서 찾음
     @JoinColumn(name = "item_id")
     private ItemEntity item;
 
     private int stockQuantity; // count는 PostgreSQL에서 예약어라서 피하기
+
+    @Version // optimistic 모드에서 동시 차감 충돌 감지
+    private long version;
 }
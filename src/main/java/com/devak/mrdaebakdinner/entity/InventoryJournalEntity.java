@@ -0,0 +1,40 @@
+package com.devak.mrdaebakdinner.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+// ledger 모드에서 아직 inventory 테이블에 반영되지 않은 재고 변화량(delta)
+// 주문과 같은 트랜잭션에서 INSERT만 하므로 inventory 행 잠금이 없음
+// 재시작 시 inventory.stock_quantity + sum(delta)로 메모리 재고를 복구함
+@Entity
+@Table(name = "inventory_journal")
+@Getter
+@Setter
+@NoArgsConstructor
+public class InventoryJournalEntity {
+    @Id
+    // pooled sequence -> 한 주문의 journal INSERT들이 하나의 batch로 나감
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "inventory_journal_seq")
+    @SequenceGenerator(name = "inventory_journal_seq", sequenceName = "inventory_journal_seq", allocationSize = 50)
+    private Long id;
+
+    @Column(name = "item_id", nullable = false)
+    private Long itemId;
+
+    @Column(nullable = false)
+    private int delta; // 음수: 주문/차감, 양수: 입고
+
+    @Column(name = "created_at", nullable = false)
+    private OffsetDateTime createdAt;
+
+    public InventoryJournalEntity(Long itemId, int delta) {
+        this.itemId = itemId;
+        this.delta = delta;
+        this.createdAt = OffsetDateTime.now(ZoneOffset.ofHours(9));
+    }
+}
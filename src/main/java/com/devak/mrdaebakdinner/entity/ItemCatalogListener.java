@@ -0,0 +1,37 @@
+package com.devak.mrdaebakdinner.entity;
+
+import com.devak.mrdaebakdinner.service.ItemCatalog;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+// item이 추가/수정/삭제되면 ItemCatalog snapshot을 다시 만듦
+// 트랜잭션 안이면 commit된 뒤에 다시 읽어야 바뀐 값이 보임
+// (ItemCatalog -> ItemRepository -> EntityManagerFactory 순환을 피하려고 ObjectProvider로 늦게 꺼냄)
+@Component
+@RequiredArgsConstructor
+public class ItemCatalogListener {
+
+    private final ObjectProvider<ItemCatalog> itemCatalog;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onItemChanged(ItemEntity itemEntity) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            itemCatalog.getObject().refresh();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                itemCatalog.getObject().refresh();
+            }
+        });
+    }
+}
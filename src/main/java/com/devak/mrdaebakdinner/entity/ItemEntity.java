@@ -5,6 +5,7 @@ import lombok.Getter;
 import lombok.Setter;
 
 @Entity
+@EntityListeners(ItemCatalogListener.class) // item이 바뀌면 ItemCatalog 갱신
 @Table(name = "item")
 @Getter
 @Setter
@@ -13,7 +13,9 @@ import java.time.ZoneOffset;
 @Setter
 public class OrderEntity {
     @Id // PK
-    @GeneratedValue(strategy = GenerationType.IDENTITY) // auto_increment
+    // sequence에서 50개씩 미리 받아 쓰는 pooled 방식 -> persist 시 INSERT가 바로 나가지 않아 batch insert 가능
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq")
+    @SequenceGenerator(name = "orders_seq", sequenceName = "orders_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "order_time", nullable = false, updatable = false)
@@ -1,14 +1,16 @@
 package com.devak.mrdaebakdinner.entity;
 
 import jakarta.persistence.*;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.Setter;
+import org.springframework.data.domain.Persistable;
 
 @Entity
 @Table(name = "order_item")
 @Getter
 @Setter
-public class OrderItemEntity {
+public class OrderItemEntity implements Persistable<OrderItemId> {
     @EmbeddedId
     private OrderItemId id;
 
@@ -17,11 +19,28 @@ public class OrderItemEntity {
     @JoinColumn(name = "order_id")
     private OrderEntity order;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY) // item 이름/단가는 ItemCatalog에서 찾음
     @MapsId("itemId")
     @JoinColumn(name = "item_id")
     private ItemEntity item;
 
     @Column(nullable = false)
     private int quantity;
+
+    // id를 직접 넣는 entity라서 saveAll()이 merge(= 행마다 SELECT)로 빠지지 않도록 새 entity임을 알려줌
+    @Transient
+    @Getter(AccessLevel.NONE)
+    @Setter(AccessLevel.NONE)
+    private boolean isNew = true;
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        isNew = false;
+    }
 }
@@ -0,0 +1,8 @@
+package com.devak.mrdaebakdinner.exception;
+
+// 동시에 진행 중인 모델 호출이 상한(ai.ollama.max-in-flight)에 닿아서 바로 거절한 경우
+public class AiBusyException extends RuntimeException {
+    public AiBusyException(String message) {
+        super(message);
+    }
+}
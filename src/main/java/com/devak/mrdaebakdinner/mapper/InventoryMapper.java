@@ -2,14 +2,21 @@ package com.devak.mrdaebakdinner.mapper;
 
 import com.devak.mrdaebakdinner.dto.InventoryDTO;
 import com.devak.mrdaebakdinner.entity.InventoryEntity;
+import com.devak.mrdaebakdinner.service.ItemCatalog;
 
 public class InventoryMapper {
     // InventoryEntity => InventoryDTO
-    public static InventoryDTO toInventoryDTO(InventoryEntity inventoryEntity) {
+    // item 이름은 ItemCatalog에서 찾음 (item 테이블 추가 조회 없음)
+    public static InventoryDTO toInventoryDTO(InventoryEntity inventoryEntity, ItemCatalog itemCatalog) {
+        return toInventoryDTO(inventoryEntity.getItemId(), inventoryEntity.getStockQuantity(), itemCatalog);
+    }
+
+    // (itemId, 재고 수량) => InventoryDTO
+    public static InventoryDTO toInventoryDTO(Long itemId, int quantity, ItemCatalog itemCatalog) {
         InventoryDTO inventoryDTO = new InventoryDTO();
-        inventoryDTO.setItemId(inventoryEntity.getItemId());
-        inventoryDTO.setItemName(inventoryEntity.getItem().getName());
-        inventoryDTO.setQuantity(inventoryEntity.getStockQuantity());
+        inventoryDTO.setItemId(itemId);
+        inventoryDTO.setItemName(itemCatalog.findById(itemId).name());
+        inventoryDTO.setQuantity(quantity);
         return inventoryDTO;
     }
 }
@@ -1,9 +1,14 @@
 package com.devak.mrdaebakdinner.mapper;
 
 import com.devak.mrdaebakdinner.dto.OrderDTO;
+import com.devak.mrdaebakdinner.dto.OrderDetailDTO;
 import com.devak.mrdaebakdinner.dto.OrderHistoryDTO;
-import com.devak.mrdaebakdinner.entity.CustomerEntity;
-import com.devak.mrdaebakdinner.entity.OrderEntity;
+import com.devak.mrdaebakdinner.dto.OrderItemDTO;
+import com.devak.mrdaebakdinner.entity.*;
+import com.devak.mrdaebakdinner.service.ItemCatalog;
+
+import java.time.OffsetDateTime;
+import java.util.List;
 
 public class OrderMapper {
     // OrderEntity => OrderDTO
@@ -32,6 +37,39 @@ public class OrderMapper {
         return orderHistoryDTO;
     }
 
+    // OrderHistoryDTO 복사 (ActiveOrderIndex가 들고 있는 값은 바꾸지 않고 새로 만들어 교체)
+    public static OrderHistoryDTO copyOrderHistoryDTO(OrderHistoryDTO source) {
+        OrderHistoryDTO orderHistoryDTO = new OrderHistoryDTO();
+        orderHistoryDTO.setId(source.getId());
+        orderHistoryDTO.setCustomerLoginId(source.getCustomerLoginId());
+        orderHistoryDTO.setOrderTime(source.getOrderTime());
+        orderHistoryDTO.setDinnerKind(source.getDinnerKind());
+        orderHistoryDTO.setDinnerStyle(source.getDinnerStyle());
+        orderHistoryDTO.setDeliveryAddress(source.getDeliveryAddress());
+        orderHistoryDTO.setDeliveryTime(source.getDeliveryTime());
+        orderHistoryDTO.setTotalPrice(source.getTotalPrice());
+        orderHistoryDTO.setCardNumber(source.getCardNumber());
+        orderHistoryDTO.setStatus(source.getStatus());
+        return orderHistoryDTO;
+    }
+
+    // OrderRepository.findOrderDetailRows 결과 => OrderDetailDTO (행마다 주문 컬럼이 반복되고 item 한 줄씩)
+    public static OrderDetailDTO toOrderDetailDTO(List<Object[]> rows, ItemCatalog itemCatalog) {
+        Object[] first = rows.get(0);
+        OrderHistoryDTO orderHistoryDTO = new OrderHistoryDTO(
+                (Long) first[0], (String) first[1], (OffsetDateTime) first[2],
+                (OrderDnrKind) first[3], (OrderDnrStyle) first[4], (String) first[5],
+                (OffsetDateTime) first[6], (Integer) first[7], (String) first[8], (OrderStatus) first[9]);
+
+        OrderItemDTO orderItemDTO = new OrderItemDTO();
+        for (Object[] row : rows) {
+            if (row[10] != null) {
+                putQuantity(orderItemDTO, itemCatalog.findById((Long) row[10]), (Integer) row[11]);
+            }
+        }
+        return new OrderDetailDTO(orderHistoryDTO, orderItemDTO);
+    }
+
     // OrderDTO => OrderEntity
     public static OrderEntity toOrderEntity(OrderDTO orderDTO, CustomerEntity customerEntity) {
         OrderEntity orderEntity = new OrderEntity();
@@ -43,4 +81,21 @@ public class OrderMapper {
         // id, orderTime, status은 기본값 사용
         return orderEntity;
     }
+
+    // List<OrderItemEntity> => OrderItemDTO (item slot별 quantity)
+    // item은 PK의 itemId로 ItemCatalog에서 찾음 -> OrderItemEntity.item을 로딩하지 않음
+    public static OrderItemDTO toOrderItemDTO(List<OrderItemEntity> orderItems, ItemCatalog itemCatalog) {
+        OrderItemDTO orderItemDTO = new OrderItemDTO();
+        for (OrderItemEntity oi : orderItems) {
+            putQuantity(orderItemDTO, itemCatalog.findById(oi.getId().getItemId()), oi.getQuantity());
+        }
+        return orderItemDTO;
+    }
+
+    // 주문 폼에 없는 item(slot -1)은 OrderItemDTO에 담지 않음
+    private static void putQuantity(OrderItemDTO orderItemDTO, ItemCatalog.Item item, int quantity) {
+        if (item.slot() >= 0) {
+            orderItemDTO.setQuantity(item.slot(), quantity);
+        }
+    }
 }
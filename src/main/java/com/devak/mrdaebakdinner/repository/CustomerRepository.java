@@ -1,8 +1,14 @@
 package com.devak.mrdaebakdinner.repository;
 
+import com.devak.mrdaebakdinner.dto.CustomerSessionDTO;
 import com.devak.mrdaebakdinner.entity.CustomerEntity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
@@ -18,4 +24,15 @@ public interface CustomerRepository extends JpaRepository<CustomerEntity, Long>
     count() => 개수 조회
      */
     Optional<CustomerEntity> findByLoginId(String loginId);
+
+    // 세션 갱신용 (화면 표시만 함): entity 대신 DTO projection + read-only 트랜잭션
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.devak.mrdaebakdinner.dto.CustomerSessionDTO(c.loginId, c.name, c.membershipLevel) "
+            + "FROM CustomerEntity c WHERE c.loginId = :loginId")
+    Optional<CustomerSessionDTO> findSessionByLoginId(@Param("loginId") String loginId);
+
+    // pessimistic 모드: 주문 시 고객 행을 재고보다 먼저 잠금 (SELECT ... FOR UPDATE)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM CustomerEntity c WHERE c.loginId = :loginId")
+    Optional<CustomerEntity> findForUpdateByLoginId(@Param("loginId") String loginId);
 }
@@ -0,0 +1,19 @@
+package com.devak.mrdaebakdinner.repository;
+
+import com.devak.mrdaebakdinner.entity.InventoryJournalEntity;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface InventoryJournalRepository extends JpaRepository<InventoryJournalEntity, Long> {
+    // 아직 반영 안 된 journal을 오래된 순으로 limit개 조회
+    List<InventoryJournalEntity> findAllByOrderByIdAsc(Limit limit);
+
+    // item별 미반영 delta 합계 (재시작 시 복구용). [itemId, sum(delta)]
+    @Query("SELECT j.itemId, SUM(j.delta) FROM InventoryJournalEntity j GROUP BY j.itemId")
+    List<Object[]> sumDeltaByItemId();
+}
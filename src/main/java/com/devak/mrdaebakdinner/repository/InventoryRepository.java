@@ -1,16 +1,43 @@
 package com.devak.mrdaebakdinner.repository;
 
 import com.devak.mrdaebakdinner.entity.InventoryEntity;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface InventoryRepository extends JpaRepository<InventoryEntity, Long> {
+public interface InventoryRepository extends JpaRepository<InventoryEntity, Long>, InventoryRepositoryCustom {
     // itemId를 통해 (item_id, count) 조회
     Optional<InventoryEntity> findByItemId(Long itemId);
 
-    List<InventoryEntity> findAllByOrderByItemIdAsc();
+    // 재고 페이지/ledger 복구용: itemId, stockQuantity 두 컬럼만 읽는 projection (entity로 올리지 않음)
+    interface StockRow {
+        Long getItemId();
+
+        int getStockQuantity();
+    }
+
+    @Transactional(readOnly = true)
+    List<StockRow> findAllStockByOrderByItemIdAsc();
+
+    List<InventoryEntity> findAllByItemIdIn(Collection<Long> itemIds);
+
+    // pessimistic 모드: SELECT ... FOR UPDATE. item_id 순으로 잠가서 주문끼리 잠금 순서가 항상 같음
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT i FROM InventoryEntity i WHERE i.itemId IN :itemIds ORDER BY i.itemId")
+    List<InventoryEntity> findAllForUpdateByItemIdIn(@Param("itemIds") Collection<Long> itemIds);
+
+    // ledger 모드의 write-behind: 누적된 delta를 한 번에 반영
+    @Modifying
+    @Query("UPDATE VERSIONED InventoryEntity i SET i.stockQuantity = i.stockQuantity + :delta WHERE i.itemId = :itemId")
+    int addStock(@Param("itemId") Long itemId, @Param("delta") int delta);
 }
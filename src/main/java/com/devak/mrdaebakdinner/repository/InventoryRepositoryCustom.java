@@ -0,0 +1,9 @@
+package com.devak.mrdaebakdinner.repository;
+
+import java.util.Map;
+
+public interface InventoryRepositoryCustom {
+    // 주문 item 전체를 UPDATE 한 문장으로 차감 (key: itemId, value: quantity)
+    // 모든 item의 재고가 충분할 때만 차감되고, 반영된 행 수를 반환 (quantities.size()보다 작으면 재고 부족)
+    int decreaseAllIfEnough(Map<Long, Integer> quantities);
+}
@@ -0,0 +1,51 @@
+package com.devak.mrdaebakdinner.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+import java.util.Map;
+
+public class InventoryRepositoryCustomImpl implements InventoryRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // UPDATE VERSIONED InventoryEntity i
+    //    SET i.stockQuantity = i.stockQuantity - (CASE i.itemId WHEN :id0 THEN :q0 ... ELSE 0 END)
+    //  WHERE i.itemId IN :ids
+    //    AND i.stockQuantity >= (CASE i.itemId ... END)                      -- 행마다 재고 확인
+    //    AND (SELECT COUNT(j) ... 재고가 충분한 item 수) = :size                -- 하나라도 부족하면 전부 미반영
+    // item 수와 상관없이 한 번의 round trip. (동시 주문과 겹쳐 일부만 반영되면 0 < 반환값 < size, 호출 측에서 충돌로 롤백)
+    @Override
+    public int decreaseAllIfEnough(Map<Long, Integer> quantities) {
+        String requested = caseExpression("i", quantities.size());
+        String requestedInSubquery = caseExpression("j", quantities.size());
+        Query query = entityManager.createQuery(
+                "UPDATE VERSIONED InventoryEntity i" +
+                        " SET i.stockQuantity = i.stockQuantity - " + requested +
+                        " WHERE i.itemId IN :ids" +
+                        " AND i.stockQuantity >= " + requested +
+                        " AND (SELECT COUNT(j) FROM InventoryEntity j" +
+                        "      WHERE j.itemId IN :ids AND j.stockQuantity >= " + requestedInSubquery + ") = :size");
+
+        int n = 0;
+        for (Map.Entry<Long, Integer> entry : quantities.entrySet()) {
+            query.setParameter("id" + n, entry.getKey());
+            query.setParameter("q" + n, entry.getValue());
+            n++;
+        }
+        query.setParameter("ids", quantities.keySet());
+        query.setParameter("size", (long) quantities.size());
+        return query.executeUpdate();
+    }
+
+    // (CASE alias.itemId WHEN :id0 THEN :q0 WHEN :id1 THEN :q1 ... ELSE 0 END)
+    private static String caseExpression(String alias, int size) {
+        StringBuilder sb = new StringBuilder("(CASE ").append(alias).append(".itemId");
+        for (int n = 0; n < size; n++) {
+            sb.append(" WHEN :id").append(n).append(" THEN :q").append(n);
+        }
+        return sb.append(" ELSE 0 END)").toString();
+    }
+}
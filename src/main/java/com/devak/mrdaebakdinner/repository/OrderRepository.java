@@ -1,14 +1,75 @@
 package com.devak.mrdaebakdinner.repository;
 
+import com.devak.mrdaebakdinner.dto.OrderHistoryDTO;
 import com.devak.mrdaebakdinner.entity.OrderEntity;
 import com.devak.mrdaebakdinner.entity.OrderStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 
 @Repository
-public interface OrderRepository extends JpaRepository<OrderEntity, Long> {
-    List<OrderEntity> findAllByCustomerId(Long customerId);
-    List<OrderEntity> findByStatusIn(List<OrderStatus> statuses);
+public interface OrderRepository extends JpaRepository<OrderEntity, Long>, OrderRepositoryCustom {
+    // OrderHistoryDTO를 바로 만드는 projection (고객 loginId는 join으로 같이 -> 주문마다 고객 SELECT 없음)
+    // 화면 표시용이라 entity를 영속성 컨텍스트에 올리지 않음 + read-only 트랜잭션 (flush/dirty check 없음)
+    String ORDER_HISTORY_SELECT = "SELECT new com.devak.mrdaebakdinner.dto.OrderHistoryDTO("
+            + "o.id, c.loginId, o.orderTime, o.dinnerKind, o.dinnerStyle, o.deliveryAddress, "
+            + "o.deliveryTime, o.totalPrice, o.cardNumber, o.status) "
+            + "FROM OrderEntity o JOIN o.customer c ";
+
+    /* ===== 고객 주문 이력: (order_time, id) 내림차순 keyset 페이지 ===== */
+
+    @Transactional(readOnly = true)
+    @Query(ORDER_HISTORY_SELECT
+            + "WHERE c.loginId = :loginId "
+            + "ORDER BY o.orderTime DESC, o.id DESC")
+    List<OrderHistoryDTO> findOrderHistoryByLoginId(@Param("loginId") String loginId, Limit limit);
+
+    // (beforeTime, beforeId): 이전 페이지 마지막 주문
+    @Transactional(readOnly = true)
+    @Query(ORDER_HISTORY_SELECT
+            + "WHERE c.loginId = :loginId "
+            + "AND (o.orderTime < :beforeTime OR (o.orderTime = :beforeTime AND o.id < :beforeId)) "
+            + "ORDER BY o.orderTime DESC, o.id DESC")
+    List<OrderHistoryDTO> findOrderHistoryByLoginIdBefore(@Param("loginId") String loginId,
+                                                          @Param("beforeTime") OffsetDateTime beforeTime,
+                                                          @Param("beforeId") Long beforeId,
+                                                          Limit limit);
+
+    /* ===== 주문 상세: 주문 + 고객 loginId + item별 수량을 쿼리 한 번으로 ===== */
+
+    // 한 행 = item 한 줄: [id, loginId, orderTime, dinnerKind, dinnerStyle, deliveryAddress,
+    //                     deliveryTime, totalPrice, cardNumber, status, itemId, quantity]
+    // 주문이 없으면 빈 목록
+    @Transactional(readOnly = true)
+    @Query("SELECT o.id, c.loginId, o.orderTime, o.dinnerKind, o.dinnerStyle, o.deliveryAddress, "
+            + "o.deliveryTime, o.totalPrice, o.cardNumber, o.status, oi.id.itemId, oi.quantity "
+            + "FROM OrderEntity o JOIN o.customer c "
+            + "LEFT JOIN OrderItemEntity oi ON oi.id.orderId = o.id "
+            + "WHERE o.id = :orderId")
+    List<Object[]> findOrderDetailRows(@Param("orderId") Long orderId);
+
+    /* ===== 진행 중 주문 (ActiveOrderIndex 적재): (order_time, id) 오름차순 keyset 페이지 ===== */
+
+    @Transactional(readOnly = true)
+    @Query(ORDER_HISTORY_SELECT
+            + "WHERE o.status IN :statuses "
+            + "ORDER BY o.orderTime, o.id")
+    List<OrderHistoryDTO> findOrderHistoryByStatusIn(@Param("statuses") List<OrderStatus> statuses, Limit limit);
+
+    // (afterTime, afterId): 이전 페이지 마지막 주문
+    @Transactional(readOnly = true)
+    @Query(ORDER_HISTORY_SELECT
+            + "WHERE o.status IN :statuses "
+            + "AND (o.orderTime > :afterTime OR (o.orderTime = :afterTime AND o.id > :afterId)) "
+            + "ORDER BY o.orderTime, o.id")
+    List<OrderHistoryDTO> findOrderHistoryByStatusInAfter(@Param("statuses") List<OrderStatus> statuses,
+                                                          @Param("afterTime") OffsetDateTime afterTime,
+                                                          @Param("afterId") Long afterId,
+                                                          Limit limit);
 }
@@ -0,0 +1,15 @@
+package com.devak.mrdaebakdinner.repository;
+
+import com.devak.mrdaebakdinner.entity.OrderStatus;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OrderRepositoryCustom {
+    // status가 from인 주문만 to로 바꾸고 실제로 바뀐 주문 id를 반환 (UPDATE 한 문장, 엔티티 로딩 없음)
+    // deliveryTime이 null이 아니면 배달시간도 같이 기록
+    // 동시에 같은 주문을 바꾸면 한 쪽 결과에만 들어감 (다른 쪽은 status가 이미 달라서 안 바뀜)
+    List<Long> transitionStatus(Collection<Long> orderIds, OrderStatus from, OrderStatus to,
+                                OffsetDateTime deliveryTime);
+}
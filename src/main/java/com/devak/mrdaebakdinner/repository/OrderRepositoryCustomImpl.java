@@ -0,0 +1,74 @@
+package com.devak.mrdaebakdinner.repository;
+
+import com.devak.mrdaebakdinner.entity.OrderStatus;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+public class OrderRepositoryCustomImpl implements OrderRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean h2; // dialect는 실행 중에 바뀌지 않으므로 처음 한 번만 확인
+
+    // UPDATE orders SET status = :to [, delivery_time = :deliveryTime]
+    //  WHERE id IN (:orderIds) AND status = :from
+    //  RETURNING id
+    // PostgreSQL은 잠금을 기다린 행의 WHERE를 다시 확인하므로 동시에 같은 주문을 바꿔도 한 쪽에만 id가 돌아옴
+    // 바뀐 행의 id를 UPDATE와 같은 문장에서 받음 (따로 SELECT ... FOR UPDATE 하지 않음)
+    @Override
+    public List<Long> transitionStatus(Collection<Long> orderIds, OrderStatus from, OrderStatus to,
+                                       OffsetDateTime deliveryTime) {
+        if (isH2()) {
+            return transitionStatusOneByOne(orderIds, from, to, deliveryTime);
+        }
+        List<?> rows = updateQuery(" RETURNING id", orderIds, from, to, deliveryTime).getResultList();
+        return rows.stream().map(id -> ((Number) id).longValue()).toList();
+    }
+
+    // H2(loadtest 전용): RETURNING이 없고, 대신 쓸 수 있는 SELECT id FROM FINAL TABLE (UPDATE ...)은
+    // (status, id) index를 타면서 동시 UPDATE와 겹치면 같은 행을 두 쪽에 다 돌려줄 때가 있음 (H2 2.3)
+    // -> 주문마다 조건부 UPDATE 한 문장 (바뀐 행 수가 곧 그 주문이 바뀌었는지)
+    private List<Long> transitionStatusOneByOne(Collection<Long> orderIds, OrderStatus from, OrderStatus to,
+                                                OffsetDateTime deliveryTime) {
+        List<Long> changed = new ArrayList<>();
+        for (Long orderId : orderIds) {
+            if (updateQuery("", List.of(orderId), from, to, deliveryTime).executeUpdate() == 1) {
+                changed.add(orderId);
+            }
+        }
+        return changed;
+    }
+
+    private Query updateQuery(String suffix, Collection<Long> orderIds, OrderStatus from, OrderStatus to,
+                              OffsetDateTime deliveryTime) {
+        Query query = entityManager.createNativeQuery("UPDATE orders SET status = :to"
+                + (deliveryTime != null ? ", delivery_time = :deliveryTime" : "")
+                + " WHERE id IN (:orderIds) AND status = :from" + suffix);
+        query.setParameter("to", to.name());
+        query.setParameter("from", from.name());
+        query.setParameter("orderIds", orderIds);
+        if (deliveryTime != null) {
+            query.setParameter("deliveryTime", deliveryTime);
+        }
+        return query;
+    }
+
+    private boolean isH2() {
+        Boolean result = h2;
+        if (result == null) {
+            result = entityManager.getEntityManagerFactory().unwrap(SessionFactoryImplementor.class)
+                    .getJdbcServices().getDialect() instanceof H2Dialect;
+            h2 = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,152 @@
+package com.devak.mrdaebakdinner.service;
+
+import com.devak.mrdaebakdinner.dto.OrderHistoryDTO;
+import com.devak.mrdaebakdinner.entity.OrderStatus;
+import com.devak.mrdaebakdinner.mapper.OrderMapper;
+import com.devak.mrdaebakdinner.repository.OrderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 진행 중인 주문(ORDERED ~ DELIVERING)을 status별로 메모리에 들고 있는 index
+// - chef/delivery 보드는 DB 대신 여기서 읽음
+// - 주문 생성/상태 변경은 OrderEventBus(commit 뒤 이벤트)로 받아 반영하고, 변화분(Delta)을 BoardStreamService로 보드에 push
+// - status는 앞으로만 진행하므로 늦게 도착한 이전 status는 무시
+// - 이 인스턴스에서 일어난 변경만 보임 (인스턴스를 여러 개 띄우면 보드가 인스턴스마다 따로 놂)
+@Component
+@RequiredArgsConstructor
+public class ActiveOrderIndex implements SmartInitializingSingleton, OrderEventConsumer {
+
+    public static final Comparator<OrderHistoryDTO> ORDER_TIME_THEN_ID =
+            Comparator.comparing(OrderHistoryDTO::getOrderTime).thenComparing(OrderHistoryDTO::getId);
+
+    public static final List<OrderStatus> ACTIVE_STATUSES = List.of(
+            OrderStatus.ORDERED, OrderStatus.COOKING, OrderStatus.COOKED, OrderStatus.DELIVERING);
+
+    private static final int BOOTSTRAP_PAGE_SIZE = 500;
+
+    private final OrderRepository orderRepository;
+    private final BoardStreamService boardStreamService;
+
+    // 아래 두 map과 seq는 this로 잠그고 다룸
+    private final Map<OrderStatus, TreeMap<Long, OrderHistoryDTO>> byStatus = new EnumMap<>(OrderStatus.class);
+    private final Map<Long, OrderStatus> statusById = new HashMap<>();
+    private long seq; // 변화분 일련번호. 화면은 렌더링 시점의 seq 이후 변화분만 적용
+
+    private final AtomicLong appliedCount = new AtomicLong();
+    private final AtomicLong staleCount = new AtomicLong(); // 늦게 도착해서 버린 변경
+
+    {
+        for (OrderStatus status : ACTIVE_STATUSES) {
+            byStatus.put(status, new TreeMap<>());
+        }
+    }
+
+    // 한 시점의 보드 내용 (seq와 목록이 같은 시점)
+    public record Snapshot(long seq, Map<OrderStatus, List<OrderHistoryDTO>> orders) {
+
+        // 주문 순서 (order_time, id)로 합쳐서 반환
+        public List<OrderHistoryDTO> ordersIn(OrderStatus... statuses) {
+            List<OrderHistoryDTO> result = new ArrayList<>();
+            for (OrderStatus status : statuses) {
+                result.addAll(orders.getOrDefault(status, List.of()));
+            }
+            result.sort(ORDER_TIME_THEN_ID);
+            return result;
+        }
+    }
+
+    // 보드로 보내는 변화분. order.status가 진행 중이 아니면(DELIVERED) 보드에서 빠짐
+    public record Delta(long seq, Long orderId, OrderStatus previous, OrderHistoryDTO order) {
+    }
+
+    // 웹 서버가 요청을 받기 전에 DB의 진행 중 주문으로 채움
+    // (order_time, id) keyset으로 BOOTSTRAP_PAGE_SIZE개씩 읽음 (진행 중 주문이 많아도 한 번에 다 올리지 않음)
+    @Override
+    public void afterSingletonsInstantiated() {
+        Limit limit = Limit.of(BOOTSTRAP_PAGE_SIZE);
+        List<OrderHistoryDTO> page = orderRepository.findOrderHistoryByStatusIn(ACTIVE_STATUSES, limit);
+        while (!page.isEmpty()) {
+            page.forEach(this::apply);
+            if (page.size() < BOOTSTRAP_PAGE_SIZE) {
+                break;
+            }
+            OrderHistoryDTO last = page.get(page.size() - 1);
+            page = orderRepository.findOrderHistoryByStatusInAfter(
+                    ACTIVE_STATUSES, last.getOrderTime(), last.getId(), limit);
+        }
+    }
+
+    /* ============ 조회 ============ */
+
+    public synchronized Snapshot snapshot() {
+        Map<OrderStatus, List<OrderHistoryDTO>> orders = new EnumMap<>(OrderStatus.class);
+        byStatus.forEach((status, map) -> orders.put(status, List.copyOf(map.values())));
+        return new Snapshot(seq, orders);
+    }
+
+    /* ============ 갱신 ============ */
+
+    // OrderEventBus dispatcher thread에서 이벤트 순서대로 호출됨
+    @Override
+    public void onEvent(OrderEvent event, boolean endOfBatch) {
+        if (event.type() == OrderEvent.Type.PLACED) {
+            apply(event.order());
+        } else {
+            transition(event.orderId(), event.previousStatus(), event.type().status(), event.deliveryTime());
+        }
+    }
+
+    // 상태만 바뀐 경우(from -> status): index에 있는 주문을 복사해서 status(와 배달시간)만 바꿈
+    // index의 status가 from이 아니면 무시 (이미 다른 요청이 바꿨거나 index에 없는 주문)
+    private synchronized void transition(Long orderId, OrderStatus from, OrderStatus status, OffsetDateTime deliveryTime) {
+        OrderStatus current = statusById.get(orderId);
+        if (current != from) {
+            staleCount.incrementAndGet();
+            return;
+        }
+        OrderHistoryDTO order = OrderMapper.copyOrderHistoryDTO(byStatus.get(current).get(orderId));
+        order.setStatus(status);
+        if (deliveryTime != null) {
+            order.setDeliveryTime(deliveryTime);
+        }
+        apply(order);
+    }
+
+    private synchronized void apply(OrderHistoryDTO order) {
+        Long orderId = order.getId();
+        OrderStatus previous = statusById.get(orderId);
+        boolean active = byStatus.containsKey(order.getStatus());
+        if (previous == null ? !active : previous.compareTo(order.getStatus()) >= 0) {
+            staleCount.incrementAndGet();
+            return;
+        }
+
+        if (previous != null) {
+            byStatus.get(previous).remove(orderId);
+        }
+        if (active) {
+            byStatus.get(order.getStatus()).put(orderId, order);
+            statusById.put(orderId, order.getStatus());
+        } else {
+            statusById.remove(orderId);
+        }
+        appliedCount.incrementAndGet();
+        // 순서를 지키려고 잠금 안에서 넘김 (publish는 전송 queue에 넣기만 함)
+        boardStreamService.publish(new Delta(++seq, orderId, previous, order));
+    }
+
+    public synchronized Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        byStatus.forEach((status, map) -> stats.put(status.name(), (long) map.size()));
+        stats.put("seq", seq);
+        stats.put("applied", appliedCount.get());
+        stats.put("stale", staleCount.get());
+        return stats;
+    }
+}
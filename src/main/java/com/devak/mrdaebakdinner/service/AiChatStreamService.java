@@ -0,0 +1,153 @@
+package com.devak.mrdaebakdinner.service;
+
+import com.devak.mrdaebakdinner.exception.AiBusyException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// AI 주문 채팅 stream 모드 (/customer/ai-chat-order/stream)
+// 모델 답변의 "message"가 생성되는 대로 SSE "token" event로 보내고, 끝나면 "result" event 하나로 마무리
+// - token: {"text": "새로 생성된 글자들"}
+// - result: stream이 아닐 때의 응답과 같은 Map (status CONTINUE / DONE / ERROR)
+// 모델 호출은 전용 thread pool에서 (Tomcat worker는 SseEmitter만 돌려주고 바로 반환)
+// SseEmitter가 timeout/오류로 끝나면 진행 중인 Ollama stream도 끊음 (pool thread, Ollama 동시 호출 자리, 대화 busy 표시를 바로 돌려줌)
+@Slf4j
+@Component
+public class AiChatStreamService {
+
+    private final AiOrderService aiOrderService;
+    private final ThreadPoolExecutor executor;
+    private final long timeoutMs;
+
+    private final AtomicLong startedCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();   // pool/queue 또는 Ollama 동시 호출 상한이 꽉 차서 거절
+    private final AtomicLong clientGoneCount = new AtomicLong(); // 답변 도중 브라우저가 연결을 끊음
+    private final AtomicLong abortedCount = new AtomicLong();    // SseEmitter timeout/오류로 모델 호출을 끊음
+    private final AtomicLong tokenEventCount = new AtomicLong();
+
+    public AiChatStreamService(AiOrderService aiOrderService,
+                               @Value("${ai.stream.threads:16}") int threads,
+                               @Value("${ai.stream.queue-size:32}") int queueSize,
+                               @Value("${ai.stream.timeout-ms:120000}") long timeoutMs) {
+        this.aiOrderService = aiOrderService;
+        this.timeoutMs = timeoutMs;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueSize), r -> {
+            Thread thread = new Thread(r, "ai-stream-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    // 한 턴을 stream으로 처리. 결과는 돌려준 SseEmitter로 나감
+    public SseEmitter stream(String userInput, String userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        OllamaClient.StreamAbort abort = new OllamaClient.StreamAbort();
+        emitter.onTimeout(abort::abort);
+        emitter.onError(e -> abort.abort());
+        try {
+            executor.execute(() -> run(emitter, userInput, userId, abort));
+        } catch (RejectedExecutionException e) {
+            rejectedCount.incrementAndGet();
+            return error("요청이 많아 답변을 시작하지 못했습니다. 잠시 후 다시 시도해주세요.");
+        }
+        return emitter;
+    }
+
+    // 모델 호출 없이 ERROR result 하나만 보내고 끝나는 SseEmitter (입력 검증 실패 등)
+    public SseEmitter error(String message) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        sendResult(emitter, Map.of("status", "ERROR", "message", message), new AtomicBoolean());
+        return emitter;
+    }
+
+    private void run(SseEmitter emitter, String userInput, String userId, OllamaClient.StreamAbort abort) {
+        if (abort.isAborted()) { // queue에서 기다리는 동안 SseEmitter가 이미 끝남
+            abortedCount.incrementAndGet();
+            return;
+        }
+        startedCount.incrementAndGet();
+        // send 실패(브라우저가 끊음)만으로는 턴을 멈추지 않고 전송만 멈춤
+        // SseEmitter timeout/오류면 모델 호출을 끊고 턴을 버림 (대화 기록에는 이 턴이 남지 않음)
+        AtomicBoolean clientGone = new AtomicBoolean();
+        Map<String, Object> result;
+        try {
+            result = aiOrderService.streamUserMessage(userInput, userId, delta -> {
+                tokenEventCount.incrementAndGet();
+                send(emitter, SseEmitter.event().name("token")
+                        .data(Map.of("text", delta), MediaType.APPLICATION_JSON), clientGone);
+            }, abort);
+            completedCount.incrementAndGet();
+        } catch (CancellationException e) {
+            abortedCount.incrementAndGet();
+            return; // SseEmitter는 이미 끝남
+        } catch (AiBusyException e) {
+            rejectedCount.incrementAndGet();
+            result = Map.of("status", "ERROR", "message", e.getMessage());
+        } catch (Exception e) {
+            failedCount.incrementAndGet();
+            log.warn("AI 채팅 stream 실패: {}", e.getMessage());
+            result = Map.of("status", "ERROR", "message", "서버 오류: " + e.getMessage());
+        }
+        sendResult(emitter, result, clientGone);
+    }
+
+    private void sendResult(SseEmitter emitter, Map<String, Object> result, AtomicBoolean clientGone) {
+        send(emitter, SseEmitter.event().name("result").data(result, MediaType.APPLICATION_JSON), clientGone);
+        if (!clientGone.get()) {
+            emitter.complete();
+        }
+    }
+
+    private void send(SseEmitter emitter, SseEmitter.SseEventBuilder event, AtomicBoolean clientGone) {
+        if (clientGone.get()) {
+            return;
+        }
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            clientGone.set(true);
+            clientGoneCount.incrementAndGet();
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("threads", (long) executor.getMaximumPoolSize());
+        stats.put("queueCapacity", (long) (executor.getQueue().size() + executor.getQueue().remainingCapacity()));
+        stats.put("active", (long) executor.getActiveCount());
+        stats.put("queued", (long) executor.getQueue().size());
+        stats.put("started", startedCount.get());
+        stats.put("completed", completedCount.get());
+        stats.put("failed", failedCount.get());
+        stats.put("rejected", rejectedCount.get());
+        stats.put("clientGone", clientGoneCount.get());
+        stats.put("aborted", abortedCount.get());
+        stats.put("tokenEvents", tokenEventCount.get());
+        return stats;
+    }
+}
@@ -3,177 +3,342 @@ package com.devak.mrdaebakdinner.service;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import org.springframework.http.*;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
-import org.springframework.beans.factory.annotation.Value;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Consumer;
 
+@Slf4j
 @Service
 public class AiOrderService {
 
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final OllamaClient ollamaClient;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
-    // conversation 저장소
+    // conversation 저장소 (idle TTL / 개수 / byte 상한으로 정리됨)
     // { userId: [ {role:"system", content:...}, {role:"user", content:...}, {role:"assistant", content:...} ] }
-    private static final Map<String, List<Map<String, String>>> conversationMap = new HashMap<>();
+    private final ConversationStore conversationStore;
 
-    // API의 BASE_URL
-    private final String BASE_URL;
+    // DONE 턴의 extracted_info -> 최종 주문 (검증 실패 시에만 주문 추출 모델 호출)
+    private final ExtractedOrderParser extractedOrderParser;
 
-    // MODEL 이름
-    private final String MODEL = "gemma3:12b";
+    // 긴 대화를 요청 token 예산 안으로 접음
+    private final ConversationCompactor conversationCompactor;
+
+    // 메뉴/스타일 질문은 모델 없이 바로 답함
+    private final MenuFaqResponder menuFaqResponder;
+
+    // 대화 첫머리의 같은 질문에는 검증된 이전 모델 답변을 재사용
+    private final ModelReplyCache modelReplyCache;
 
-    public AiOrderService(@Value("${ollama.api.baseurl}") String baseUrl) {
-        this.BASE_URL = baseUrl;
+    // MODEL 이름
+    static final String MODEL = "gemma3:12b";
+
+    // 시스템 프롬프트 (모든 대화에서 byte 단위로 같은 prefix -> Ollama가 이미 계산한 prompt KV cache를 재사용)
+    // 시간처럼 대화마다 달라지는 값은 여기 넣지 말고 clockMessage처럼 뒤에 따로 붙일 것
+    static final String SYSTEM_PROMPT = """
+            당신은 레스토랑 주문 관리 챗봇입니다. '특별한 날을 더욱 특별하게'라는 모토를 따르세요.
+            현재 시간은 대화 기록의 [현재 시간] 메시지를 기준으로 합니다(한국시간). 시간을 말할 때는 "MM월 DD일 H시" 형식으로 말하세요.
+
+            ---
+
+            ## 핵심 정보 및 제약 (절대 불변)
+
+            ### 1. 디너 구성 및 스타일 제약
+            | 디너 (Base Items) | 스타일 가능성 |
+            | :--- | :--- |
+            | **VALENTINE** (wine 1, steak 1) | SIMPLE, GRAND, DELUXE 가능 |
+            | **FRENCH** (coffee_cup 1, wine 1, salad 1, steak 1) | SIMPLE, GRAND, DELUXE 가능 | [주의] coffee_pot이 아닌 coffee_cup이 기본 메뉴 구성임.
+            | **ENGLISH** (eggscramble 1, bacon 1, bread 1, steak 1) | SIMPLE, GRAND, DELUXE 가능 |
+            | **CHAMPAGNE** (champagne 1, baguette 4, coffee_pot 1, wine 1, steak 1) | **GRAND, DELUXE만 가능** | [주의] coffee_cup이 아닌 coffee_pot이 기본 메뉴 구성임. [엄격한 규칙] 고객이 SIMPLE 스타일 요청 시 SIMPLE 스타일은 불가하다고 전달.
+
+            ### 2. 유사 아이템 혼동 금지
+            **빵(bread)/바게트(baguette), 커피잔(coffee_cup)/커피포트(coffee_pot), 샴페인(champagne)/와인(wine)**는 서로 다른 품목이며 **절대 혼동하거나 혼용하지 마세요.**
+            혼동 시에는 사용자에게 재질문을 통해 정확한 아이템과 정확한 수량을 확인하세요.
+
+            ### 3. 시간/날짜 분리
+            시간을 나타내는 '시' 앞의 숫자와 날짜를 나타내는 '일' 앞의 숫자를 절대 혼동하지 마세요.
+            '내일', '모레', '다음 주'와 같은 상대적 표현이 있을 경우, 현재 시간을 기준으로 절대 날짜로 변환하는 것을 최우선으로 해야 합니다."
+
+            ---
+
+            ## 행동 및 상태 관리 규칙 (최우선)
+
+            1. **상태 유지:** 추출된 주문 정보는 **`extracted_info`** 필드에 저장하고, 이미 저장된 정보는 **절대 NULL로 초기화하거나 누락시키지 말고** 다음 턴에 그대로 유지하세요. 정보가 없으면 **`null`**을 사용하세요.
+            2. **우선 순위:** 주문 정보는 **'menu' -> 'style' -> 'reservation_time' -> 'delivery_address' -> 'card_number'** 순서로 유도하세요.
+
+            ### 3. 메뉴 확정 및 기본 Items 로드 (통합 로직)
+            a. **메뉴 확정:** 사용자가 메뉴를 언급하거나 추천에 동의하면, **추가 질문 없이 즉시 'menu' 필드를 확정**해야 합니다.
+            b. **기본 Items 로드 (필수 실행):** 'menu'가 확정되는 즉시, 'extracted_info'의 'items'를 해당 메뉴의 기본 구성 수량으로 **즉시 채워야 합니다.** 기본 구성에 포함되지 않는 다른 item은 **0으로 설정**하세요.
+
+            ### 4. Items 수량 업데이트
+            a. **수량 변경:** 사용자가 아이템 수량 변경을 요청하면, **정확한 수량과 아이템을 질문하여 확인한 후** Items 필드를 업데이트하세요.
+            b. **최소 수량 유지:** 메뉴의 기본 구성 품목 수량은 **절대 1 미만**이 될 수 없습니다. (단, 0으로 초기화한 뒤 기본 수량을 로드하는 것은 허용)
+            c. **다중 요청 처리 규칙:** 사용자가 "A와 B 하나씩 추가"와 같이 두 개 이상의 아이템을 한 문장에서 요청하면, 각 아이템에 수량이 정확하게 매칭되었는지 검토하세요.
+
+            ### 5. 주문 진행 및 완료
+            a. **진행:** 정보가 부족하면 **status는 "CONTINUE"**를 유지하고, 빠진 정보를 유도하세요.
+            b. **완료:** **menu, style, reservation_time, delivery_address, card_number** **모든 필수 정보가 채워지면** status를 **"DONE"**으로 설정하고, extracted_info 기반의 요약 문장을 message로 반환합니다.
+
+            ---
+
+            ## 디너/스타일 설명 (설명 요청 시 활용)
+            VALENTINE 디너: 사랑하는 연인을 위한 가장 완벽한 선택. 섬세한 큐피드와 하트 장식으로 포인트를 준 플레이트 위에서 펼쳐지는 와인과 스테이크의 우아한 조화.
+            FRENCH 디너: 프렌치 다이닝의 정수. 샐러드부터 시작하여 스테이크, 와인, 커피로 이어지는 미식의 절정.
+            ENGLISH 디너: 영국의 맛을 대표하는 4가지 메뉴의 조화. 부드러운 에그 스크램블, 베이컨, 빵, 풍미 깊은 스테이크.
+            CHAMPAGNE 디너: 두 분을 위한 완벽한 축하 테이블. 샴페인 1병, 바삭한 바게트 빵 4개, 와인, 메인 스테이크, 그리고 커피 1포트까지.
+            SIMPLE 스타일: 플라스틱 식기와 종이 냅킨, 플라스틱 와인잔이 제공되는 기본 서비스입니다.
+            GRAND 스타일: 도자기 식기와 면 냅킨, 플라스틱 와인잔이 나무 쟁반에 제공되어 격식 있는 분위기를 연출합니다.
+            DELUXE 스타일: 작은 꽃병과 유리 와인잔이 추가되어, 린넨 냅킨과 함께 나무 쟁반에 제공되는 서비스입니다.
+
+            ---
+
+            ## 출력 형식 (필수)
+            - 출력은 반드시 아래 JSON 형식으로만 반환하세요.
+
+            ```json
+            {
+              "status": "CONTINUE 또는 DONE",
+              "message": "사용자에게 보여줄 답변 및 질문 내용",
+              "extracted_info": {
+                "menu": "VALENTINE" 또는 "FRENCH" 또는 "ENGLISH" 또는 "CHAMPAGNE" 또는 null,
+                "style": "SIMPLE" 또는 "GRAND" 또는 "DELUXE" 또는 null,
+                "items": {
+                  "wine": ,
+                  "steak": ,
+                  "coffee_cup": ,
+                  "coffee_pot": ,
+                  "salad": ,
+                  "eggscramble": ,
+                  "bacon": ,
+                  "bread": ,
+                  "baguette": ,
+                  "champagne":
+                },
+                "reservation_time": "YYYY년 MM월 DD일 H시" 또는 null,
+                "delivery_address": "배달 주소" 또는 null,
+                "card_number": "카드 번호" 또는 null
+              }
+            }
+        """;
+
+    private static final DateTimeFormatter CLOCK_FORMAT = DateTimeFormatter.ofPattern("yyyy년 M월 d일 H시");
+
+    // 같은 고객의 이전 메시지를 아직 처리 중일 때 (대화 순서가 꼬이지 않게 거절)
+    private static final Map<String, Object> BUSY_RESULT = Map.of(
+            "status", "ERROR",
+            "message", "이전 메시지에 대한 답변을 기다리는 중입니다."
+    );
+
+    public AiOrderService(OllamaClient ollamaClient,
+                          ConversationStore conversationStore,
+                          ExtractedOrderParser extractedOrderParser,
+                          ConversationCompactor conversationCompactor,
+                          MenuFaqResponder menuFaqResponder,
+                          ModelReplyCache modelReplyCache) {
+        this.ollamaClient = ollamaClient;
+        this.conversationStore = conversationStore;
+        this.extractedOrderParser = extractedOrderParser;
+        this.conversationCompactor = conversationCompactor;
+        this.menuFaqResponder = menuFaqResponder;
+        this.modelReplyCache = modelReplyCache;
     }
 
     // Controller에 의해 호출
-    public Map<String, Object> processUserMessage(String userInput, String userId) throws JsonProcessingException {
-        String s = """
-                Error: 서버 오류:
-                Cannot invoke "com.fasterxml.jackson.databind.JsonNode.asText()" 
-                because the return value of "com.fasterxml.jackson.databind.JsonNode.get(String)" is null
-                """;
-        // conversation 찾기
-        List<Map<String, String>> history = conversationMap.get(userId);
-
-        // 기록 없으면 시스템 프롬프트 history에 넣으면서 만들기
-        if (history == null) {
-            history = new ArrayList<>();
-            String nowTime = OffsetDateTime.now(ZoneOffset.ofHours(9))
-                    .format(DateTimeFormatter.ofPattern("yyyy년 M월 d일 H시"));
-            // processUserMessage 메서드 내부에 추가해야 할 핵심 코드:
-            conversationMap.put(userId, history);
-            String SYSTEM_PROMPT = """
-                    당신은 레스토랑 주문 관리 챗봇입니다. '특별한 날을 더욱 특별하게'라는 모토를 따르세요.
-                    현재 시간은 %s(한국시간)입니다. 시간을 말할 때는 "MM월 DD일 H시" 형식으로 말하세요.
-                
-                    ---
-                
-                    ## 핵심 정보 및 제약 (절대 불변)
-                
-                    ### 1. 디너 구성 및 스타일 제약
-                    | 디너 (Base Items) | 스타일 가능성 |
-                    | :--- | :--- |
-                    | **VALENTINE** (wine 1, steak 1) | SIMPLE, GRAND, DELUXE 가능 |
-                    | **FRENCH** (coffee_cup 1, wine 1, salad 1, steak 1) | SIMPLE, GRAND, DELUXE 가능 | [주의] coffee_pot이 아닌 coffee_cup이 기본 메뉴 구성임.
-                    | **ENGLISH** (eggscramble 1, bacon 1, bread 1, steak 1) | SIMPLE, GRAND, DELUXE 가능 |
-                    | **CHAMPAGNE** (champagne 1, baguette 4, coffee_pot 1, wine 1, steak 1) | **GRAND, DELUXE만 가능** | [주의] coffee_cup이 아닌 coffee_pot이 기본 메뉴 구성임. [엄격한 규칙] 고객이 SIMPLE 스타일 요청 시 SIMPLE 스타일은 불가하다고 전달.
-                
-                    ### 2. 유사 아이템 혼동 금지
-                    **빵(bread)/바게트(baguette), 커피잔(coffee_cup)/커피포트(coffee_pot), 샴페인(champagne)/와인(wine)**는 서로 다른 품목이며 **절대 혼동하거나 혼용하지 마세요.**
-                    혼동 시에는 사용자에게 재질문을 통해 정확한 아이템과 정확한 수량을 확인하세요.
-                
-                    ### 3. 시간/날짜 분리
-                    시간을 나타내는 '시' 앞의 숫자와 날짜를 나타내는 '일' 앞의 숫자를 절대 혼동하지 마세요.
-                    '내일', '모레', '다음 주'와 같은 상대적 표현이 있을 경우, 현재 시간을 기준으로 절대 날짜로 변환하는 것을 최우선으로 해야 합니다."
-                
-                    ---
-                
-                    ## 행동 및 상태 관리 규칙 (최우선)
-                
-                    1. **상태 유지:** 추출된 주문 정보는 **`extracted_info`** 필드에 저장하고, 이미 저장된 정보는 **절대 NULL로 초기화하거나 누락시키지 말고** 다음 턴에 그대로 유지하세요. 정보가 없으면 **`null`**을 사용하세요.
-                    2. **우선 순위:** 주문 정보는 **'menu' -> 'style' -> 'reservation_time' -> 'delivery_address' -> 'card_number'** 순서로 유도하세요.
-                
-                    ### 3. 메뉴 확정 및 기본 Items 로드 (통합 로직)
-                    a. **메뉴 확정:** 사용자가 메뉴를 언급하거나 추천에 동의하면, **추가 질문 없이 즉시 'menu' 필드를 확정**해야 합니다.
-                    b. **기본 Items 로드 (필수 실행):** 'menu'가 확정되는 즉시, 'extracted_info'의 'items'를 해당 메뉴의 기본 구성 수량으로 **즉시 채워야 합니다.** 기본 구성에 포함되지 않는 다른 item은 **0으로 설정**하세요.
-                
-                    ### 4. Items 수량 업데이트
-                    a. **수량 변경:** 사용자가 아이템 수량 변경을 요청하면, **정확한 수량과 아이템을 질문하여 확인한 후** Items 필드를 업데이트하세요.
-                    b. **최소 수량 유지:** 메뉴의 기본 구성 품목 수량은 **절대 1 미만**이 될 수 없습니다. (단, 0으로 초기화한 뒤 기본 수량을 로드하는 것은 허용)
-                    c. **다중 요청 처리 규칙:** 사용자가 "A와 B 하나씩 추가"와 같이 두 개 이상의 아이템을 한 문장에서 요청하면, 각 아이템에 수량이 정확하게 매칭되었는지 검토하세요.
-                
-                    ### 5. 주문 진행 및 완료
-                    a. **진행:** 정보가 부족하면 **status는 "CONTINUE"**를 유지하고, 빠진 정보를 유도하세요.
-                    b. **완료:** **menu, style, reservation_time, delivery_address, card_number** **모든 필수 정보가 채워지면** status를 **"DONE"**으로 설정하고, extracted_info 기반의 요약 문장을 message로 반환합니다.
-                
-                    ---
-                
-                    ## 디너/스타일 설명 (설명 요청 시 활용)
-                    VALENTINE 디너: 사랑하는 연인을 위한 가장 완벽한 선택. 섬세한 큐피드와 하트 장식으로 포인트를 준 플레이트 위에서 펼쳐지는 와인과 스테이크의 우아한 조화.
-                    FRENCH 디너: 프렌치 다이닝의 정수. 샐러드부터 시작하여 스테이크, 와인, 커피로 이어지는 미식의 절정.
-                    ENGLISH 디너: 영국의 맛을 대표하는 4가지 메뉴의 조화. 부드러운 에그 스크램블, 베이컨, 빵, 풍미 깊은 스테이크.
-                    CHAMPAGNE 디너: 두 분을 위한 완벽한 축하 테이블. 샴페인 1병, 바삭한 바게트 빵 4개, 와인, 메인 스테이크, 그리고 커피 1포트까지.
-                    SIMPLE 스타일: 플라스틱 식기와 종이 냅킨, 플라스틱 와인잔이 제공되는 기본 서비스입니다.
-                    GRAND 스타일: 도자기 식기와 면 냅킨, 플라스틱 와인잔이 나무 쟁반에 제공되어 격식 있는 분위기를 연출합니다.
-                    DELUXE 스타일: 작은 꽃병과 유리 와인잔이 추가되어, 린넨 냅킨과 함께 나무 쟁반에 제공되는 서비스입니다.
-                
-                    ---
-                
-                    ## 출력 형식 (필수)
-                    - 출력은 반드시 아래 JSON 형식으로만 반환하세요.
-                
-                    ```json
-                    {
-                      "status": "CONTINUE 또는 DONE",
-                      "message": "사용자에게 보여줄 답변 및 질문 내용",
-                      "extracted_info": {
-                        "menu": "VALENTINE" 또는 "FRENCH" 또는 "ENGLISH" 또는 "CHAMPAGNE" 또는 null,
-                        "style": "SIMPLE" 또는 "GRAND" 또는 "DELUXE" 또는 null,
-                        "items": {
-                          "wine": ,
-                          "steak": ,
-                          "coffee_cup": ,
-                          "coffee_pot": ,
-                          "salad": ,
-                          "eggscramble": ,
-                          "bacon": ,
-                          "bread": ,
-                          "baguette": ,
-                          "champagne":
-                        },
-                        "reservation_time": "YYYY년 MM월 DD일 H시" 또는 null,
-                        "delivery_address": "배달 주소" 또는 null,
-                        "card_number": "카드 번호" 또는 null
-                      }
-                    }
-                """.formatted(nowTime);
-            history.add(Map.of(
-                    "role", "system",
-                    "content", SYSTEM_PROMPT
-            ));
+    // 모델 응답을 기다리는 동안 요청 thread를 잡고 있지 않음 (OllamaClient.chat이 끝나면 이어서 처리)
+    public CompletableFuture<Map<String, Object>> processUserMessage(String userInput, String userId) {
+        // conversation 찾기 (없으면 빈 conversation)
+        ConversationStore.Conversation conversation = conversationStore.getOrCreate(userId);
+        if (!conversation.tryAcquire()) {
+            conversationStore.recordBusy();
+            return CompletableFuture.completedFuture(BUSY_RESULT);
+        }
+        CompletableFuture<Map<String, Object>> result;
+        try {
+            Map<String, Object> localResult = answerLocally(conversation, userInput, userId);
+            if (localResult != null) {
+                conversation.release();
+                return CompletableFuture.completedFuture(localResult);
+            }
+            List<Map<String, String>> history = startTurn(conversation, userInput);
+            String cacheKey = modelReplyCache.keyFor(history, userInput);
+            ModelReply cached = cacheKey == null ? null : modelReplyCache.get(cacheKey);
+            if (cached != null) {
+                return finishTurn(conversation, userInput, userId, history, cached)
+                        .whenComplete((r, e) -> conversation.release());
+            }
+            /*
+             * response 생성
+             * model response 객체의 구조
+             * https://docs.ollama.com/api/chat
+             */
+            result = ollamaClient.chat(chatRequestBody(history, userInput, false))
+                    .thenCompose(responseBody -> {
+                        ModelReply reply = parse(responseBody);
+                        if (cacheKey != null) {
+                            modelReplyCache.offer(cacheKey, reply);
+                        }
+                        return finishTurn(conversation, userInput, userId, history, reply);
+                    });
+        } catch (IllegalArgumentException e) {
+            conversation.release();
+            return CompletableFuture.completedFuture(Map.of("status", "ERROR", "message", e.getMessage()));
+        } catch (RuntimeException e) {
+            conversation.release();
+            throw e;
+        }
+        return result.whenComplete((r, e) -> conversation.release());
+    }
+
+    // stream 모드: 모델 답변의 "message"가 생성되는 대로 onMessageDelta로 조각씩 넘겨줌
+    // 반환값(최종 status/extracted_info로 만든 결과)은 processUserMessage와 같음
+    // 응답이 끝날 때까지 호출한 thread가 기다림 (AiChatStreamService의 전용 pool에서 호출)
+    // abort되면 모델 호출을 끊고 CancellationException (턴은 대화 기록에 남기지 않음)
+    public Map<String, Object> streamUserMessage(String userInput,
+                                                 String userId,
+                                                 Consumer<String> onMessageDelta,
+                                                 OllamaClient.StreamAbort abort) throws IOException, InterruptedException {
+        ConversationStore.Conversation conversation = conversationStore.getOrCreate(userId);
+        if (!conversation.tryAcquire()) {
+            conversationStore.recordBusy();
+            return BUSY_RESULT;
         }
+        try {
+            Map<String, Object> localResult = answerLocally(conversation, userInput, userId);
+            if (localResult != null) {
+                onMessageDelta.accept((String) localResult.get("message"));
+                return localResult;
+            }
+            List<Map<String, String>> history = startTurn(conversation, userInput);
+            String cacheKey = modelReplyCache.keyFor(history, userInput);
+            ModelReply reply = cacheKey == null ? null : modelReplyCache.get(cacheKey);
+            if (reply != null) {
+                onMessageDelta.accept(reply.message());
+            } else {
+                reply = parseReplyContent(streamResponse(history, userInput, onMessageDelta, abort));
+                if (cacheKey != null) {
+                    modelReplyCache.offer(cacheKey, reply);
+                }
+            }
+            return finishTurn(conversation, userInput, userId, history, reply).join(); // DONE이면 주문 추출까지
+        } catch (IllegalArgumentException e) {
+            return Map.of("status", "ERROR", "message", e.getMessage());
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        } finally {
+            conversation.release();
+        }
+    }
 
-        /*
-         * response 생성
-         * model response 객체의 구조
-         * https://docs.ollama.com/api/chat
-         */
-        JsonNode responseNode = createResponse(history, userInput);
-        String jsonText = responseNode.path("message").path("content").asText();
-        System.out.println("의심구간: jsonText = " + jsonText); // for debug
-        JsonNode parsedJson = objectMapper.readTree(jsonText);
-        String status = parsedJson.get("status").asText();
-        System.out.println("의심구간: status = " + status); // for debug
-        String message = parsedJson.get("message").asText();
-        System.out.println("의심구간: message = " + message); // for debug
-
-        System.out.println("파싱됨: jsonText =" + jsonText); // for debug
-        System.out.println("파싱됨: status =" + status); // for debug
-        System.out.println("파싱됨: message =" + message); // for debug
+    // 메뉴/스타일 질문이면 모델 없이 답하고 CONTINUE 결과 반환 (아니면 null)
+    // 대화 기록에도 모델 턴과 같은 모양(user + assistant JSON, extracted_info는 직전 그대로)으로 남겨서
+    // 다음 턴의 모델이 이 문답과 주문 상태를 그대로 이어받게 함
+    private Map<String, Object> answerLocally(ConversationStore.Conversation conversation,
+                                              String userInput,
+                                              String userId) {
+        String answer = menuFaqResponder.answer(userInput);
+        if (answer == null) {
+            return null;
+        }
+        ensureStarted(conversation);
+        String extractedInfo = ConversationCompactor.latestExtractedInfo(conversation.messages());
+        conversation.append("user", userInput);
+        conversation.append("assistant", menuFaqResponder.replyContent(answer, extractedInfo));
+        conversationStore.update(userId, conversation);
+        return Map.of(
+                "status", "CONTINUE",
+                "message", answer
+        );
+    }
+
+    // 한 턴 시작: 기록이 없으면 시스템 프롬프트부터, 길면 접음. 지금까지의 history (읽기 전용) 반환
+    // 접어도 token 예산을 넘으면 IllegalArgumentException
+    private List<Map<String, String>> startTurn(ConversationStore.Conversation conversation, String userInput) {
+        ensureStarted(conversation);
+        conversationCompactor.prepare(conversation, userInput);
+        return conversation.messages();
+    }
+
+    // 기록 없으면 [시스템 프롬프트, 현재 시간] 두 메시지로 시작
+    // 이후 턴은 history 뒤에 붙기만 하므로 이전 턴 요청 전체가 다음 턴 요청의 prefix가 됨
+    private void ensureStarted(ConversationStore.Conversation conversation) {
+        if (conversation.isEmpty()) {
+            conversation.append("system", SYSTEM_PROMPT);
+            Map<String, String> clock = clockMessage(OffsetDateTime.now(ZoneOffset.ofHours(9)));
+            conversation.append(clock.get("role"), clock.get("content"));
+        }
+    }
+
+    // 대화를 시작한 시각 (시 단위). SYSTEM_PROMPT 바로 뒤의 작은 system 메시지
+    static Map<String, String> clockMessage(OffsetDateTime now) {
+        return Map.of(
+                "role", "system",
+                "content", "[현재 시간] " + now.format(CLOCK_FORMAT) + " (한국시간)"
+        );
+    }
+
+    // 모델 답변을 history에 반영하고 status에 따라 결과 생성
+    private CompletableFuture<Map<String, Object>> finishTurn(ConversationStore.Conversation conversation,
+                                                              String userInput,
+                                                              String userId,
+                                                              List<Map<String, String>> history,
+                                                              ModelReply reply) {
+        String jsonText = reply.content();
+        String status = reply.status();
+        String message = reply.message();
+
+        log.debug("파싱됨: status={}, jsonText={}", status, jsonText); // 주소/카드 번호가 들어 있으므로 debug로만
 
         // history 업데이트: { user-input + assistant-reply }
-        history.add(Map.of(
-                "role", "user",
-                "content", userInput));
-        history.add(Map.of(
-                "role", "assistant",
-                "content", jsonText));
+        conversation.append("user", userInput);
+        conversation.append("assistant", jsonText);
+        conversationStore.update(userId, conversation);
 
-        // "DONE"을 반환했을 때 -> 지금까지 대화 바탕 주문 추출
+        // "DONE"을 반환했을 때 -> 마지막 extracted_info로 바로 주문 생성
+        // 검증에 실패하면 지금까지 대화 바탕으로 주문 추출 (모델 호출 한 번 더)
         if ("DONE".equalsIgnoreCase(status)) {
-            // order 추출
-            String jsonOrder = createJsonOrder(history).path("message").path("content").asText();
+            try {
+                Map<String, Object> result = extractedOrderParser.toDoneResult(reply.extractedInfo(), message);
+                conversationStore.complete(userId);
+                return CompletableFuture.completedFuture(result);
+            } catch (IllegalArgumentException e) {
+                log.info("extracted_info 검증 실패, 주문 추출 모델 호출로 대체: {}", e.getMessage());
+                return ollamaClient.chat(orderRequestBody(history))
+                        .thenApply(responseBody -> toDoneResult(responseBody, message, userId));
+            }
+        }
+
+        // "CONTINUE"를 반환했을 때 message(와 history) 반환
+        if ("CONTINUE".equalsIgnoreCase(status)) {
+            return CompletableFuture.completedFuture(Map.of(
+                    "status", "CONTINUE",
+                    "message", message
+            ));
+        }
+
+        return CompletableFuture.completedFuture(Map.of(
+                "status", "ERROR",
+                "message", "JSON Format깨짐(알 수 없는 status)"
+        ));
+    }
+
+    // 주문 추출 응답 -> DONE 결과 (fallback)
+    private Map<String, Object> toDoneResult(String responseBody, String message, String userId) {
+        log.debug("createJsonOrder LLM 원본 응답 JSON (items 포함): {}", responseBody);
+        try {
+            JsonNode response = objectMapper.readTree(responseBody);
+            ollamaClient.recordUsage(response);
+            String jsonOrder = response.path("message").path("content").asText();
             // jsonOrder로부터 menu, style, items, deliveryAddress, cardNumber, reservationTime 파싱
             JsonNode order = objectMapper.readTree(jsonOrder);
             String menu = order.path("menu").asText();
@@ -184,7 +349,7 @@ public class AiOrderService {
             String reservationTime = order.path("reservationTime").asText();
 
             // conversation 삭제
-            conversationMap.remove(userId);
+            conversationStore.complete(userId);
 
             return Map.of(
                     "status", "DONE",
@@ -196,34 +361,81 @@ public class AiOrderService {
                     "reservationTime", reservationTime,
                     "message", message
             );
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
         }
+    }
 
-        // "CONTINUE"를 반환했을 때 message(와 history) 반환
-        if ("CONTINUE".equalsIgnoreCase(status)) {
-            return Map.of(
-                    "status", "CONTINUE",
-                    "message", message
-            );
+    // model 응답에서 꺼낸 값들 (content: assistant가 낸 JSON 원문)
+    public record ModelReply(String content, String status, String message, JsonNode extractedInfo) {
+    }
+
+    // Ollama /api/chat 응답 본문 -> message.content(JSON 문자열) -> status, message, extracted_info
+    public ModelReply parseModelReply(String responseBody) throws JsonProcessingException {
+        return parseReplyContent(objectMapper.readTree(responseBody).path("message").path("content").asText());
+    }
+
+    private ModelReply parse(String responseBody) {
+        try {
+            JsonNode response = objectMapper.readTree(responseBody);
+            ollamaClient.recordUsage(response);
+            return parseReplyContent(response.path("message").path("content").asText());
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
         }
+    }
 
-        return Map.of(
-                "status", "ERROR",
-                "message", "JSON Format깨짐(알 수 없는 status)"
-        );
+    // message.content(JSON 문자열) -> status, message, extracted_info
+    public ModelReply parseReplyContent(String content) throws JsonProcessingException {
+        JsonNode parsedJson = objectMapper.readTree(content);
+        return new ModelReply(
+                content,
+                parsedJson.path("status").asText(),
+                parsedJson.path("message").asText(),
+                parsedJson.path("extracted_info"));
     }
 
-    private JsonNode createResponse(List<Map<String, String>> history, String userInput) throws JsonProcessingException {
-        String url = BASE_URL + "/api/chat";
-        System.out.println("createResponse()진입"); // for debug
-        // history를 복사하고 새로운 user 메시지를 추가
+    // stream 모드: Ollama가 한 줄에 하나씩 보내는 chunk({"message":{"content":"..."},"done":false})를 읽으면서
+    // 답변 JSON의 "message" 값이 늘어날 때마다 onMessageDelta 호출. 다 받은 content(JSON 원문) 반환
+    private String streamResponse(List<Map<String, String>> history,
+                                  String userInput,
+                                  Consumer<String> onMessageDelta,
+                                  OllamaClient.StreamAbort abort) throws IOException, InterruptedException {
+        ReplyMessageExtractor extractor = new ReplyMessageExtractor();
+        StringBuilder content = new StringBuilder();
+        ollamaClient.chatStream(chatRequestBody(history, userInput, true), line -> {
+            if (line.isBlank()) {
+                return;
+            }
+            JsonNode chunk;
+            try {
+                chunk = objectMapper.readTree(line);
+            } catch (JsonProcessingException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (chunk.path("done").asBoolean()) {
+                ollamaClient.recordUsage(chunk); // 마지막 chunk에 prompt_eval_count 등이 들어 있음
+            }
+            String piece = chunk.path("message").path("content").asText("");
+            content.append(piece);
+            String delta = extractor.feed(piece);
+            if (!delta.isEmpty()) {
+                onMessageDelta.accept(delta);
+            }
+        }, abort);
+        return content.toString();
+    }
+
+    // /api/chat 요청 본문 (history를 복사하고 새로운 user 메시지를 추가)
+    // sampling 값은 options 안에 (최상위 temperature는 Ollama가 무시함)
+    Map<String, Object> chatRequestBody(List<Map<String, String>> history, String userInput, boolean stream) {
         List<Map<String, String>> messages = new ArrayList<>(history);
         messages.add(Map.of(
                 "role", "user",
                 "content", userInput
         ));
 
-        // 응답 생성
-        Map<String, Object> body = Map.of(
+        return Map.of(
                 "model", MODEL,
                 "messages", messages,
                 "format", Map.of(
@@ -236,25 +448,14 @@ public class AiOrderService {
                         "required", List.of("status", "message", "extracted_info"),
                         "additionalProperties", false
                 ),
-                "stream", false
-                ,"think", false,
-                "temperature", 0.3
+                "stream", stream,
+                "think", false,
+                "options", Map.of("temperature", 0.3)
         );
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
-        System.out.println("\n\nHttpEntity 구성" + entity); // for debug
-        ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.POST, entity, String.class);
-
-        System.out.println("\n\nresponse 반환됨. createResponse()끝" + response); // for debug
-        return objectMapper.readTree(response.getBody());
     }
 
-    private JsonNode createJsonOrder(List<Map<String, String>> history) throws JsonProcessingException {
-        String url = BASE_URL + "/api/chat";
-
+    // 주문 추출 요청 본문: 지금까지의 대화 + 주문 파서 지시 -> 주문 schema에 맞는 JSON
+    private Map<String, Object> orderRequestBody(List<Map<String, String>> history) {
         // 반환될 JSON schema 지정
         Map<String, Object> aiOrderSchema = Map.of(
                 "type", "object",
@@ -305,26 +506,14 @@ public class AiOrderService {
                 "content", "당신은 레스토랑 주문 파서입니다. [엄격한 규칙] extracted_info를 바탕으로 최종 주문 정보를 Schema에 맞게 정확히 출력하세요."
         ));
 
-        // 응답 생성
-        Map<String, Object> body = Map.of(
+        return Map.of(
                 "model", MODEL,
                 "messages", messages,
                 "format", aiOrderSchema,
-                "stream", false
-                ,"think", false
-                , "temperature", 0.0001 // 창의성 제한
+                "stream", false,
+                "think", false,
+                "options", Map.of("temperature", 0.0001) // 창의성 제한
         );
-
-        HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
-
-        HttpEntity<Map<String, Object>> entity = new HttpEntity<>(body, headers);
-        ResponseEntity<String> response = restTemplate.exchange(url, HttpMethod.POST, entity, String.class);
-
-        String llmResponseJsonString = response.getBody(); // for debug
-        System.out.println("DEBUG: createJsonOrder LLM 원본 응답 JSON (items 포함):\n" + llmResponseJsonString); // for debug
-
-        return objectMapper.readTree(response.getBody());
     }
 
-}
\ No newline at end of file
+}
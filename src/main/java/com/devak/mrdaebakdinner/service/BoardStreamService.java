@@ -0,0 +1,129 @@
+package com.devak.mrdaebakdinner.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+// chef/delivery 보드의 SSE 구독자 관리
+// ActiveOrderIndex의 변화분을 모든 보드에 보냄. 보드 수가 늘어도 DB 조회는 늘지 않음
+// 전송은 전용 thread 하나에서 순서대로 (주문 commit thread가 느린 client를 기다리지 않게)
+// 최근 변화분 일부를 들고 있다가, 화면을 그린 뒤 구독하기 전 사이(또는 재연결 동안)에 놓친 것을 먼저 보내줌
+@Slf4j
+@Component
+public class BoardStreamService {
+
+    private final Set<SseEmitter> emitters = ConcurrentHashMap.newKeySet();
+    private final ExecutorService sender = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "board-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final long timeoutMs;
+    private final int replaySize;
+    private final ArrayDeque<ActiveOrderIndex.Delta> recent = new ArrayDeque<>(); // sender thread에서만 다룸
+
+    private final AtomicLong lastSeq = new AtomicLong(); // 마지막으로 publish된 seq (서버 재시작 감지용)
+    private final AtomicLong publishedCount = new AtomicLong();
+    private final AtomicLong sendFailureCount = new AtomicLong();
+
+    public BoardStreamService(@Value("${board.stream.timeout-ms:1800000}") long timeoutMs,
+                              @Value("${board.stream.replay-size:256}") int replaySize) {
+        this.timeoutMs = timeoutMs;
+        this.replaySize = replaySize;
+    }
+
+    // 보드 하나 구독. since: 화면을 그린 시점의 seq (재연결이면 마지막으로 받은 seq)
+    // since 이후 변화분을 다 들고 있지 않거나 since가 서버 seq보다 크면(서버 재시작) "reload" event -> 화면을 새로 그림
+    // timeout이 지나면 브라우저(EventSource)가 알아서 다시 연결함
+    public SseEmitter subscribe(long since) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        emitter.onCompletion(() -> emitters.remove(emitter));
+        emitter.onTimeout(() -> emitters.remove(emitter));
+        emitter.onError(e -> emitters.remove(emitter));
+        // publish와 같은 thread에서 처리해야 replay와 실시간 전송 사이에 빠지거나 겹치는 게 없음
+        sender.execute(() -> {
+            try {
+                if (since > lastSeq.get() || (!recent.isEmpty() && recent.peekFirst().seq() > since + 1)) {
+                    emitter.send(SseEmitter.event().name("reload").data(""));
+                    emitter.complete();
+                    return;
+                }
+                for (ActiveOrderIndex.Delta delta : recent) {
+                    if (delta.seq() > since) {
+                        emitter.send(toEvent(delta));
+                    }
+                }
+                emitters.add(emitter);
+            } catch (IOException | IllegalStateException e) {
+                sendFailureCount.incrementAndGet();
+            }
+        });
+        return emitter;
+    }
+
+    // ActiveOrderIndex가 잠금 안에서 seq 순서대로 호출
+    public void publish(ActiveOrderIndex.Delta delta) {
+        lastSeq.set(delta.seq());
+        publishedCount.incrementAndGet();
+        sender.execute(() -> {
+            recent.addLast(delta);
+            if (recent.size() > replaySize) {
+                recent.removeFirst();
+            }
+            sendToAll(toEvent(delta));
+        });
+    }
+
+    private static SseEmitter.SseEventBuilder toEvent(ActiveOrderIndex.Delta delta) {
+        return SseEmitter.event()
+                .id(String.valueOf(delta.seq()))
+                .name("delta")
+                .data(delta, MediaType.APPLICATION_JSON);
+    }
+
+    // 연결이 살아 있는지 확인 + 중간 proxy가 idle 연결을 끊지 않게
+    @Scheduled(fixedDelayString = "${board.stream.heartbeat-ms:15000}")
+    public void heartbeat() {
+        sender.execute(() -> sendToAll(SseEmitter.event().comment("ping")));
+    }
+
+    private void sendToAll(SseEmitter.SseEventBuilder event) {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(event);
+            } catch (IOException | IllegalStateException e) { // 끊긴 client
+                sendFailureCount.incrementAndGet();
+                emitters.remove(emitter);
+                log.debug("보드 전송 실패(연결 끊김): {}", e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        sender.shutdownNow();
+        emitters.forEach(SseEmitter::complete);
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("subscribers", (long) emitters.size());
+        stats.put("published", publishedCount.get());
+        stats.put("sendFailures", sendFailureCount.get());
+        return stats;
+    }
+}
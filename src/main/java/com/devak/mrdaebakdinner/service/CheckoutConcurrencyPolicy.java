@@ -0,0 +1,115 @@
+package com.devak.mrdaebakdinner.service;
+
+import com.devak.mrdaebakdinner.config.StatementCounter;
+import com.devak.mrdaebakdinner.exception.OrderConflictException;
+import jakarta.persistence.OptimisticLockException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// 주문(checkout)의 동시성 제어 방식과 재시도 규칙 (checkout.concurrency)
+// - conditional (기본): 재고는 조건부 UPDATE로 차감
+// - optimistic: 재고를 읽어서 메모리에서 차감, @Version 충돌 시 트랜잭션 전체 재시도
+// - pessimistic: 고객 -> 재고(item_id 순) 순서로 SELECT ... FOR UPDATE 후 차감
+// 어떤 방식이든 @Version 충돌(같은 고객의 동시 주문 등)이 나면 지터를 준 backoff 후 최대 maxAttempts번까지 재시도
+// (inventory.engine=ledger면 재고는 ledger가 처리하므로 재고 쪽에는 적용되지 않음)
+@Component
+public class CheckoutConcurrencyPolicy {
+
+    public enum Strategy {
+        CONDITIONAL, OPTIMISTIC, PESSIMISTIC
+    }
+
+    private final Strategy strategy;
+    private final int maxAttempts;
+    private final long baseBackoffMs;
+    private final long maxBackoffMs;
+
+    private final AtomicLong commitCount = new AtomicLong();   // 성공한 주문 트랜잭션
+    private final AtomicLong conflictCount = new AtomicLong(); // 충돌로 롤백된 시도 (재시도 포함)
+    private final AtomicLong abortCount = new AtomicLong();    // 재시도를 다 써서 포기한 주문
+    private final AtomicLong statementTotal = new AtomicLong(); // 성공한 주문들이 쓴 SQL 문장 수 합계
+    private final AtomicLong statementMax = new AtomicLong();
+    private volatile int statementLast = 0;
+
+    public CheckoutConcurrencyPolicy(@Value("${checkout.concurrency:conditional}") String strategy,
+                                     @Value("${checkout.retry.max-attempts:5}") int maxAttempts,
+                                     @Value("${checkout.retry.base-backoff-ms:10}") long baseBackoffMs,
+                                     @Value("${checkout.retry.max-backoff-ms:200}") long maxBackoffMs) {
+        this.strategy = Strategy.valueOf(strategy.trim().toUpperCase());
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.baseBackoffMs = baseBackoffMs;
+        this.maxBackoffMs = maxBackoffMs;
+    }
+
+    public Strategy strategy() {
+        return strategy;
+    }
+
+    // attempt는 매번 새 트랜잭션이어야 함 (롤백된 persistence context를 재사용하지 않도록)
+    // 주문 하나가 쓴 SQL 문장 수(재시도 포함)도 같이 기록
+    public <T> T execute(Supplier<T> attempt) {
+        StatementCounter.start();
+        try {
+            T result = executeWithRetry(attempt);
+            recordStatements(StatementCounter.stop());
+            return result;
+        } finally {
+            StatementCounter.stop();
+        }
+    }
+
+    private <T> T executeWithRetry(Supplier<T> attempt) {
+        for (int tryCount = 1; ; tryCount++) {
+            try {
+                T result = attempt.get();
+                commitCount.incrementAndGet();
+                return result;
+            } catch (OptimisticLockingFailureException | OptimisticLockException e) {
+                conflictCount.incrementAndGet();
+                if (tryCount >= maxAttempts) {
+                    abortCount.incrementAndGet();
+                    throw new OrderConflictException("주문이 몰려 처리하지 못했습니다. 잠시 후 다시 시도해주세요.", e);
+                }
+                backoff(tryCount);
+            }
+        }
+    }
+
+    private void recordStatements(int statements) {
+        statementLast = statements;
+        statementTotal.addAndGet(statements);
+        statementMax.accumulateAndGet(statements, Math::max);
+    }
+
+    // full jitter: 0 ~ min(max, base * 2^(n-1)) 사이에서 무작위로 대기
+    private void backoff(int tryCount) {
+        long ceiling = Math.min(maxBackoffMs, baseBackoffMs << Math.min(tryCount - 1, 20));
+        if (ceiling <= 0) return;
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(ceiling + 1));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OrderConflictException("주문 재시도 중 중단되었습니다.", e);
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("strategy", strategy.name());
+        stats.put("commits", commitCount.get());
+        stats.put("conflicts", conflictCount.get());
+        stats.put("aborts", abortCount.get());
+        // 주문 하나당 SQL 문장 수: item 개수와 상관없이 일정해야 함
+        stats.put("statementsLast", statementLast);
+        stats.put("statementsMax", statementMax.get());
+        stats.put("statementsAvg", commitCount.get() == 0 ? 0 : (double) statementTotal.get() / commitCount.get());
+        return stats;
+    }
+}
@@ -0,0 +1,212 @@
+package com.devak.mrdaebakdinner.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// 긴 AI 주문 대화를 요청 token 예산 안으로 줄임 (모델 호출 직전, 대화를 잡은 요청 thread에서)
+// 대화 모양: [SYSTEM_PROMPT, 현재 시간, (상태 메시지), user, assistant, user, assistant, ...]
+// - 앞의 두 system 메시지는 그대로 (prompt cache prefix)
+// - 창 안의 턴이 max-turns를 넘거나 예상 token이 token-budget을 넘으면
+//   오래된 턴들을 상태 메시지 하나로 접고 최근 keep-turns턴만 남김
+//   상태 메시지: 최신 extracted_info + 접힌 턴의 고객 발화 요약
+// - 한 번 접으면 다음 몇 턴 동안은 앞부분이 그대로라 prompt cache도 계속 맞음 (매 턴 한 칸씩 밀지 않음)
+// - 그래도 예산을 넘으면(남긴 턴을 다 접어도 입력 자체가 너무 김) IllegalArgumentException
+// token 수는 글자 수로 어림함 (ASCII 4글자당 1, 그 외 글자당 1). 실제 값은 OllamaClient stats의 promptTokens
+@Component
+public class ConversationCompactor {
+
+    static final String STATE_PREFIX = "[이전 대화 요약]";
+
+    private static final int HEAD_SIZE = 2;            // SYSTEM_PROMPT + 현재 시간
+    private static final int MESSAGE_OVERHEAD_TOKENS = 4; // chat template의 role 표시 등
+    private static final int MAX_DIGEST_LINES = 8;      // 상태 메시지에 남길 고객 발화 수
+    private static final int MAX_DIGEST_CHARS = 60;
+    private static final int TRACKED_TURNS = 10;        // 턴별 prompt 크기 지표 (10턴째부터는 한 칸)
+
+    private static final String STATE_INFO_PREFIX = "extracted_info: ";
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final int keepTurns;
+    private final int maxTurns;
+    private final int tokenBudget;
+
+    private final AtomicLong requestCount = new AtomicLong();
+    private final AtomicLong compactionCount = new AtomicLong();
+    private final AtomicLong foldedTurnCount = new AtomicLong();
+    private final AtomicLong overBudgetCount = new AtomicLong();
+    private final AtomicLong maxPromptTokens = new AtomicLong();
+    private final AtomicLongArray promptTokensByTurn = new AtomicLongArray(TRACKED_TURNS);
+    private final AtomicLongArray requestsByTurn = new AtomicLongArray(TRACKED_TURNS);
+
+    public ConversationCompactor(@Value("${ai.conversation.keep-turns:4}") int keepTurns,
+                                 @Value("${ai.conversation.max-turns:8}") int maxTurns,
+                                 @Value("${ai.prompt.token-budget:3500}") int tokenBudget) {
+        if (keepTurns < 0 || maxTurns < keepTurns) {
+            throw new IllegalArgumentException("ai.conversation.max-turns는 keep-turns 이상이어야 합니다.");
+        }
+        this.keepTurns = keepTurns;
+        this.maxTurns = maxTurns;
+        this.tokenBudget = tokenBudget;
+    }
+
+    // userInput을 보내기 전에 호출. 필요하면 conversation을 접음 (tryAcquire()에 성공한 요청만)
+    public void prepare(ConversationStore.Conversation conversation, String userInput) {
+        List<Map<String, String>> messages = conversation.messages();
+        int bodyStart = bodyStart(messages);
+        int windowTurns = (messages.size() - bodyStart) / 2;
+        int inputTokens = messageTokens(userInput);
+        int promptTokens = messagesTokens(messages, 0, messages.size()) + inputTokens;
+
+        if (windowTurns > 0 && (windowTurns > maxTurns || promptTokens > tokenBudget)) {
+            // 최근 keep-turns턴을 남기되(적어도 한 턴은 접음), 그래도 예산을 넘으면 더 접음
+            for (int keep = Math.min(keepTurns, windowTurns - 1); keep >= 0; keep--) {
+                int foldEnd = messages.size() - 2 * keep;
+                Map<String, String> state = stateMessage(messages, bodyStart, foldEnd);
+                int compactedTokens = messagesTokens(messages, 0, HEAD_SIZE)
+                        + messageTokens(state.get("content"))
+                        + messagesTokens(messages, foldEnd, messages.size())
+                        + inputTokens;
+                if (compactedTokens <= tokenBudget || keep == 0) {
+                    conversation.replace(HEAD_SIZE, foldEnd, state);
+                    compactionCount.incrementAndGet();
+                    foldedTurnCount.addAndGet(windowTurns - keep);
+                    promptTokens = compactedTokens;
+                    break;
+                }
+            }
+        }
+
+        record(conversation.turns() + 1, promptTokens);
+        if (promptTokens > tokenBudget) {
+            overBudgetCount.incrementAndGet();
+            throw new IllegalArgumentException("메시지가 너무 깁니다. 나눠서 보내주세요.");
+        }
+    }
+
+    // 접을 메시지 [bodyStart, foldEnd)와 이전 상태 메시지 -> 새 상태 메시지
+    private Map<String, String> stateMessage(List<Map<String, String>> messages, int bodyStart, int foldEnd) {
+        List<String> digest = new ArrayList<>();
+        if (bodyStart > HEAD_SIZE) {
+            for (String line : messages.get(HEAD_SIZE).get("content").split("\n")) {
+                if (line.startsWith("- ")) {
+                    digest.add(line);
+                }
+            }
+        }
+        for (int i = bodyStart; i < foldEnd; i++) {
+            Map<String, String> message = messages.get(i);
+            if ("user".equals(message.get("role"))) {
+                String content = message.get("content").replace('\n', ' ').trim();
+                digest.add("- " + (content.length() > MAX_DIGEST_CHARS
+                        ? content.substring(0, MAX_DIGEST_CHARS) + "…" : content));
+            }
+        }
+        List<String> recent = digest.subList(Math.max(0, digest.size() - MAX_DIGEST_LINES), digest.size());
+
+        StringBuilder content = new StringBuilder(STATE_PREFIX)
+                .append(" 앞선 대화는 아래 상태로 줄였습니다. 이 extracted_info를 이어서 유지하세요.\n")
+                .append(STATE_INFO_PREFIX).append(latestExtractedInfo(messages)).append('\n')
+                .append("고객이 앞서 한 말:");
+        for (String line : recent) {
+            content.append('\n').append(line);
+        }
+        return Map.of("role", "system", "content", content.toString());
+    }
+
+    // 가장 최근 extracted_info (JSON 문자열, 없으면 "null")
+    // assistant 답변에서 찾고, 이미 접혔으면 상태 메시지에 남긴 값 (MenuFaqResponder도 사용)
+    static String latestExtractedInfo(List<Map<String, String>> messages) {
+        for (int i = messages.size() - 1; i >= HEAD_SIZE; i--) {
+            Map<String, String> message = messages.get(i);
+            String content = message.get("content");
+            if ("system".equals(message.get("role")) && content.startsWith(STATE_PREFIX)) {
+                for (String line : content.split("\n")) {
+                    if (line.startsWith(STATE_INFO_PREFIX)) {
+                        return line.substring(STATE_INFO_PREFIX.length());
+                    }
+                }
+            }
+            if (!"assistant".equals(message.get("role"))) {
+                continue;
+            }
+            try {
+                JsonNode info = OBJECT_MAPPER.readTree(content).path("extracted_info");
+                if (info.isObject()) {
+                    return info.toString();
+                }
+            } catch (JsonProcessingException e) {
+                // 깨진 답변은 건너뛰고 그 전 답변에서 찾음
+            }
+        }
+        return "null";
+    }
+
+    private static int bodyStart(List<Map<String, String>> messages) {
+        if (messages.size() > HEAD_SIZE
+                && "system".equals(messages.get(HEAD_SIZE).get("role"))
+                && messages.get(HEAD_SIZE).get("content").startsWith(STATE_PREFIX)) {
+            return HEAD_SIZE + 1;
+        }
+        return HEAD_SIZE;
+    }
+
+    private static int messagesTokens(List<Map<String, String>> messages, int fromIndex, int toIndex) {
+        int tokens = 0;
+        for (int i = fromIndex; i < toIndex; i++) {
+            tokens += messageTokens(messages.get(i).get("content"));
+        }
+        return tokens;
+    }
+
+    static int messageTokens(String content) {
+        int ascii = 0;
+        int other = 0;
+        for (int i = 0; i < content.length(); i++) {
+            if (content.charAt(i) < 128) {
+                ascii++;
+            } else {
+                other++;
+            }
+        }
+        return MESSAGE_OVERHEAD_TOKENS + (ascii + 3) / 4 + other;
+    }
+
+    /* ============ 지표 ============ */
+
+    private void record(int turn, int promptTokens) {
+        requestCount.incrementAndGet();
+        maxPromptTokens.accumulateAndGet(promptTokens, Math::max);
+        int bucket = Math.min(turn, TRACKED_TURNS) - 1;
+        promptTokensByTurn.addAndGet(bucket, promptTokens);
+        requestsByTurn.incrementAndGet(bucket);
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("tokenBudget", (long) tokenBudget);
+        stats.put("requests", requestCount.get());
+        stats.put("compactions", compactionCount.get());
+        stats.put("foldedTurns", foldedTurnCount.get());
+        stats.put("overBudget", overBudgetCount.get());
+        stats.put("maxPromptTokens", maxPromptTokens.get());
+        // 턴 번호별 평균 예상 prompt token (compaction이 잘 되면 턴이 늘어도 평평함)
+        for (int bucket = 0; bucket < TRACKED_TURNS; bucket++) {
+            long requests = requestsByTurn.get(bucket);
+            if (requests > 0) {
+                String turn = bucket == TRACKED_TURNS - 1 ? TRACKED_TURNS + "+" : String.valueOf(bucket + 1);
+                stats.put("avgPromptTokens.turn" + turn, promptTokensByTurn.get(bucket) / requests);
+            }
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,170 @@
+package com.devak.mrdaebakdinner.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// AI 주문 대화 기록 저장소 (key: 고객 loginId)
+// - 마지막으로 쓴 뒤 idle-ttl이 지나면 버림 (DONE까지 가지 않고 떠난 대화)
+// - 대화 기록 전체 크기(byte 추정치) 상한을 넘으면 오래 안 쓴 대화부터 버림
+// - 대화 수 상한: 대화 하나의 무게를 최소 max-bytes / max-entries로 쳐서 같은 byte 상한 안에서 함께 지킴
+//   (Caffeine은 maximumSize와 maximumWeight를 같이 쓸 수 없음)
+// - 대화 하나는 한 번에 한 요청만 다룸 (Conversation.tryAcquire)
+@Component
+public class ConversationStore {
+
+    // 메시지 하나당 Map/String 객체 머리 등 고정 비용 (대략)
+    private static final long MESSAGE_OVERHEAD_BYTES = 96;
+
+    private final Cache<String, Conversation> cache;
+    private final long maxEntries;
+    private final long maxBytes;
+
+    private final AtomicLong createdCount = new AtomicLong();
+    private final AtomicLong completedCount = new AtomicLong();  // DONE으로 끝나서 지운 대화
+    private final AtomicLong expiredCount = new AtomicLong();    // idle-ttl로 버린 대화
+    private final AtomicLong sizeEvictedCount = new AtomicLong(); // 크기/개수 상한으로 버린 대화
+    private final AtomicLong busyCount = new AtomicLong();       // 같은 대화에 요청이 겹쳐서 거절한 횟수
+
+    @Autowired
+    public ConversationStore(@Value("${ai.conversation.idle-ttl-minutes:30}") long idleTtlMinutes,
+                             @Value("${ai.conversation.max-entries:10000}") long maxEntries,
+                             @Value("${ai.conversation.max-bytes:67108864}") long maxBytes) {
+        this(idleTtlMinutes, maxEntries, maxBytes, Ticker.systemTicker());
+    }
+
+    // 테스트에서 시간을 직접 움직일 때 (ticker)
+    ConversationStore(long idleTtlMinutes, long maxEntries, long maxBytes, Ticker ticker) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        long minWeight = Math.max(1, maxBytes / maxEntries);
+        this.cache = Caffeine.newBuilder()
+                .ticker(ticker)
+                .executor(Runnable::run) // 정리/removal listener를 호출한 thread에서 바로 (카운터만 올리므로 가벼움)
+                .expireAfterAccess(Duration.ofMinutes(idleTtlMinutes))
+                .maximumWeight(maxBytes)
+                .weigher((String userId, Conversation conversation) ->
+                        (int) Math.min(Integer.MAX_VALUE, Math.max(minWeight, conversation.bytes)))
+                .removalListener((String userId, Conversation conversation, RemovalCause cause) -> {
+                    if (cause == RemovalCause.EXPIRED) {
+                        expiredCount.incrementAndGet();
+                    } else if (cause == RemovalCause.SIZE) {
+                        sizeEvictedCount.incrementAndGet();
+                    }
+                })
+                .build();
+    }
+
+    // 고객 한 명의 대화 기록. 메시지는 {role, content}
+    public static final class Conversation {
+        private final AtomicBoolean busy = new AtomicBoolean();
+        private final List<Map<String, String>> messages = new ArrayList<>();
+        private volatile long bytes;
+        private int turns; // 지금까지 받은 user 메시지 수 (compaction으로 접힌 턴 포함)
+
+        // 다른 요청이 이 대화를 쓰고 있으면 false (기다리지 않음)
+        // thread에 묶이지 않음: 모델 응답을 받은 다른 thread에서 release해도 됨
+        public boolean tryAcquire() {
+            return busy.compareAndSet(false, true);
+        }
+
+        public void release() {
+            busy.set(false);
+        }
+
+        // 아래는 tryAcquire()에 성공한 요청만 호출 (acquire/release가 메모리 가시성도 보장)
+        public boolean isEmpty() {
+            return messages.isEmpty();
+        }
+
+        public List<Map<String, String>> messages() {
+            return Collections.unmodifiableList(messages);
+        }
+
+        public void append(String role, String content) {
+            messages.add(Map.of("role", role, "content", content));
+            bytes += messageBytes(role, content);
+            if ("user".equals(role)) {
+                turns++;
+            }
+        }
+
+        // messages[fromIndex, toIndex)를 메시지 하나로 바꿈 (ConversationCompactor)
+        public void replace(int fromIndex, int toIndex, Map<String, String> replacement) {
+            messages.subList(fromIndex, toIndex).clear();
+            messages.add(fromIndex, replacement);
+            long total = 0;
+            for (Map<String, String> message : messages) {
+                total += messageBytes(message.get("role"), message.get("content"));
+            }
+            bytes = total;
+        }
+
+        public int turns() {
+            return turns;
+        }
+
+        private static long messageBytes(String role, String content) {
+            return MESSAGE_OVERHEAD_BYTES + 2L * (role.length() + content.length());
+        }
+
+        public long bytes() {
+            return bytes;
+        }
+    }
+
+    /* ============ 조회/갱신 ============ */
+
+    public Conversation getOrCreate(String userId) {
+        return cache.get(userId, key -> {
+            createdCount.incrementAndGet();
+            return new Conversation();
+        });
+    }
+
+    // 대화에 메시지를 붙인 뒤 호출 -> 늘어난 크기를 상한 계산에 반영 (그 사이 버려진 대화면 다시 넣지 않음)
+    public void update(String userId, Conversation conversation) {
+        cache.asMap().replace(userId, conversation, conversation);
+    }
+
+    // 주문이 끝난 대화 삭제
+    public void complete(String userId) {
+        if (cache.asMap().remove(userId) != null) {
+            completedCount.incrementAndGet();
+        }
+    }
+
+    public void recordBusy() {
+        busyCount.incrementAndGet();
+    }
+
+    public Map<String, Long> stats() {
+        cache.cleanUp(); // 만료된 대화를 지금 정리해서 현재 점유량을 보여줌
+        Map<String, Long> result = new LinkedHashMap<>();
+        result.put("conversations", cache.estimatedSize());
+        result.put("maxConversations", maxEntries);
+        result.put("weightedBytes", cache.policy().eviction()
+                .map(eviction -> eviction.weightedSize().orElse(0L))
+                .orElse(0L));
+        result.put("maxBytes", maxBytes);
+        result.put("created", createdCount.get());
+        result.put("completed", completedCount.get());
+        result.put("expired", expiredCount.get());
+        result.put("sizeEvicted", sizeEvictedCount.get());
+        result.put("busy", busyCount.get());
+        return result;
+    }
+}
@@ -0,0 +1,166 @@
+package com.devak.mrdaebakdinner.service;
+
+import com.devak.mrdaebakdinner.entity.InventoryEntity;
+import com.devak.mrdaebakdinner.entity.OrderItemEntity;
+import com.devak.mrdaebakdinner.exception.InsufficientInventoryException;
+import com.devak.mrdaebakdinner.repository.InventoryRepository;
+import jakarta.transaction.Transactional;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// inventory 테이블이 곧 재고 (inventory.engine=database, 기본값)
+// 차감 방식은 CheckoutConcurrencyPolicy의 strategy를 따름
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "inventory.engine", havingValue = "database", matchIfMissing = true)
+public class DatabaseInventoryEngine implements InventoryEngine {
+
+    private final InventoryRepository inventoryRepository;
+    private final ItemCatalog itemCatalog;
+    private final CheckoutConcurrencyPolicy checkoutConcurrencyPolicy;
+
+    private final AtomicLong reservedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    // 주문된 item들의 재고 차감 (checkout.concurrency에 따라 방식이 다름)
+    // 하나라도 부족하면 부족한 item 목록을 담아 InsufficientInventoryException (-> 트랜잭션 전체 롤백)
+    @Override
+    @Transactional
+    public void reserve(List<OrderItemEntity> orderItems) {
+        // item_id 순으로 처리해서 동시 주문끼리 항상 같은 순서로 행 잠금을 잡도록 함 (deadlock 방지)
+        List<OrderItemEntity> sorted = orderItems.stream()
+                .filter(oi -> oi.getQuantity() > 0) // 0개인 item은 차감할 필요 없음
+                .sorted(Comparator.comparing(oi -> oi.getId().getItemId()))
+                .toList();
+
+        switch (checkoutConcurrencyPolicy.strategy()) {
+            case CONDITIONAL -> reserveConditionally(sorted);
+            case OPTIMISTIC -> reserveLoaded(sorted, inventoryRepository.findAllByItemIdIn(itemIdsOf(sorted)));
+            case PESSIMISTIC -> reserveLoaded(sorted, inventoryRepository.findAllForUpdateByItemIdIn(itemIdsOf(sorted)));
+        }
+        reservedCount.incrementAndGet();
+    }
+
+    // conditional: 주문 item 전체를 조건부 UPDATE 한 문장으로 차감 (item 수와 상관없이 한 번의 round trip)
+    // - 전부 반영: 성공
+    // - 일부만 반영: 동시 주문과 겹쳐 행마다 다른 시점의 재고를 본 경우. 다시 읽어 봐야 이미 차감된 값이라 판단할 수 없으므로
+    //   바로 충돌로 처리 (롤백 -> CheckoutConcurrencyPolicy가 재시도)
+    // - 하나도 반영 안 됨: 차감 전과 같은 재고이므로 다시 읽어서 부족한 item을 보고 (예외 -> 롤백)
+    private void reserveConditionally(List<OrderItemEntity> sorted) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItemEntity oi : sorted) {
+            quantities.put(oi.getId().getItemId(), oi.getQuantity());
+        }
+        int updated = inventoryRepository.decreaseAllIfEnough(quantities);
+        if (updated == quantities.size()) {
+            return;
+        }
+        if (updated > 0) {
+            throw new OptimisticLockingFailureException("재고 차감 중 동시 주문과 충돌했습니다.");
+        }
+
+        List<InventoryEntity> inventoryEntities = inventoryRepository.findAllByItemIdIn(quantities.keySet());
+        Map<Long, InventoryEntity> stockMap = toStockMap(inventoryEntities);
+        List<OrderItemEntity> failed = sorted.stream()
+                .filter(oi -> {
+                    InventoryEntity inventoryEntity = stockMap.get(oi.getId().getItemId());
+                    return inventoryEntity == null || inventoryEntity.getStockQuantity() < oi.getQuantity();
+                })
+                .toList();
+        if (failed.isEmpty()) {
+            // UPDATE 이후 다른 주문이 재고를 채운 경우: 다시 시도하면 반영될 수 있으므로 충돌로 처리
+            throw new OptimisticLockingFailureException("재고 차감 중 동시 주문과 충돌했습니다.");
+        }
+        throwInsufficient(failed, inventoryEntities);
+    }
+
+    // optimistic / pessimistic: 한 번에 읽어온 재고 행에서 차감 (변경은 dirty checking으로 반영)
+    // optimistic이면 commit 시 @Version 충돌 -> CheckoutConcurrencyPolicy가 재시도
+    private void reserveLoaded(List<OrderItemEntity> sorted, List<InventoryEntity> inventoryEntities) {
+        Map<Long, InventoryEntity> stockMap = toStockMap(inventoryEntities);
+        List<OrderItemEntity> failed = new ArrayList<>();
+        for (OrderItemEntity oi : sorted) {
+            InventoryEntity inventoryEntity = stockMap.get(oi.getId().getItemId());
+            if (inventoryEntity == null || inventoryEntity.getStockQuantity() < oi.getQuantity()) {
+                failed.add(oi);
+            }
+        }
+        if (!failed.isEmpty()) {
+            throwInsufficient(failed, inventoryEntities);
+        }
+        for (OrderItemEntity oi : sorted) {
+            InventoryEntity inventoryEntity = stockMap.get(oi.getId().getItemId());
+            inventoryEntity.setStockQuantity(inventoryEntity.getStockQuantity() - oi.getQuantity());
+        }
+    }
+
+    private void throwInsufficient(List<OrderItemEntity> failed, List<InventoryEntity> inventoryEntities) {
+        rejectedCount.incrementAndGet();
+        Map<Long, InventoryEntity> stockMap = toStockMap(inventoryEntities);
+
+        List<String> insufficientItems = new ArrayList<>(); // 부족한 재고의 이름을 모은 리스트
+        for (OrderItemEntity oi : failed) {
+            String itemName = itemCatalog.findById(oi.getId().getItemId()).name();
+            InventoryEntity inventoryEntity = stockMap.get(oi.getId().getItemId());
+            // item이 재고에 등록됐는지 검사
+            if (inventoryEntity == null) {
+                throw new IllegalArgumentException("재고에 등록되지 않은 item입니다." + itemName);
+            }
+            insufficientItems.add(itemName + " (요청: " + oi.getQuantity() +
+                    ", 보유: " + inventoryEntity.getStockQuantity() + ")\n");
+        }
+        throw new InsufficientInventoryException("재고가 부족합니다", insufficientItems);
+    }
+
+    private static List<Long> itemIdsOf(List<OrderItemEntity> orderItems) {
+        return orderItems.stream().map(oi -> oi.getId().getItemId()).toList();
+    }
+
+    private static Map<Long, InventoryEntity> toStockMap(List<InventoryEntity> inventoryEntities) {
+        return inventoryEntities.stream()
+                .collect(Collectors.toMap(InventoryEntity::getItemId, Function.identity()));
+    }
+
+    @Override
+    public Map<Long, Integer> findAllStock() {
+        Map<Long, Integer> stock = new LinkedHashMap<>();
+        for (InventoryRepository.StockRow row : inventoryRepository.findAllStockByOrderByItemIdAsc()) {
+            stock.put(row.getItemId(), row.getStockQuantity());
+        }
+        return stock;
+    }
+
+    @Override
+    public void increase(Long itemId, int amount) {
+        InventoryEntity inventoryEntity = findInventory(itemId);
+        inventoryEntity.setStockQuantity(inventoryEntity.getStockQuantity() + amount);
+        inventoryRepository.save(inventoryEntity);
+    }
+
+    @Override
+    public void decrease(Long itemId, int amount) {
+        InventoryEntity inventoryEntity = findInventory(itemId);
+        inventoryEntity.setStockQuantity(Math.max(0, inventoryEntity.getStockQuantity() - amount));
+        inventoryRepository.save(inventoryEntity);
+    }
+
+    @Override
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("reserved", reservedCount.get());
+        stats.put("rejected", rejectedCount.get());
+        return stats;
+    }
+
+    private InventoryEntity findInventory(Long itemId) {
+        return inventoryRepository.findByItemId(itemId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 item입니다."));
+    }
+}
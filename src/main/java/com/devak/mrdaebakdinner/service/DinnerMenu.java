@@ -0,0 +1,81 @@
+package com.devak.mrdaebakdinner.service;
+
+import com.devak.mrdaebakdinner.dto.OrderItemDTO;
+import com.devak.mrdaebakdinner.entity.OrderDnrKind;
+import com.devak.mrdaebakdinner.entity.OrderDnrStyle;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+// 디너 메뉴/스타일 고정 정보 (기본 구성 item, 설명)
+// AiOrderService.SYSTEM_PROMPT의 표/설명과 같은 내용 -> 한쪽을 바꾸면 다른 쪽도 같이 바꿀 것
+public final class DinnerMenu {
+
+    private DinnerMenu() {
+    }
+
+    // 메뉴별 기본 구성 item slot과 수량 (slot, 수량 순서로 번갈아)
+    private static final Map<OrderDnrKind, int[]> BASE_ITEMS = new EnumMap<>(Map.of(
+            OrderDnrKind.VALENTINE, new int[]{OrderItemDTO.WINE, 1, OrderItemDTO.STEAK, 1},
+            OrderDnrKind.FRENCH, new int[]{OrderItemDTO.COFFEE_CUP, 1, OrderItemDTO.WINE, 1,
+                    OrderItemDTO.SALAD, 1, OrderItemDTO.STEAK, 1},
+            OrderDnrKind.ENGLISH, new int[]{OrderItemDTO.EGGSCRAMBLE, 1, OrderItemDTO.BACON, 1,
+                    OrderItemDTO.BREAD, 1, OrderItemDTO.STEAK, 1},
+            OrderDnrKind.CHAMPAGNE, new int[]{OrderItemDTO.CHAMPAGNE, 1, OrderItemDTO.BAGUETTE, 4,
+                    OrderItemDTO.COFFEE_POT, 1, OrderItemDTO.WINE, 1, OrderItemDTO.STEAK, 1}
+    ));
+
+    private static final Map<OrderDnrKind, String> DINNER_DESCRIPTIONS = new EnumMap<>(Map.of(
+            OrderDnrKind.VALENTINE, "사랑하는 연인을 위한 가장 완벽한 선택. 섬세한 큐피드와 하트 장식으로 포인트를 준 플레이트 위에서 펼쳐지는 와인과 스테이크의 우아한 조화.",
+            OrderDnrKind.FRENCH, "프렌치 다이닝의 정수. 샐러드부터 시작하여 스테이크, 와인, 커피로 이어지는 미식의 절정.",
+            OrderDnrKind.ENGLISH, "영국의 맛을 대표하는 4가지 메뉴의 조화. 부드러운 에그 스크램블, 베이컨, 빵, 풍미 깊은 스테이크.",
+            OrderDnrKind.CHAMPAGNE, "두 분을 위한 완벽한 축하 테이블. 샴페인 1병, 바삭한 바게트 빵 4개, 와인, 메인 스테이크, 그리고 커피 1포트까지."
+    ));
+
+    private static final Map<OrderDnrStyle, String> STYLE_DESCRIPTIONS = new EnumMap<>(Map.of(
+            OrderDnrStyle.SIMPLE, "플라스틱 식기와 종이 냅킨, 플라스틱 와인잔이 제공되는 기본 서비스입니다.",
+            OrderDnrStyle.GRAND, "도자기 식기와 면 냅킨, 플라스틱 와인잔이 나무 쟁반에 제공되어 격식 있는 분위기를 연출합니다.",
+            OrderDnrStyle.DELUXE, "작은 꽃병과 유리 와인잔이 추가되어, 린넨 냅킨과 함께 나무 쟁반에 제공되는 서비스입니다."
+    ));
+
+    // OrderItemDTO.ITEM_NAMES 순서
+    private static final List<String> ITEM_DISPLAY_NAMES = List.of(
+            "와인", "스테이크", "커피(잔)", "커피(포트)", "샐러드", "에그 스크램블", "베이컨", "빵", "바게트 빵", "샴페인");
+
+    // 기본 구성 item의 slot들
+    public static int[] baseItemSlots(OrderDnrKind kind) {
+        int[] base = BASE_ITEMS.get(kind);
+        int[] slots = new int[base.length / 2];
+        for (int i = 0; i < slots.length; i++) {
+            slots[i] = base[2 * i];
+        }
+        return slots;
+    }
+
+    // "와인 1, 스테이크 1"
+    public static String baseItemsText(OrderDnrKind kind) {
+        int[] base = BASE_ITEMS.get(kind);
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < base.length; i += 2) {
+            if (i > 0) {
+                text.append(", ");
+            }
+            text.append(ITEM_DISPLAY_NAMES.get(base[i])).append(' ').append(base[i + 1]);
+        }
+        return text.toString();
+    }
+
+    public static String description(OrderDnrKind kind) {
+        return DINNER_DESCRIPTIONS.get(kind);
+    }
+
+    public static String description(OrderDnrStyle style) {
+        return STYLE_DESCRIPTIONS.get(style);
+    }
+
+    // CHAMPAGNE 디너는 SIMPLE 스타일 불가 (OrderPricing.validate와 같은 규칙)
+    public static boolean isAvailable(OrderDnrKind kind, OrderDnrStyle style) {
+        return !(kind == OrderDnrKind.CHAMPAGNE && style == OrderDnrStyle.SIMPLE);
+    }
+}
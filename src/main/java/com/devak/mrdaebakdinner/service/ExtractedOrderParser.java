@@ -0,0 +1,167 @@
+package com.devak.mrdaebakdinner.service;
+
+import com.devak.mrdaebakdinner.dto.OrderDTO;
+import com.devak.mrdaebakdinner.dto.OrderItemDTO;
+import com.devak.mrdaebakdinner.entity.OrderDnrKind;
+import com.devak.mrdaebakdinner.entity.OrderDnrStyle;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.springframework.stereotype.Component;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// DONE 턴의 extracted_info를 모델 호출 없이 최종 주문으로 바꿈
+// { "menu", "style", "items": {item: 수량}, "reservation_time", "delivery_address", "card_number" }
+// - 엄격하게 검사: 모르는 메뉴/스타일/item, 정수가 아닌 수량, 빠진 필드, 메뉴 기본 구성 item이 0개 등은 전부 거절
+// - 거절하면 IllegalArgumentException -> AiOrderService가 예전처럼 주문 추출 모델 호출로 넘어감 (fallback)
+// - 어떤 필드 때문에 fallback했는지 세어 둠 (stats)
+@Component
+public class ExtractedOrderParser {
+
+    // 한 item 최대 수량 (대화 중 숫자를 잘못 옮긴 값 걸러내기)
+    static final int MAX_ITEM_QUANTITY = 99;
+
+    private static final Pattern RESERVATION_TIME =
+            Pattern.compile("(\\d{4})년\\s*(\\d{1,2})월\\s*(\\d{1,2})일\\s*(\\d{1,2})시");
+    private static final Pattern CARD_NUMBER = Pattern.compile("[0-9][0-9 -]*[0-9]");
+
+    // fallback 원인 (처음 걸린 필드 하나만 셈)
+    enum Field {
+        MENU, STYLE, ITEMS, RESERVATION_TIME, DELIVERY_ADDRESS, CARD_NUMBER, COMBINATION
+    }
+
+    private final AtomicLong parsedCount = new AtomicLong();
+    private final AtomicLong fallbackCount = new AtomicLong();
+    private final AtomicLongArray fallbackByField = new AtomicLongArray(Field.values().length);
+
+    // extracted_info -> DONE 응답 (menu, style, items, deliveryAddress, cardNumber, reservationTime, message)
+    public Map<String, Object> toDoneResult(JsonNode extractedInfo, String message) {
+        if (extractedInfo == null || !extractedInfo.isObject()) {
+            throw reject(Field.MENU, "extracted_info가 없습니다.");
+        }
+        OrderDnrKind menu = enumValue(OrderDnrKind.class, extractedInfo.get("menu"), Field.MENU);
+        OrderDnrStyle style = enumValue(OrderDnrStyle.class, extractedInfo.get("style"), Field.STYLE);
+        OrderItemDTO items = items(extractedInfo.get("items"), menu);
+        String reservationTime = reservationTime(extractedInfo.get("reservation_time"));
+        String deliveryAddress = requiredText(extractedInfo.get("delivery_address"), Field.DELIVERY_ADDRESS);
+        String cardNumber = requiredText(extractedInfo.get("card_number"), Field.CARD_NUMBER);
+        if (!CARD_NUMBER.matcher(cardNumber).matches()) {
+            throw reject(Field.CARD_NUMBER, "카드 번호 형식이 아닙니다.");
+        }
+
+        // 일반 주문과 같은 규칙 (CHAMPAGNE + SIMPLE, 전부 0개)
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.setDinnerKind(menu);
+        orderDTO.setDinnerStyle(style);
+        try {
+            OrderPricing.validate(orderDTO, items);
+        } catch (IllegalArgumentException e) {
+            throw reject(Field.COMBINATION, e.getMessage());
+        }
+
+        parsedCount.incrementAndGet();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("status", "DONE");
+        result.put("menu", menu.name());
+        result.put("style", style.name());
+        result.put("items", items.getOrderItems());
+        result.put("deliveryAddress", deliveryAddress);
+        result.put("cardNumber", cardNumber);
+        result.put("reservationTime", reservationTime);
+        result.put("message", message);
+        return result;
+    }
+
+    /* ============ 필드별 검사 ============ */
+
+    private <E extends Enum<E>> E enumValue(Class<E> type, JsonNode node, Field field) {
+        String value = requiredText(node, field);
+        try {
+            return Enum.valueOf(type, value.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw reject(field, "알 수 없는 값입니다: " + value);
+        }
+    }
+
+    // 모든 key가 우리 item이고 값은 0 ~ MAX_ITEM_QUANTITY 정수. 빠진 item은 0
+    private OrderItemDTO items(JsonNode node, OrderDnrKind menu) {
+        if (node == null || !node.isObject()) {
+            throw reject(Field.ITEMS, "items가 없습니다.");
+        }
+        OrderItemDTO items = new OrderItemDTO();
+        for (Map.Entry<String, JsonNode> entry : node.properties()) {
+            int slot = OrderItemDTO.slotOf(entry.getKey());
+            if (slot < 0) {
+                throw reject(Field.ITEMS, "없는 item입니다: " + entry.getKey());
+            }
+            JsonNode quantity = entry.getValue();
+            if (quantity.isNull()) {
+                continue;
+            }
+            if (!quantity.isIntegralNumber() || !quantity.canConvertToInt()
+                    || quantity.intValue() < 0 || quantity.intValue() > MAX_ITEM_QUANTITY) {
+                throw reject(Field.ITEMS, entry.getKey() + " 수량이 잘못되었습니다: " + quantity);
+            }
+            items.setQuantity(slot, quantity.intValue());
+        }
+        // 메뉴 기본 구성 item은 1개 이상
+        for (int slot : DinnerMenu.baseItemSlots(menu)) {
+            if (items.quantity(slot) < 1) {
+                throw reject(Field.ITEMS, menu + " 기본 구성 item이 빠졌습니다: " + OrderItemDTO.ITEM_NAMES.get(slot));
+            }
+        }
+        return items;
+    }
+
+    // "YYYY년 MM월 DD일 H시" 이면서 실제로 있는 날짜/시각
+    private String reservationTime(JsonNode node) {
+        String value = requiredText(node, Field.RESERVATION_TIME);
+        Matcher matcher = RESERVATION_TIME.matcher(value);
+        if (!matcher.matches()) {
+            throw reject(Field.RESERVATION_TIME, "예약 시간 형식이 아닙니다: " + value);
+        }
+        try {
+            LocalDate.of(Integer.parseInt(matcher.group(1)),
+                    Integer.parseInt(matcher.group(2)),
+                    Integer.parseInt(matcher.group(3)));
+        } catch (DateTimeException e) {
+            throw reject(Field.RESERVATION_TIME, "없는 날짜입니다: " + value);
+        }
+        if (Integer.parseInt(matcher.group(4)) > 23) {
+            throw reject(Field.RESERVATION_TIME, "없는 시각입니다: " + value);
+        }
+        return value;
+    }
+
+    private String requiredText(JsonNode node, Field field) {
+        if (node == null || !node.isTextual() || node.asText().isBlank()) {
+            throw reject(field, field + " 값이 없습니다.");
+        }
+        return node.asText().trim();
+    }
+
+    private IllegalArgumentException reject(Field field, String reason) {
+        fallbackCount.incrementAndGet();
+        fallbackByField.incrementAndGet(field.ordinal());
+        return new IllegalArgumentException(reason);
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        long parsed = parsedCount.get();
+        long fallback = fallbackCount.get();
+        stats.put("parsed", parsed);
+        stats.put("fallback", fallback);
+        stats.put("fallbackPercent", parsed + fallback == 0 ? 0 : fallback * 100 / (parsed + fallback));
+        for (Field field : Field.values()) {
+            stats.put("fallback." + field.name(), fallbackByField.get(field.ordinal()));
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,25 @@
+package com.devak.mrdaebakdinner.service;
+
+import com.devak.mrdaebakdinner.entity.OrderItemEntity;
+
+import java.util.List;
+import java.util.Map;
+
+// 재고의 실제 저장소(source of truth)
+// inventory.engine=database (기본): inventory 테이블을 조건부 UPDATE로 직접 차감
+// inventory.engine=ledger: 메모리 ledger에서 차감하고 inventory 테이블에는 모아서 반영 (write-behind)
+public interface InventoryEngine {
+
+    // 주문된 item들의 재고 차감. 하나라도 부족하면 InsufficientInventoryException (아무것도 차감 안 됨)
+    void reserve(List<OrderItemEntity> orderItems);
+
+    // itemId 오름차순 (key: itemId, value: 재고 수량)
+    Map<Long, Integer> findAllStock();
+
+    void increase(Long itemId, int amount);
+
+    // 0 밑으로는 내려가지 않음
+    void decrease(Long itemId, int amount);
+
+    Map<String, Long> stats();
+}
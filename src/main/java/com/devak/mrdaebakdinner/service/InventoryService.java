@@ -1,38 +1,43 @@
 package com.devak.mrdaebakdinner.service;
 
 import com.devak.mrdaebakdinner.dto.InventoryDTO;
-import com.devak.mrdaebakdinner.entity.InventoryEntity;
+import com.devak.mrdaebakdinner.entity.OrderItemEntity;
 import com.devak.mrdaebakdinner.mapper.InventoryMapper;
-import com.devak.mrdaebakdinner.repository.InventoryRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 
+// 재고 조회/변경은 모두 InventoryEngine을 거침
+// (주문 차감과 직원 재고 페이지가 같은 source of truth를 보도록)
 @Service
 @RequiredArgsConstructor
 public class InventoryService {
 
-    private final InventoryRepository inventoryRepository;
+    private final InventoryEngine inventoryEngine;
+    private final ItemCatalog itemCatalog;
 
     public List<InventoryDTO> findAllInventory() {
-        return inventoryRepository.findAllByOrderByItemIdAsc()
+        return inventoryEngine.findAllStock()
+                .entrySet()
                 .stream()
-                .map(InventoryMapper::toInventoryDTO)
+                .map(entry -> InventoryMapper.toInventoryDTO(entry.getKey(), entry.getValue(), itemCatalog))
                 .toList();
     }
 
     public void increaseCount(Long itemId, int amount) {
-        InventoryEntity inventoryEntity = inventoryRepository.findByItemId(itemId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 item입니다."));
-        inventoryEntity.setStockQuantity(inventoryEntity.getStockQuantity() + amount);
-        inventoryRepository.save(inventoryEntity);
+        inventoryEngine.increase(itemId, amount);
     }
 
     public void decreaseCount(Long itemId, int amount) {
-        InventoryEntity inventoryEntity = inventoryRepository.findByItemId(itemId)
-                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 item입니다."));
-        inventoryEntity.setStockQuantity(Math.max(0, inventoryEntity.getStockQuantity() - amount));
-        inventoryRepository.save(inventoryEntity);
+        inventoryEngine.decrease(itemId, amount);
+    }
+
+    /* ============ 주문 시 재고 차감 ============ */
+
+    // 주문된 item들의 재고 차감
+    // 하나라도 부족하면 부족한 item 목록을 담아 InsufficientInventoryException (-> 트랜잭션 전체 롤백)
+    public void reserve(List<OrderItemEntity> orderItems) {
+        inventoryEngine.reserve(orderItems);
     }
 }
@@ -0,0 +1,109 @@
+package com.devak.mrdaebakdinner.service;
+
+import com.devak.mrdaebakdinner.dto.OrderItemDTO;
+import com.devak.mrdaebakdinner.entity.ItemEntity;
+import com.devak.mrdaebakdinner.repository.ItemRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// item 테이블(이름, 단가)을 메모리에 올려둔 catalog
+// 주문/재고/주문상세에서 item을 찾을 때마다 DB를 치지 않도록 불변 snapshot을 통째로 교체하는 방식으로 관리
+@Component
+@RequiredArgsConstructor
+public class ItemCatalog {
+
+    private final ItemRepository itemRepository;
+
+    private final AtomicReference<Snapshot> current = new AtomicReference<>();
+    private final AtomicLong hitCount = new AtomicLong();     // snapshot에서 바로 찾은 횟수
+    private final AtomicLong missCount = new AtomicLong();    // snapshot에 없어서 DB를 다시 읽은 횟수
+    private final AtomicLong rebuildCount = new AtomicLong(); // snapshot을 다시 만든 횟수 (= item 테이블 조회 횟수)
+
+    // 한 시점의 item 목록. 만들어진 뒤에는 바뀌지 않음
+    // bySlot: OrderItemDTO의 slot 순번으로 찾는 item (catalog에 없는 slot은 null). 수정하지 말고 읽기만 할 것
+    public record Snapshot(long version, Map<String, Item> byName, Map<Long, Item> byId, Item[] bySlot) {
+    }
+
+    // slot: OrderItemDTO에서의 순번 (주문 폼에 없는 item이면 -1)
+    public record Item(Long id, String name, int unitPrice, int slot) {
+    }
+
+    // 초기 데이터(Flyway V3 seed)까지 반영된 뒤에 첫 snapshot 생성
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        refresh();
+    }
+
+    /* ============ 조회 ============ */
+
+    public Snapshot snapshot() {
+        Snapshot snapshot = current.get();
+        return snapshot != null ? snapshot : refresh();
+    }
+
+    // 이름으로 item 찾기. snapshot에 없으면 한 번만 다시 읽어보고 그래도 없으면 null
+    public Item findByName(String name) {
+        Item item = snapshot().byName().get(name);
+        if (item != null) {
+            hitCount.incrementAndGet();
+            return item;
+        }
+        missCount.incrementAndGet();
+        return refresh().byName().get(name);
+    }
+
+    // itemId로 item 찾기. snapshot에 없으면 한 번만 다시 읽어보고 그래도 없으면 null
+    public Item findById(Long itemId) {
+        Item item = snapshot().byId().get(itemId);
+        if (item != null) {
+            hitCount.incrementAndGet();
+            return item;
+        }
+        missCount.incrementAndGet();
+        return refresh().byId().get(itemId);
+    }
+
+    /* ============ 갱신 ============ */
+
+    // item 테이블을 다시 읽어 snapshot을 통째로 교체
+    // 읽는 쪽은 항상 완성된 snapshot 하나만 보게 됨
+    public synchronized Snapshot refresh() {
+        Map<String, Item> byName = new LinkedHashMap<>();
+        Map<Long, Item> byId = new LinkedHashMap<>();
+        Item[] bySlot = new Item[OrderItemDTO.ITEM_NAMES.size()];
+        for (ItemEntity itemEntity : itemRepository.findAll()) {
+            int slot = OrderItemDTO.slotOf(itemEntity.getName());
+            Item item = new Item(itemEntity.getId(), itemEntity.getName(), itemEntity.getUnitPrice(), slot);
+            byName.put(item.name(), item);
+            byId.put(item.id(), item);
+            if (slot >= 0) {
+                bySlot[slot] = item;
+            }
+        }
+
+        Snapshot previous = current.get();
+        long version = previous == null ? 1 : previous.version() + 1;
+        Snapshot snapshot = new Snapshot(version, Map.copyOf(byName), Map.copyOf(byId), bySlot);
+        current.set(snapshot);
+        rebuildCount.incrementAndGet();
+        return snapshot;
+    }
+
+    public Map<String, Long> stats() {
+        Snapshot snapshot = current.get();
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("version", snapshot == null ? 0 : snapshot.version());
+        stats.put("size", snapshot == null ? 0L : snapshot.byId().size());
+        stats.put("hits", hitCount.get());
+        stats.put("misses", missCount.get());
+        stats.put("rebuilds", rebuildCount.get());
+        return stats;
+    }
+}
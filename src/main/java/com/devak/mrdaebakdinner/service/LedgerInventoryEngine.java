@@ -0,0 +1,258 @@
+package com.devak.mrdaebakdinner.service;
+
+import com.devak.mrdaebakdinner.entity.InventoryJournalEntity;
+import com.devak.mrdaebakdinner.entity.OrderItemEntity;
+import com.devak.mrdaebakdinner.exception.InsufficientInventoryException;
+import com.devak.mrdaebakdinner.repository.InventoryJournalRepository;
+import com.devak.mrdaebakdinner.repository.InventoryRepository;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 메모리 ledger가 재고 (inventory.engine=ledger)
+// - 주문 승인/거절은 item별 AtomicInteger CAS로만 판단 -> inventory 행 잠금 없음
+// - 변화량은 주문 트랜잭션 안에서 inventory_journal에 INSERT만 하고,
+//   flush()가 주기적으로 item별 순변화량을 모아 inventory 테이블에 반영 (write-behind)
+// - 재시작하면 inventory.stock_quantity + 미반영 journal 합계로 ledger 복구
+// 재고를 JVM 메모리에 들고 있으므로 애플리케이션 인스턴스가 하나일 때만 사용할 것
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "inventory.engine", havingValue = "ledger")
+public class LedgerInventoryEngine implements InventoryEngine {
+
+    private final InventoryRepository inventoryRepository;
+    private final InventoryJournalRepository inventoryJournalRepository;
+    private final ItemCatalog itemCatalog;
+    private final TransactionTemplate transactionTemplate;
+    private final int flushBatchSize;
+
+    private final ConcurrentHashMap<Long, AtomicInteger> ledger = new ConcurrentHashMap<>(); // key: itemId
+    private final Object flushLock = new Object(); // load()와 flush()는 동시에 돌지 않음
+    private volatile boolean loaded = false;
+
+    private final AtomicLong reservedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong flushCount = new AtomicLong();
+    private final AtomicLong flushedRowCount = new AtomicLong();
+    private volatile long lastFlushMillis = 0;
+
+    public LedgerInventoryEngine(InventoryRepository inventoryRepository,
+                                 InventoryJournalRepository inventoryJournalRepository,
+                                 ItemCatalog itemCatalog,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${inventory.ledger.flush-batch-size:500}") int flushBatchSize) {
+        this.inventoryRepository = inventoryRepository;
+        this.inventoryJournalRepository = inventoryJournalRepository;
+        this.itemCatalog = itemCatalog;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.flushBatchSize = flushBatchSize;
+    }
+
+    /* ============ 복구 ============ */
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void init() {
+        ensureLoaded();
+    }
+
+    // inventory 테이블 + 아직 반영 안 된 journal 합계로 ledger를 채움
+    private void ensureLoaded() {
+        if (loaded) return;
+        synchronized (flushLock) {
+            if (loaded) return;
+            transactionTemplate.executeWithoutResult(status -> {
+                Map<Long, Integer> pending = new HashMap<>();
+                for (Object[] row : inventoryJournalRepository.sumDeltaByItemId()) {
+                    pending.put((Long) row[0], ((Number) row[1]).intValue());
+                }
+                for (InventoryRepository.StockRow row : inventoryRepository.findAllStockByOrderByItemIdAsc()) {
+                    int stock = row.getStockQuantity() + pending.getOrDefault(row.getItemId(), 0);
+                    ledger.put(row.getItemId(), new AtomicInteger(stock));
+                }
+                log.info("inventory ledger 복구: item {}개, 미반영 journal item {}개", ledger.size(), pending.size());
+            });
+            loaded = true;
+        }
+    }
+
+    /* ============ 주문 ============ */
+
+    @Override
+    @Transactional
+    public void reserve(List<OrderItemEntity> orderItems) {
+        ensureLoaded();
+        // item_id 순으로 차감 (부분 차감 상태가 보이는 순서를 일정하게)
+        List<OrderItemEntity> sorted = orderItems.stream()
+                .filter(oi -> oi.getQuantity() > 0) // 0개인 item은 차감할 필요 없음
+                .sorted(Comparator.comparing(oi -> oi.getId().getItemId()))
+                .toList();
+
+        Map<Long, Integer> taken = new LinkedHashMap<>(); // 이미 차감한 것 (실패 시 되돌림)
+        List<String> insufficientItems = new ArrayList<>(); // 부족한 재고의 이름을 모은 리스트
+        for (OrderItemEntity oi : sorted) {
+            Long itemId = oi.getId().getItemId();
+            AtomicInteger stock = ledger.get(itemId);
+            // item이 재고에 등록됐는지 검사
+            if (stock == null) {
+                release(taken);
+                throw new IllegalArgumentException("재고에 등록되지 않은 item입니다." + itemCatalog.findById(itemId).name());
+            }
+            int shortage = tryTake(stock, oi.getQuantity());
+            if (shortage >= 0) {
+                insufficientItems.add(itemCatalog.findById(itemId).name() + " (요청: " + oi.getQuantity() +
+                        ", 보유: " + shortage + ")\n");
+                continue;
+            }
+            taken.put(itemId, oi.getQuantity());
+        }
+
+        // 재고가 부족한 게 있었다면 차감한 것을 되돌리고 예외 호출
+        if (!insufficientItems.isEmpty()) {
+            release(taken);
+            rejectedCount.incrementAndGet();
+            throw new InsufficientInventoryException("재고가 부족합니다", insufficientItems);
+        }
+
+        // 주문 트랜잭션이 롤백되면 메모리 차감도 되돌림
+        releaseOnRollback(taken);
+        List<InventoryJournalEntity> journal = new ArrayList<>();
+        taken.forEach((itemId, quantity) -> journal.add(new InventoryJournalEntity(itemId, -quantity)));
+        inventoryJournalRepository.saveAll(journal);
+        reservedCount.incrementAndGet();
+    }
+
+    // CAS로 quantity만큼 차감. 성공하면 -1, 부족하면 그 시점의 보유량 반환
+    private static int tryTake(AtomicInteger stock, int quantity) {
+        while (true) {
+            int current = stock.get();
+            if (current < quantity) return current;
+            if (stock.compareAndSet(current, current - quantity)) return -1;
+        }
+    }
+
+    private void release(Map<Long, Integer> taken) {
+        taken.forEach((itemId, quantity) -> ledger.get(itemId).addAndGet(quantity));
+    }
+
+    private void releaseOnRollback(Map<Long, Integer> taken) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    release(taken);
+                }
+            }
+        });
+    }
+
+    /* ============ 직원 재고 관리 ============ */
+
+    @Override
+    public Map<Long, Integer> findAllStock() {
+        ensureLoaded();
+        Map<Long, Integer> stock = new TreeMap<>();
+        ledger.forEach((itemId, quantity) -> stock.put(itemId, quantity.get()));
+        return stock;
+    }
+
+    // 입고는 commit된 뒤에 ledger에 더함 (commit 안 된 재고로 주문을 받지 않도록)
+    @Override
+    public void increase(Long itemId, int amount) {
+        AtomicInteger stock = findStock(itemId);
+        transactionTemplate.executeWithoutResult(status -> {
+            inventoryJournalRepository.save(new InventoryJournalEntity(itemId, amount));
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    stock.addAndGet(amount);
+                }
+            });
+        });
+    }
+
+    // 차감은 ledger에서 먼저 빼고 (0 밑으로는 안 내려감), 롤백되면 되돌림
+    @Override
+    public void decrease(Long itemId, int amount) {
+        AtomicInteger stock = findStock(itemId);
+        transactionTemplate.executeWithoutResult(status -> {
+            int removed;
+            while (true) {
+                int current = stock.get();
+                removed = Math.min(current, amount);
+                if (stock.compareAndSet(current, current - removed)) break;
+            }
+            if (removed <= 0) return;
+            releaseOnRollback(Map.of(itemId, removed));
+            inventoryJournalRepository.save(new InventoryJournalEntity(itemId, -removed));
+        });
+    }
+
+    private AtomicInteger findStock(Long itemId) {
+        ensureLoaded();
+        AtomicInteger stock = ledger.get(itemId);
+        if (stock == null) {
+            throw new IllegalArgumentException("존재하지 않는 item입니다.");
+        }
+        return stock;
+    }
+
+    /* ============ write-behind ============ */
+
+    // 쌓인 journal을 item별 순변화량으로 합쳐 inventory 테이블에 반영하고 journal은 삭제
+    // UPDATE와 DELETE가 한 트랜잭션이라 중간에 죽어도 두 번 반영되거나 사라지지 않음
+    @Scheduled(fixedDelayString = "${inventory.ledger.flush-interval-ms:1000}")
+    public void flush() {
+        if (!loaded) return;
+        synchronized (flushLock) {
+            long start = System.currentTimeMillis();
+            Integer rows = transactionTemplate.execute(status -> {
+                List<InventoryJournalEntity> pending =
+                        inventoryJournalRepository.findAllByOrderByIdAsc(Limit.of(flushBatchSize));
+                if (pending.isEmpty()) return 0;
+
+                Map<Long, Integer> netDelta = new TreeMap<>(); // item_id 순 (잠금 순서 고정)
+                for (InventoryJournalEntity journal : pending) {
+                    netDelta.merge(journal.getItemId(), journal.getDelta(), Integer::sum);
+                }
+                netDelta.forEach((itemId, delta) -> {
+                    if (delta != 0) inventoryRepository.addStock(itemId, delta);
+                });
+                // 읽은 id만 지움 (그 사이 commit된 journal은 다음 flush에서 반영)
+                inventoryJournalRepository.deleteAllByIdInBatch(
+                        pending.stream().map(InventoryJournalEntity::getId).toList());
+                return pending.size();
+            });
+            if (rows != null && rows > 0) {
+                flushCount.incrementAndGet();
+                flushedRowCount.addAndGet(rows);
+                lastFlushMillis = System.currentTimeMillis() - start;
+            }
+        }
+    }
+
+    @Override
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("reserved", reservedCount.get());
+        stats.put("rejected", rejectedCount.get());
+        stats.put("flushes", flushCount.get());
+        stats.put("flushedJournalRows", flushedRowCount.get());
+        stats.put("lastFlushMillis", lastFlushMillis);
+        return stats;
+    }
+}
@@ -0,0 +1,234 @@
+package com.devak.mrdaebakdinner.service;
+
+import com.devak.mrdaebakdinner.entity.OrderDnrKind;
+import com.devak.mrdaebakdinner.entity.OrderDnrStyle;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.springframework.stereotype.Component;
+
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// "FRENCH 디너에는 뭐가 들어가요?", "DELUXE는 어떤 스타일이에요?" 같은 메뉴/스타일 질문은 모델 없이 DinnerMenu로 바로 답함
+// - 규칙 기반 분류: 질문 표현이 있고, 주문/변경 표현(주문, 추가, 바꿔, 숫자 등)이 없고,
+//   메뉴 하나 또는 스타일 하나(또는 "메뉴 뭐 있어요?" 같은 목록 질문)만 언급한 짧은 문장
+// - 애매하면 null -> 지금처럼 모델이 답함 (잘못 가로채는 것보다 모델 호출이 나음)
+// - 답변은 미리 만들어 둠 (분류 + 조회만, 할당 거의 없음)
+// AiOrderService가 대화 기록에 모델 답변과 같은 JSON 모양으로 남김 -> 다음 턴에 모델이 이 문답을 이어서 봄
+@Component
+public class MenuFaqResponder {
+
+    enum Intent {
+        MENU_LIST, MENU_DETAIL, STYLE_LIST, STYLE_DETAIL
+    }
+
+    private static final int MAX_QUESTION_LENGTH = 40; // 공백을 뺀 글자 수. 긴 문장은 요청이 섞여 있을 가능성이 큼
+
+    // 질문이지만 "~주세요/~줘"로 끝나는 표현 (주문 표현 검사 전에 지움)
+    private static final List<String> ASK_PHRASES = List.of(
+            "알려주세요", "알려줘", "알려줄래", "설명해주세요", "설명해줘", "소개해주세요", "소개해줘",
+            "말해주세요", "말해줘", "보여주세요", "보여줘");
+    private static final List<String> QUESTION_CUES = List.of(
+            "?", "뭐", "무엇", "무슨", "어떤", "어떻게", "알려", "설명", "소개", "구성", "포함",
+            "들어가", "나와", "나오", "차이", "종류", "궁금", "있어", "있나");
+    private static final List<String> ORDER_CUES = List.of(
+            "주문", "할게", "할께", "할래", "하겠", "해줘", "해주세요", "로해", "로할", "주세요", "줘",
+            "추가", "빼", "변경", "바꿔", "바꾸", "넣어", "예약", "배달", "주소", "카드", "취소", "확정");
+
+    // 공백을 뺀 소문자 기준 별칭 (샴페인은 item 이름과 겹치므로 "디너/축제"까지 붙은 것만)
+    private static final Map<String, OrderDnrKind> MENU_ALIASES = Map.of(
+            "valentine", OrderDnrKind.VALENTINE, "발렌타인", OrderDnrKind.VALENTINE, "밸런타인", OrderDnrKind.VALENTINE,
+            "french", OrderDnrKind.FRENCH, "프렌치", OrderDnrKind.FRENCH, "프랑스", OrderDnrKind.FRENCH,
+            "english", OrderDnrKind.ENGLISH, "잉글리시", OrderDnrKind.ENGLISH, "잉글리쉬", OrderDnrKind.ENGLISH,
+            "영국", OrderDnrKind.ENGLISH);
+    private static final Map<String, OrderDnrKind> CHAMPAGNE_ALIASES = Map.of(
+            "champagne디너", OrderDnrKind.CHAMPAGNE, "champagnedinner", OrderDnrKind.CHAMPAGNE,
+            "샴페인디너", OrderDnrKind.CHAMPAGNE, "샴페인축제", OrderDnrKind.CHAMPAGNE);
+    private static final Map<String, OrderDnrStyle> STYLE_ALIASES = Map.of(
+            "simple", OrderDnrStyle.SIMPLE, "심플", OrderDnrStyle.SIMPLE,
+            "grand", OrderDnrStyle.GRAND, "그랜드", OrderDnrStyle.GRAND,
+            "deluxe", OrderDnrStyle.DELUXE, "디럭스", OrderDnrStyle.DELUXE, "딜럭스", OrderDnrStyle.DELUXE);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<OrderDnrKind, String> menuAnswers = new EnumMap<>(OrderDnrKind.class);
+    private final Map<OrderDnrStyle, String> styleAnswers = new EnumMap<>(OrderDnrStyle.class);
+    private final String menuListAnswer;
+    private final String styleListAnswer;
+
+    private final AtomicLong turnCount = new AtomicLong();
+    private final AtomicLongArray localByIntent = new AtomicLongArray(Intent.values().length);
+
+    public MenuFaqResponder() {
+        StringBuilder menuList = new StringBuilder("주문 가능한 디너는 다음과 같습니다.");
+        for (OrderDnrKind kind : OrderDnrKind.values()) {
+            menuAnswers.put(kind, kind + " 디너: " + DinnerMenu.description(kind)
+                    + "\n기본 구성: " + DinnerMenu.baseItemsText(kind)
+                    + "\n가능한 스타일: " + availableStyles(kind)
+                    + "\n이 디너로 주문하시겠어요?");
+            menuList.append("\n- ").append(kind).append(" 디너: ").append(DinnerMenu.baseItemsText(kind));
+        }
+        menuListAnswer = menuList.append("\n어떤 디너로 하시겠어요?").toString();
+
+        StringBuilder styleList = new StringBuilder("선택 가능한 스타일은 다음과 같습니다.");
+        for (OrderDnrStyle style : OrderDnrStyle.values()) {
+            String answer = style + " 스타일: " + DinnerMenu.description(style);
+            if (!DinnerMenu.isAvailable(OrderDnrKind.CHAMPAGNE, style)) {
+                answer += "\n(CHAMPAGNE 디너는 " + style + " 스타일로 주문할 수 없습니다.)";
+            }
+            styleAnswers.put(style, answer + "\n이 스타일로 하시겠어요?");
+            styleList.append("\n- ").append(style).append(": ").append(DinnerMenu.description(style));
+        }
+        styleListAnswer = styleList.append("\n어떤 스타일로 하시겠어요?").toString();
+    }
+
+    // "GRAND, DELUXE (SIMPLE 불가)"
+    private static String availableStyles(OrderDnrKind kind) {
+        StringJoiner available = new StringJoiner(", ");
+        StringJoiner unavailable = new StringJoiner(", ", " (", " 불가)").setEmptyValue("");
+        for (OrderDnrStyle style : OrderDnrStyle.values()) {
+            (DinnerMenu.isAvailable(kind, style) ? available : unavailable).add(style.name());
+        }
+        return available + unavailable.toString();
+    }
+
+    // 턴마다 한 번 호출. 바로 답할 수 있는 질문이면 답변, 아니면 null
+    public String answer(String userInput) {
+        turnCount.incrementAndGet();
+        String text = normalize(userInput);
+        Intent intent = classify(text);
+        if (intent == null) {
+            return null;
+        }
+        localByIntent.incrementAndGet(intent.ordinal());
+        return switch (intent) {
+            case MENU_LIST -> menuListAnswer;
+            case STYLE_LIST -> styleListAnswer;
+            case MENU_DETAIL -> menuAnswers.get(menusIn(text).iterator().next());
+            case STYLE_DETAIL -> styleAnswers.get(stylesIn(text).iterator().next());
+        };
+    }
+
+    // 대화 기록에 남길 assistant 답변 (모델 답변과 같은 모양, extracted_info는 직전 상태 그대로)
+    public String replyContent(String message, String extractedInfoJson) {
+        try {
+            ObjectNode reply = objectMapper.createObjectNode();
+            reply.put("status", "CONTINUE");
+            reply.put("message", message);
+            reply.set("extracted_info", objectMapper.readTree(extractedInfoJson));
+            return objectMapper.writeValueAsString(reply);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /* ============ 분류 ============ */
+
+    static String normalize(String userInput) {
+        StringBuilder text = new StringBuilder(userInput.length());
+        for (int i = 0; i < userInput.length(); i++) {
+            char c = userInput.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                text.append(Character.toLowerCase(c));
+            }
+        }
+        return text.toString();
+    }
+
+    static Intent classify(String text) {
+        if (text.isEmpty() || text.length() > MAX_QUESTION_LENGTH) {
+            return null;
+        }
+        String withoutAsks = text;
+        for (String phrase : ASK_PHRASES) {
+            withoutAsks = withoutAsks.replace(phrase, "?");
+        }
+        if (!containsAny(withoutAsks, QUESTION_CUES) || containsAny(withoutAsks, ORDER_CUES)) {
+            return null;
+        }
+        for (int i = 0; i < text.length(); i++) {
+            if (Character.isDigit(text.charAt(i))) {
+                return null; // 수량/시간이 들어간 문장은 주문 정보일 가능성
+            }
+        }
+
+        Set<OrderDnrKind> menus = menusIn(text);
+        Set<OrderDnrStyle> styles = stylesIn(text);
+        if (menus.size() == 1 && styles.isEmpty()) {
+            return Intent.MENU_DETAIL;
+        }
+        if (styles.size() == 1 && menus.isEmpty()) {
+            return Intent.STYLE_DETAIL;
+        }
+        if (!menus.isEmpty() || !styles.isEmpty()) {
+            return null; // 여러 개를 비교/조합하는 질문은 모델에게
+        }
+        boolean aboutStyle = text.contains("스타일");
+        boolean aboutMenu = text.contains("메뉴") || text.contains("디너");
+        if (aboutStyle && !aboutMenu) {
+            return Intent.STYLE_LIST;
+        }
+        if (aboutMenu && !aboutStyle) {
+            return Intent.MENU_LIST;
+        }
+        return null;
+    }
+
+    private static Set<OrderDnrKind> menusIn(String text) {
+        Set<OrderDnrKind> menus = EnumSet.noneOf(OrderDnrKind.class);
+        MENU_ALIASES.forEach((alias, kind) -> {
+            if (text.contains(alias)) {
+                menus.add(kind);
+            }
+        });
+        CHAMPAGNE_ALIASES.forEach((alias, kind) -> {
+            if (text.contains(alias)) {
+                menus.add(kind);
+            }
+        });
+        return menus;
+    }
+
+    private static Set<OrderDnrStyle> stylesIn(String text) {
+        Set<OrderDnrStyle> styles = EnumSet.noneOf(OrderDnrStyle.class);
+        STYLE_ALIASES.forEach((alias, style) -> {
+            if (text.contains(alias)) {
+                styles.add(style);
+            }
+        });
+        return styles;
+    }
+
+    private static boolean containsAny(String text, List<String> cues) {
+        for (String cue : cues) {
+            if (text.contains(cue)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        long turns = turnCount.get();
+        long local = 0;
+        for (Intent intent : Intent.values()) {
+            local += localByIntent.get(intent.ordinal());
+        }
+        stats.put("turns", turns);
+        stats.put("local", local);
+        stats.put("localPercent", turns == 0 ? 0 : local * 100 / turns);
+        for (Intent intent : Intent.values()) {
+            stats.put("local." + intent.name(), localByIntent.get(intent.ordinal()));
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,176 @@
+package com.devak.mrdaebakdinner.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.regex.Pattern;
+
+// 대화 첫머리의 똑같은 질문("안녕하세요", "추천해줘", "발렌타인 디너 주세요")에 대한 모델 답변을 재사용
+// key: SHA-256(prompt 버전 + 상태 메시지(extracted_info) + 정규화한 user 입력)
+// 캐시해도 되는 경우만 씀 (아니면 지금처럼 모델 호출):
+// - 요청: 창 안에 user/assistant 턴이 없음 (대화 첫 턴, 또는 전부 상태 메시지로 접힌 직후)
+//         -> 모델이 보는 건 고정 prompt + 상태 + 입력뿐이라 같은 key면 같은 답이 맞음
+//         입력에 숫자나 시간 표현(오늘, 내일, 저녁 등)이 있으면 안 됨 (현재 시간 메시지에 따라 답이 달라짐)
+// - 답변: status CONTINUE, message가 있음, extracted_info가 object,
+//         예약 시간/배달 주소/카드 번호가 비어 있음 (시간 의존 답변, 개인 정보는 다른 고객에게 재생하지 않음),
+//         message에 날짜/시각 표현이 없음
+// DONE 답변은 주문을 만들기 때문에 절대 캐시하지 않음
+@Component
+public class ModelReplyCache {
+
+    // 모델 이름이나 시스템 프롬프트가 바뀌면 예전 답변은 쓰지 않음
+    static final String PROMPT_VERSION = sha256(AiOrderService.MODEL + "\n" + AiOrderService.SYSTEM_PROMPT);
+
+    private static final List<String> TIME_WORDS = List.of(
+            "오늘", "내일", "모레", "글피", "다음주", "이번주", "주말", "요일", "오전", "오후",
+            "아침", "점심", "저녁", "밤", "지금", "몇시", "날짜", "언제", "시간");
+    private static final Pattern TIME_IN_REPLY = Pattern.compile("\\d+\\s*(년|월|일|시|분)|오늘|내일|모레|현재 시간");
+
+    // 캐시하지 않은 이유 (답변 쪽)
+    enum Rejection {
+        STATUS, INVALID, TIME, PERSONAL
+    }
+
+    private final Cache<String, AiOrderService.ModelReply> cache;
+    private final long maxEntries;
+
+    private final AtomicLong lookupCount = new AtomicLong();
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong uncacheableCount = new AtomicLong(); // 요청 조건이 안 맞아 조회도 안 한 턴
+    private final AtomicLong storedCount = new AtomicLong();
+    private final AtomicLongArray rejectedByReason = new AtomicLongArray(Rejection.values().length);
+
+    public ModelReplyCache(@Value("${ai.reply-cache.max-entries:1000}") long maxEntries,
+                           @Value("${ai.reply-cache.ttl-minutes:60}") long ttlMinutes) {
+        this.maxEntries = maxEntries;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .build();
+    }
+
+    // 이 요청이 캐시 대상이면 key, 아니면 null. history는 모델에게 보낼 지금까지의 대화
+    public String keyFor(List<Map<String, String>> history, String userInput) {
+        StringBuilder state = new StringBuilder();
+        for (int i = 2; i < history.size(); i++) { // 0, 1: SYSTEM_PROMPT, 현재 시간
+            Map<String, String> message = history.get(i);
+            if (!"system".equals(message.get("role"))) {
+                uncacheableCount.incrementAndGet();
+                return null;
+            }
+            state.append(message.get("content")).append('\n');
+        }
+        String input = normalize(userInput);
+        if (input.isEmpty() || hasTimeReference(input)) {
+            uncacheableCount.incrementAndGet();
+            return null;
+        }
+        return sha256(PROMPT_VERSION + "\n" + state + "\n" + input);
+    }
+
+    // 캐시된 답변 (없으면 null)
+    public AiOrderService.ModelReply get(String key) {
+        lookupCount.incrementAndGet();
+        AiOrderService.ModelReply reply = cache.getIfPresent(key);
+        if (reply != null) {
+            hitCount.incrementAndGet();
+        }
+        return reply;
+    }
+
+    // 모델 답변을 규칙에 맞을 때만 저장
+    public void offer(String key, AiOrderService.ModelReply reply) {
+        Rejection rejection = check(reply);
+        if (rejection != null) {
+            rejectedByReason.incrementAndGet(rejection.ordinal());
+            return;
+        }
+        cache.put(key, reply);
+        storedCount.incrementAndGet();
+    }
+
+    private static Rejection check(AiOrderService.ModelReply reply) {
+        if (!"CONTINUE".equals(reply.status())) {
+            return Rejection.STATUS;
+        }
+        JsonNode info = reply.extractedInfo();
+        if (reply.message() == null || reply.message().isBlank() || info == null || !info.isObject()) {
+            return Rejection.INVALID;
+        }
+        if (hasValue(info, "reservation_time") || TIME_IN_REPLY.matcher(reply.message()).find()) {
+            return Rejection.TIME;
+        }
+        if (hasValue(info, "delivery_address") || hasValue(info, "card_number")) {
+            return Rejection.PERSONAL;
+        }
+        return null;
+    }
+
+    private static boolean hasValue(JsonNode info, String field) {
+        JsonNode value = info.get(field);
+        return value != null && !value.isNull() && !(value.isTextual() && value.asText().isBlank());
+    }
+
+    // 공백/끝 문장부호를 빼고 소문자로 ("안녕하세요!" == "안녕 하세요")
+    static String normalize(String userInput) {
+        String text = MenuFaqResponder.normalize(userInput);
+        int end = text.length();
+        while (end > 0 && ".!?~,".indexOf(text.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        return text.substring(0, end);
+    }
+
+    private static boolean hasTimeReference(String input) {
+        for (int i = 0; i < input.length(); i++) {
+            if (Character.isDigit(input.charAt(i))) {
+                return true;
+            }
+        }
+        for (String word : TIME_WORDS) {
+            if (input.contains(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String sha256(String text) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(text.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        long lookups = lookupCount.get();
+        long hits = hitCount.get();
+        stats.put("entries", cache.estimatedSize());
+        stats.put("maxEntries", maxEntries);
+        stats.put("lookups", lookups);
+        stats.put("hits", hits);
+        stats.put("hitPercent", lookups == 0 ? 0 : hits * 100 / lookups);
+        stats.put("uncacheable", uncacheableCount.get());
+        stats.put("stored", storedCount.get());
+        for (Rejection rejection : Rejection.values()) {
+            stats.put("rejected." + rejection.name(), rejectedByReason.get(rejection.ordinal()));
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,410 @@
+package com.devak.mrdaebakdinner.service;
+
+import com.devak.mrdaebakdinner.exception.AiBusyException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+// Ollama /api/chat 호출 (JDK HttpClient 하나를 공유 -> HTTP/1.1 keep-alive 연결 재사용)
+// - 연결 timeout + 호출마다 응답(헤더)까지 timeout
+//   stream은 본문까지: 시작부터 request-timeout 안에 끝나야 하고, 줄 사이가 stream-idle-timeout 넘게 비면 끊음
+//   (HttpRequest.timeout은 헤더까지만 적용되므로 watchdog이 본문 InputStream을 닫아서 끊음)
+// - bulkhead: 동시에 진행 중인 모델 호출은 max-in-flight까지. 넘으면 기다리지 않고 AiBusyException
+//   (모델 하나가 느려져도 요청 thread가 줄줄이 묶이지 않게)
+// - chat(): sendAsync. 응답을 기다리는 동안 어떤 thread도 막지 않음
+// - chatStream(): 호출한 thread가 응답 끝까지 읽음 (AiChatStreamService의 전용 pool에서만 호출)
+//   StreamAbort로 밖에서 끊을 수 있음 (SSE 연결이 timeout/오류로 끝난 경우)
+// - 모든 요청에 keep_alive를 붙여 대화 사이에 모델(과 prompt KV cache)이 내려가지 않게 함
+// - recordUsage(): 응답의 prompt_eval_count 등으로 prefill 비용을 누적 (prompt cache가 잘 맞는지 확인용)
+// - Micrometer: ai.ollama.requests (mode, outcome별 응답 시간), ai.ollama.rejected, ai.ollama.inflight,
+//   ai.ollama.stream.blocked (chatStream에 묶인 thread), ai.ollama.io.queued (io pool 대기 작업),
+//   ai.ollama.tokens (type=prompt|eval, 호출당 token 수), ai.ollama.model.duration (phase=load|prompt_eval|eval, Ollama가 보고한 시간)
+@Component
+public class OllamaClient {
+
+    private final HttpClient httpClient;
+    private final ThreadPoolExecutor ioExecutor; // 응답 처리 / CompletableFuture 후속 작업
+    private final URI chatUri;
+    private final Duration requestTimeout;
+    private final long streamIdleTimeoutNanos;
+    private final ScheduledThreadPoolExecutor watchdog; // stream 본문 기한 감시 (thread 하나)
+    private final String keepAlive;
+    private final int maxInFlight;
+    private final Semaphore permits;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary promptTokenSummary;
+    private final DistributionSummary evalTokenSummary;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+    private final AtomicInteger blockedThreads = new AtomicInteger(); // chatStream에서 응답을 기다리며 막혀 있는 thread
+    private final AtomicLong completedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong timeoutCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong cancelledCount = new AtomicLong(); // StreamAbort로 끊은 stream
+
+    // Ollama가 응답 끝에 알려주는 사용량 (duration은 ns)
+    private final AtomicLong usageCount = new AtomicLong();
+    private final AtomicLong promptTokens = new AtomicLong();   // 이번에 새로 계산한 prompt token (cache로 재사용한 부분 제외)
+    private final AtomicLong promptEvalNanos = new AtomicLong();
+    private final AtomicLong evalTokens = new AtomicLong();     // 생성한 token
+    private final AtomicLong evalNanos = new AtomicLong();
+    private final AtomicLong loadNanos = new AtomicLong();      // 모델 load 시간 (keep_alive가 짧으면 커짐)
+    private volatile long lastPromptTokens;
+
+    public OllamaClient(@Value("${ollama.api.baseurl}") String baseUrl,
+                        @Value("${ai.ollama.connect-timeout-ms:2000}") long connectTimeoutMs,
+                        @Value("${ai.ollama.request-timeout-ms:60000}") long requestTimeoutMs,
+                        @Value("${ai.ollama.max-in-flight:8}") int maxInFlight,
+                        @Value("${ai.ollama.io-threads:4}") int ioThreads,
+                        @Value("${ai.ollama.keep-alive:30m}") String keepAlive,
+                        @Value("${ai.ollama.stream-idle-timeout-ms:15000}") long streamIdleTimeoutMs,
+                        MeterRegistry meterRegistry) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.ioExecutor = new ThreadPoolExecutor(ioThreads, ioThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+            Thread thread = new Thread(r, "ollama-io-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ioExecutor.allowCoreThreadTimeOut(true);
+        this.httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1) // Ollama는 평문 HTTP/1.1 (h2c upgrade 시도 없이)
+                .connectTimeout(Duration.ofMillis(connectTimeoutMs))
+                .executor(ioExecutor)
+                .build();
+        this.chatUri = URI.create(baseUrl + "/api/chat");
+        this.requestTimeout = Duration.ofMillis(requestTimeoutMs);
+        this.streamIdleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(streamIdleTimeoutMs);
+        this.watchdog = new ScheduledThreadPoolExecutor(1, r -> {
+            Thread thread = new Thread(r, "ollama-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.watchdog.setRemoveOnCancelPolicy(true);
+        this.keepAlive = keepAlive;
+        this.maxInFlight = maxInFlight;
+        this.permits = new Semaphore(maxInFlight);
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("ai.ollama.inflight", inFlight, AtomicInteger::get)
+                .description("진행 중인 Ollama 호출 수")
+                .register(meterRegistry);
+        Gauge.builder("ai.ollama.stream.blocked", blockedThreads, AtomicInteger::get)
+                .description("chatStream에서 응답을 기다리며 막혀 있는 thread 수")
+                .register(meterRegistry);
+        Gauge.builder("ai.ollama.io.queued", ioExecutor, executor -> executor.getQueue().size())
+                .description("ollama-io pool에서 차례를 기다리는 작업 수")
+                .register(meterRegistry);
+        this.promptTokenSummary = tokenSummary(meterRegistry, "prompt");
+        this.evalTokenSummary = tokenSummary(meterRegistry, "eval");
+    }
+
+    private static DistributionSummary tokenSummary(MeterRegistry meterRegistry, String type) {
+        return DistributionSummary.builder("ai.ollama.tokens")
+                .description("Ollama 호출 한 번의 token 수 (prompt: cache로 재사용한 부분 제외)")
+                .baseUnit("tokens")
+                .tag("type", type)
+                .register(meterRegistry);
+    }
+
+    /* ============ 호출 ============ */
+
+    // stream=false 호출 한 번. 응답 본문(JSON 문자열)
+    public CompletableFuture<String> chat(Map<String, Object> body) {
+        HttpRequest request;
+        try {
+            request = buildRequest(body);
+        } catch (JsonProcessingException e) {
+            return CompletableFuture.failedFuture(new UncheckedIOException(e));
+        }
+        acquire();
+        long start = System.nanoTime();
+        try {
+            return httpClient.sendAsync(request, HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8))
+                    .thenApply(response -> checkStatus(response.statusCode(), response.body()))
+                    .whenComplete((responseBody, e) -> release("chat", start, e));
+        } catch (RuntimeException e) { // 보내기도 전에 실패 (close() 뒤 등) -> permit을 바로 돌려줌
+            release("chat", start, e);
+            throw e;
+        }
+    }
+
+    // stream=true 호출. 응답 한 줄(NDJSON chunk)마다 onLine, 응답이 끝날 때까지 호출한 thread가 기다림
+    // 본문 기한/줄 사이 기한을 넘기면 HttpTimeoutException, abort되면 CancellationException
+    public void chatStream(Map<String, Object> body, Consumer<String> onLine, StreamAbort abort)
+            throws IOException, InterruptedException {
+        HttpRequest request = buildRequest(body);
+        acquire();
+        long start = System.nanoTime();
+        blockedThreads.incrementAndGet();
+        Throwable failure = null;
+        try {
+            HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            try (InputStream in = response.body()) {
+                if (response.statusCode() / 100 != 2) {
+                    checkStatus(response.statusCode(), new String(in.readAllBytes(), StandardCharsets.UTF_8));
+                }
+                readLines(in, start, onLine, abort);
+            }
+        } catch (IOException | InterruptedException | RuntimeException e) {
+            failure = e;
+            throw e;
+        } finally {
+            blockedThreads.decrementAndGet();
+            release("stream", start, failure);
+        }
+    }
+
+    private void readLines(InputStream in, long startNanos, Consumer<String> onLine, StreamAbort abort)
+            throws IOException {
+        StreamWatchdog guard = new StreamWatchdog(in, startNanos + requestTimeout.toNanos());
+        abort.bind(guard::close);
+        try {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                guard.lineRead();
+                onLine.accept(line);
+            }
+        } catch (IOException e) {
+            // watchdog/abort가 본문을 닫으면 읽던 쪽은 IOException("closed")
+            if (abort.isAborted()) {
+                throw new CancellationException("Ollama stream을 취소했습니다.");
+            }
+            if (guard.expired) {
+                throw new HttpTimeoutException("Ollama stream 응답이 기한 안에 끝나지 않았습니다.");
+            }
+            throw e;
+        } finally {
+            abort.bind(null);
+            guard.stop();
+        }
+        if (abort.isAborted()) { // 마지막 줄을 읽은 직후 abort된 경우도 끊긴 것으로 봄
+            throw new CancellationException("Ollama stream을 취소했습니다.");
+        }
+    }
+
+    // 진행 중인 chatStream을 밖에서 끊는 손잡이 (한 턴에 하나)
+    public static final class StreamAbort {
+        private volatile boolean aborted;
+        private volatile Runnable onAbort;
+
+        public void abort() {
+            aborted = true;
+            Runnable action = onAbort;
+            if (action != null) {
+                action.run();
+            }
+        }
+
+        public boolean isAborted() {
+            return aborted;
+        }
+
+        // 본문을 읽는 동안만 연결됨. abort()와 엇갈려도 둘 중 한 쪽은 action을 실행함
+        void bind(Runnable action) {
+            onAbort = action;
+            if (action != null && aborted) {
+                action.run();
+            }
+        }
+    }
+
+    // stream 하나의 기한 감시: 전체 기한(deadline) 또는 마지막 줄 뒤 stream-idle-timeout이 지나면 본문을 닫음
+    // 감시 task는 한 번에 하나만 예약 (줄마다 예약하지 않고, 깨어났을 때 아직 여유가 있으면 다시 예약)
+    private final class StreamWatchdog implements Runnable {
+        private final InputStream in;
+        private final long deadlineNanos;
+        private volatile long lastLineNanos = System.nanoTime();
+        private volatile boolean expired;
+        private volatile boolean stopped;
+        private volatile ScheduledFuture<?> next;
+
+        StreamWatchdog(InputStream in, long deadlineNanos) {
+            this.in = in;
+            this.deadlineNanos = deadlineNanos;
+            schedule();
+        }
+
+        void lineRead() {
+            lastLineNanos = System.nanoTime();
+        }
+
+        private void schedule() {
+            long wakeAt = Math.min(deadlineNanos, lastLineNanos + streamIdleTimeoutNanos);
+            next = watchdog.schedule(this, Math.max(0, wakeAt - System.nanoTime()), TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public void run() {
+            if (stopped) {
+                return;
+            }
+            long now = System.nanoTime();
+            if (now - deadlineNanos >= 0 || now - lastLineNanos >= streamIdleTimeoutNanos) {
+                expired = true;
+                close();
+            } else {
+                schedule();
+            }
+        }
+
+        void close() {
+            try {
+                in.close(); // 막혀 있던 read가 IOException으로 깨어남
+            } catch (IOException e) {
+                // 이미 닫힘
+            }
+        }
+
+        void stop() {
+            stopped = true;
+            ScheduledFuture<?> scheduled = next;
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+    }
+
+    private HttpRequest buildRequest(Map<String, Object> body) throws JsonProcessingException {
+        Map<String, Object> withKeepAlive = new LinkedHashMap<>(body);
+        withKeepAlive.put("keep_alive", keepAlive);
+        return HttpRequest.newBuilder(chatUri)
+                .timeout(requestTimeout)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(withKeepAlive)))
+                .build();
+    }
+
+    /* ============ 사용량 ============ */
+
+    // stream=false 응답 전체, 또는 stream의 마지막(done=true) chunk
+    public void recordUsage(JsonNode response) {
+        if (!response.has("prompt_eval_count") && !response.has("eval_count")) {
+            return;
+        }
+        long prompt = response.path("prompt_eval_count").asLong();
+        usageCount.incrementAndGet();
+        promptTokens.addAndGet(prompt);
+        promptEvalNanos.addAndGet(response.path("prompt_eval_duration").asLong());
+        evalTokens.addAndGet(response.path("eval_count").asLong());
+        evalNanos.addAndGet(response.path("eval_duration").asLong());
+        loadNanos.addAndGet(response.path("load_duration").asLong());
+        lastPromptTokens = prompt;
+
+        promptTokenSummary.record(prompt);
+        evalTokenSummary.record(response.path("eval_count").asLong());
+        recordModelDuration("load", response.path("load_duration").asLong());
+        recordModelDuration("prompt_eval", response.path("prompt_eval_duration").asLong());
+        recordModelDuration("eval", response.path("eval_duration").asLong());
+    }
+
+    private void recordModelDuration(String phase, long nanos) {
+        meterRegistry.timer("ai.ollama.model.duration", "phase", phase).record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static String checkStatus(int statusCode, String responseBody) {
+        if (statusCode / 100 != 2) {
+            throw new IllegalStateException("Ollama 응답 오류 (" + statusCode + "): " + responseBody);
+        }
+        return responseBody;
+    }
+
+    /* ============ bulkhead ============ */
+
+    private void acquire() {
+        if (!permits.tryAcquire()) {
+            rejectedCount.incrementAndGet();
+            meterRegistry.counter("ai.ollama.rejected").increment();
+            throw new AiBusyException("AI 주문 요청이 많습니다. 잠시 후 다시 시도해주세요.");
+        }
+        int current = inFlight.incrementAndGet();
+        peakInFlight.accumulateAndGet(current, Math::max);
+    }
+
+    // mode: chat | stream, startNanos: acquire() 직후
+    private void release(String mode, long startNanos, Throwable failure) {
+        inFlight.decrementAndGet();
+        permits.release();
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null
+                ? failure.getCause() : failure;
+        String outcome;
+        if (cause == null) {
+            completedCount.incrementAndGet();
+            outcome = "success";
+        } else if (cause instanceof CancellationException) {
+            cancelledCount.incrementAndGet();
+            outcome = "cancelled";
+        } else if (cause instanceof HttpTimeoutException) {
+            timeoutCount.incrementAndGet();
+            outcome = "timeout";
+        } else {
+            failedCount.incrementAndGet();
+            outcome = "error";
+        }
+        Timer.builder("ai.ollama.requests")
+                .description("Ollama /api/chat 호출 시간 (stream은 마지막 chunk까지)")
+                .tags("mode", mode, "outcome", outcome)
+                .register(meterRegistry)
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @PreDestroy
+    public void close() {
+        ioExecutor.shutdownNow();
+        watchdog.shutdownNow();
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        stats.put("inFlight", (long) inFlight.get());
+        stats.put("peakInFlight", (long) peakInFlight.get());
+        stats.put("maxInFlight", (long) maxInFlight);
+        stats.put("blockedThreads", (long) blockedThreads.get());
+        stats.put("ioActive", (long) ioExecutor.getActiveCount());
+        stats.put("ioQueued", (long) ioExecutor.getQueue().size());
+        stats.put("completed", completedCount.get());
+        stats.put("rejected", rejectedCount.get());
+        stats.put("timeouts", timeoutCount.get());
+        stats.put("failed", failedCount.get());
+        stats.put("cancelled", cancelledCount.get());
+        long usages = usageCount.get();
+        stats.put("usageReports", usages);
+        stats.put("promptTokens", promptTokens.get());
+        stats.put("avgPromptTokens", usages == 0 ? 0 : promptTokens.get() / usages);
+        stats.put("lastPromptTokens", lastPromptTokens);
+        stats.put("promptEvalMillis", TimeUnit.NANOSECONDS.toMillis(promptEvalNanos.get()));
+        stats.put("evalTokens", evalTokens.get());
+        stats.put("evalMillis", TimeUnit.NANOSECONDS.toMillis(evalNanos.get()));
+        stats.put("loadMillis", TimeUnit.NANOSECONDS.toMillis(loadNanos.get()));
+        return stats;
+    }
+}
@@ -0,0 +1,56 @@
+package com.devak.mrdaebakdinner.service;
+
+import com.devak.mrdaebakdinner.dto.OrderDetailDTO;
+import com.devak.mrdaebakdinner.entity.OrderStatus;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+// DELIVERED 주문의 상세 화면 model 캐시
+// DELIVERED 이후에는 주문이 바뀌지 않으므로 무효화 없이 크기(LRU에 가까운 W-TinyLFU) + TTL로만 내보냄
+// 진행 중 주문은 상태가 계속 바뀌므로 캐시하지 않음
+// 캐시된 DTO는 여러 요청이 같이 읽으므로 꺼낸 쪽에서 수정하면 안 됨
+@Component
+public class OrderDetailCache {
+
+    private final Cache<Long, OrderDetailDTO> cache;
+
+    public OrderDetailCache(@Value("${order.detail-cache.max-size:10000}") long maxSize,
+                            @Value("${order.detail-cache.ttl-minutes:60}") long ttlMinutes) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                .recordStats()
+                .build();
+    }
+
+    // 캐시에 있으면 그대로, 없으면 loader로 읽고 DELIVERED면 캐시에 넣음
+    public OrderDetailDTO get(Long orderId, Function<Long, OrderDetailDTO> loader) {
+        OrderDetailDTO cached = cache.getIfPresent(orderId);
+        if (cached != null) {
+            return cached;
+        }
+        OrderDetailDTO detail = loader.apply(orderId);
+        if (detail.getOrder().getStatus() == OrderStatus.DELIVERED) {
+            cache.put(orderId, detail);
+        }
+        return detail;
+    }
+
+    public Map<String, Long> stats() {
+        CacheStats stats = cache.stats();
+        Map<String, Long> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hits", stats.hitCount());
+        result.put("misses", stats.missCount());
+        result.put("evictions", stats.evictionCount());
+        return result;
+    }
+}
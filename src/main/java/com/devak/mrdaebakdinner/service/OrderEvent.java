@@ -0,0 +1,95 @@
+package com.devak.mrdaebakdinner.service;
+
+import com.devak.mrdaebakdinner.dto.OrderHistoryDTO;
+import com.devak.mrdaebakdinner.entity.OrderStatus;
+
+import java.time.OffsetDateTime;
+
+// 주문 lifecycle 이벤트 (commit된 뒤에만 발행됨)
+// OrderEventBus의 ring buffer 칸(slot)을 그대로 재사용하는 객체라서
+// consumer는 onEvent() 안에서만 읽고, 필요한 값은 복사해서 가져갈 것 (참조를 들고 있으면 다음 이벤트로 덮어써짐)
+public final class OrderEvent {
+
+    public enum Type {
+        PLACED(OrderStatus.ORDERED),
+        COOKING(OrderStatus.COOKING),
+        COOKED(OrderStatus.COOKED),
+        DELIVERING(OrderStatus.DELIVERING),
+        DELIVERED(OrderStatus.DELIVERED);
+
+        private final OrderStatus status;
+
+        Type(OrderStatus status) {
+            this.status = status;
+        }
+
+        // 이 이벤트 뒤의 주문 status
+        public OrderStatus status() {
+            return status;
+        }
+
+        public static Type of(OrderStatus status) {
+            for (Type type : values()) {
+                if (type.status == status) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("이벤트가 없는 status입니다." + status);
+        }
+    }
+
+    private long sequence;
+    private Type type;
+    private Long orderId;
+    private OrderStatus previousStatus;   // 상태 전이 이벤트일 때 이전 status (PLACED면 null)
+    private OffsetDateTime deliveryTime;  // DELIVERED일 때만
+    private OrderHistoryDTO order;        // PLACED일 때만 (새 주문 전체)
+
+    OrderEvent() {
+    }
+
+    // OrderEventBus가 발행할 때만 채움
+    void set(long sequence, Type type, Long orderId, OrderStatus previousStatus,
+             OffsetDateTime deliveryTime, OrderHistoryDTO order) {
+        this.sequence = sequence;
+        this.type = type;
+        this.orderId = orderId;
+        this.previousStatus = previousStatus;
+        this.deliveryTime = deliveryTime;
+        this.order = order;
+    }
+
+    // 처리가 끝난 칸은 비워서 주문 DTO를 붙잡고 있지 않게
+    void clear() {
+        set(sequence, null, null, null, null, null);
+    }
+
+    public long sequence() {
+        return sequence;
+    }
+
+    public Type type() {
+        return type;
+    }
+
+    public Long orderId() {
+        return orderId;
+    }
+
+    public OrderStatus previousStatus() {
+        return previousStatus;
+    }
+
+    public OffsetDateTime deliveryTime() {
+        return deliveryTime;
+    }
+
+    public OrderHistoryDTO order() {
+        return order;
+    }
+
+    @Override
+    public String toString() {
+        return "OrderEvent(" + sequence + ", " + type + ", orderId=" + orderId + ")";
+    }
+}
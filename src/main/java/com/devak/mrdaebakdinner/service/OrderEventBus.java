@@ -0,0 +1,243 @@
+package com.devak.mrdaebakdinner.service;
+
+import com.devak.mrdaebakdinner.dto.OrderHistoryDTO;
+import com.devak.mrdaebakdinner.entity.OrderStatus;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 주문 lifecycle 이벤트(OrderEvent)를 commit 뒤에 OrderEventConsumer들에게 넘기는 in-process 파이프라인
+// - 주문/상태 변경 트랜잭션은 이벤트를 commit 뒤 hook에 등록만 함 -> consumer가 늘어도 트랜잭션 길이는 그대로
+// - 이벤트는 미리 만들어 둔 ring buffer 칸(OrderEvent)에 덮어써서 발행 (발행할 때 할당 없음)
+// - dispatcher thread 하나가 쌓인 이벤트를 묶음(batch)으로 꺼내 모든 consumer에게 sequence 순서대로 넘김
+// - ring이 가득 차면 발행 쪽(요청 thread)이 publish-timeout-ms까지 기다리고, 그래도 자리가 없으면 버림(dropped)
+// 메모리에만 있으므로 commit 직후 프로세스가 죽으면 그 이벤트는 사라짐
+// -> 잃으면 안 되는 기록(고객 orderCount/VIP 승격 등)은 주문 트랜잭션 안에 그대로 둠
+@Slf4j
+@Component
+public class OrderEventBus {
+
+    private final List<OrderEventConsumer> consumers;
+    private final OrderEvent[] ring;
+    private final int mask;
+    private final int maxBatchSize;
+    private final long publishTimeoutNanos;
+    private final Thread dispatcher;
+
+    // 아래 sequence들과 ring 칸 쓰기는 lock 안에서 (dispatcher는 lock으로 publishedSeq를 읽은 뒤 칸을 읽음)
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final Condition notFull = lock.newCondition();
+    private long publishedSeq = -1; // 마지막으로 발행된 sequence
+    private long consumedSeq = -1;  // 모든 consumer가 처리를 끝낸 마지막 sequence
+    private boolean running = true;
+
+    // backpressure / 처리량 지표
+    private long highWaterMark;     // 가장 많이 밀렸을 때 ring에 쌓여 있던 이벤트 수 (lock)
+    private long fullWaitCount;     // ring이 가득 차서 발행 쪽이 기다린 횟수 (lock)
+    private long fullWaitNanos;     // 그렇게 기다린 시간 합 (lock)
+    private long droppedCount;      // 기다려도 자리가 없어서 버린 이벤트 수 (lock)
+    private volatile long batchCount;
+    private volatile long maxBatch;
+    private volatile long consumerErrorCount;
+    private final AtomicLongArray countByType = new AtomicLongArray(OrderEvent.Type.values().length);
+
+    public OrderEventBus(List<OrderEventConsumer> consumers,
+                         @Value("${order.events.ring-size:1024}") int ringSize,
+                         @Value("${order.events.max-batch-size:128}") int maxBatchSize,
+                         @Value("${order.events.publish-timeout-ms:1000}") long publishTimeoutMs) {
+        if (ringSize <= 0 || Integer.bitCount(ringSize) != 1) {
+            throw new IllegalArgumentException("order.events.ring-size는 2의 거듭제곱이어야 합니다: " + ringSize);
+        }
+        this.consumers = List.copyOf(consumers);
+        this.ring = new OrderEvent[ringSize];
+        for (int i = 0; i < ringSize; i++) {
+            ring[i] = new OrderEvent();
+        }
+        this.mask = ringSize - 1;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.publishTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(publishTimeoutMs);
+        this.dispatcher = new Thread(this::dispatchLoop, "order-events");
+        this.dispatcher.setDaemon(true);
+    }
+
+    @PostConstruct
+    public void start() {
+        dispatcher.start();
+    }
+
+    /* ============ 발행 (commit 뒤) ============ */
+
+    // 새 주문
+    public void placedAfterCommit(OrderHistoryDTO order) {
+        afterCommit(() -> publish(OrderEvent.Type.PLACED, order.getId(), null, null, order));
+    }
+
+    // 상태 전이 (from -> to). 배달 완료면 deliveryTime도 같이
+    public void transitionedAfterCommit(Long orderId, OrderStatus from, OrderStatus to, OffsetDateTime deliveryTime) {
+        OrderEvent.Type type = OrderEvent.Type.of(to);
+        afterCommit(() -> publish(type, orderId, from, deliveryTime, null));
+    }
+
+    // 트랜잭션 밖에서 부르면 바로 발행
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private void publish(OrderEvent.Type type, Long orderId, OrderStatus previousStatus,
+                         OffsetDateTime deliveryTime, OrderHistoryDTO order) {
+        lock.lock();
+        try {
+            if (isFull() && !awaitSpace()) {
+                droppedCount++;
+                log.warn("주문 이벤트 ring buffer가 가득 차서 이벤트를 버림: {} orderId={}", type, orderId);
+                return;
+            }
+            long seq = ++publishedSeq;
+            ring[(int) (seq & mask)].set(seq, type, orderId, previousStatus, deliveryTime, order);
+            highWaterMark = Math.max(highWaterMark, publishedSeq - consumedSeq);
+            notEmpty.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isFull() {
+        return publishedSeq - consumedSeq >= ring.length;
+    }
+
+    // lock을 잡은 상태에서 호출. 자리가 나면 true, 시간 초과/종료 중이면 false
+    private boolean awaitSpace() {
+        fullWaitCount++;
+        long start = System.nanoTime();
+        long remaining = publishTimeoutNanos;
+        try {
+            while (isFull()) {
+                if (remaining <= 0 || !running) {
+                    return false;
+                }
+                remaining = notFull.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            fullWaitNanos += System.nanoTime() - start;
+        }
+    }
+
+    /* ============ 전달 (dispatcher thread) ============ */
+
+    private void dispatchLoop() {
+        long next = 0;
+        while (true) {
+            long last;
+            lock.lock();
+            try {
+                while (publishedSeq < next) {
+                    if (!running) {
+                        return; // 종료: 남은 이벤트를 다 넘긴 뒤에 끝냄
+                    }
+                    notEmpty.await();
+                }
+                last = Math.min(publishedSeq, next + maxBatchSize - 1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lock.unlock();
+            }
+
+            // [next, last] 칸은 consumedSeq를 올리기 전까지 발행 쪽이 덮어쓰지 않음 -> lock 없이 읽음
+            for (long seq = next; seq <= last; seq++) {
+                OrderEvent event = ring[(int) (seq & mask)];
+                dispatch(event, seq == last);
+                countByType.incrementAndGet(event.type().ordinal());
+                event.clear();
+            }
+            batchCount++;
+            maxBatch = Math.max(maxBatch, last - next + 1);
+
+            lock.lock();
+            try {
+                consumedSeq = last;
+                notFull.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            next = last + 1;
+        }
+    }
+
+    private void dispatch(OrderEvent event, boolean endOfBatch) {
+        for (OrderEventConsumer consumer : consumers) {
+            try {
+                consumer.onEvent(event, endOfBatch);
+            } catch (RuntimeException e) {
+                consumerErrorCount++;
+                log.error("주문 이벤트 처리 실패: {} consumer={}", event, consumer.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    // 이미 발행된 이벤트는 다 넘기고 종료 (새 발행은 기다리지 않고 버림)
+    @PreDestroy
+    public void close() throws InterruptedException {
+        lock.lock();
+        try {
+            running = false;
+            notEmpty.signalAll();
+            notFull.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        dispatcher.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    public Map<String, Long> stats() {
+        Map<String, Long> stats = new LinkedHashMap<>();
+        lock.lock();
+        try {
+            stats.put("capacity", (long) ring.length);
+            stats.put("published", publishedSeq + 1);
+            stats.put("pending", publishedSeq - consumedSeq);
+            stats.put("highWaterMark", highWaterMark);
+            stats.put("fullWaits", fullWaitCount);
+            stats.put("fullWaitMillis", TimeUnit.NANOSECONDS.toMillis(fullWaitNanos));
+            stats.put("dropped", droppedCount);
+        } finally {
+            lock.unlock();
+        }
+        stats.put("batches", batchCount);
+        stats.put("maxBatch", maxBatch);
+        stats.put("consumers", (long) consumers.size());
+        stats.put("consumerErrors", consumerErrorCount);
+        for (OrderEvent.Type type : OrderEvent.Type.values()) {
+            stats.put(type.name(), countByType.get(type.ordinal()));
+        }
+        return stats;
+    }
+}
@@ -0,0 +1,11 @@
+package com.devak.mrdaebakdinner.service;
+
+// OrderEventBus의 이벤트를 받는 쪽. Spring bean으로 등록하면 OrderEventBus가 모아서 순서대로 호출
+// - 모든 consumer는 dispatcher thread 하나에서 이벤트 순서(sequence)대로 호출됨
+// - endOfBatch: 지금 꺼낸 묶음의 마지막 이벤트 (모아서 한 번에 처리하는 consumer는 여기서 flush)
+// - 예외를 던져도 다음 이벤트/다른 consumer는 계속 처리됨 (OrderEventBus stats의 consumerErrors로 집계)
+// - 오래 걸리면 ring buffer가 차서 주문 요청 thread가 기다리게 되므로 I/O는 여기서 직접 하지 말 것
+public interface OrderEventConsumer {
+
+    void onEvent(OrderEvent event, boolean endOfBatch);
+}
@@ -0,0 +1,54 @@
+package com.devak.mrdaebakdinner.service;
+
+import com.devak.mrdaebakdinner.dto.OrderDTO;
+import com.devak.mrdaebakdinner.dto.OrderItemDTO;
+import com.devak.mrdaebakdinner.entity.OrderDnrKind;
+import com.devak.mrdaebakdinner.entity.OrderDnrStyle;
+
+// 주문 검증과 가격 계산 (DB 조회 없음. 단가는 ItemCatalog에서 찾음)
+public class OrderPricing {
+
+    // 주문 내용 검증. 잘못된 주문이면 IllegalArgumentException
+    public static void validate(OrderDTO orderDTO, OrderItemDTO orderItemDTO) {
+        // CHAMPAGNE + SIMPLE 스타일은 거절
+        if (OrderDnrKind.CHAMPAGNE == orderDTO.getDinnerKind()
+                && OrderDnrStyle.SIMPLE == orderDTO.getDinnerStyle()) {
+            throw new IllegalArgumentException("샴페인 축제 디너와 SIMPLE 스타일은 같이 주문할 수 없습니다.");
+        }
+        // 사실상 없는 주문 (모든 아이템 0개) 거절
+        if (orderItemDTO.totalQuantity() == 0) {
+            throw new IllegalArgumentException("모든 아이템이 0개인 주문을 요청할 수 없습니다.");
+        }
+        // 음수 수량 거절 (음수 차감은 재고를 늘려버림)
+        if (orderItemDTO.hasNegativeQuantity()) {
+            throw new IllegalArgumentException("아이템 수량은 0개 이상이어야 합니다.");
+        }
+    }
+
+    // 할인 전 총 가격: sum(단가 * quantity). 주문한 item이 catalog에 없으면 IllegalArgumentException
+    // slot 순서대로 snapshot.bySlot()과 맞춰 읽으므로 할당 없음
+    public static int subtotal(OrderItemDTO orderItemDTO, ItemCatalog itemCatalog) {
+        ItemCatalog.Item[] itemsBySlot = itemCatalog.snapshot().bySlot();
+        int totalPrice = 0;
+        for (int slot = 0; slot < itemsBySlot.length; slot++) {
+            int quantity = orderItemDTO.quantity(slot);
+            if (quantity == 0) {
+                continue;
+            }
+            ItemCatalog.Item item = itemsBySlot[slot];
+            if (item == null) {
+                throw new IllegalArgumentException("없는 item입니다." + OrderItemDTO.ITEM_NAMES.get(slot));
+            }
+            totalPrice = totalPrice + item.unitPrice() * quantity;
+        }
+        return totalPrice;
+    }
+
+    // 할인 규칙 적용: VIP였다면 totalPrice 10퍼센트 할인 (10원 단위 버림)
+    public static int applyDiscount(int totalPrice, String membershipLevel) {
+        if ("VIP".equals(membershipLevel)) {
+            return ((int) (totalPrice * 0.9)) / 10 * 10;
+        }
+        return totalPrice;
+    }
+}
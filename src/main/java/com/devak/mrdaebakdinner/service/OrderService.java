@@ -4,17 +4,21 @@ import com.devak.mrdaebakdinner.dto.*;
 import com.devak.mrdaebakdinner.entity.*;
 import com.devak.mrdaebakdinner.entity.OrderEntity;
 import com.devak.mrdaebakdinner.exception.InsufficientInventoryException;
-import com.devak.mrdaebakdinner.mapper.CustomerMapper;
+import com.devak.mrdaebakdinner.exception.OrderConflictException;
 import com.devak.mrdaebakdinner.mapper.OrderMapper;
 import com.devak.mrdaebakdinner.repository.*;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,14 +28,22 @@ public class OrderService {
     private final OrderItemRepository orderItemRepository;
     private final CustomerRepository customerRepository;
     private final ItemRepository itemRepository;
-    private final InventoryRepository inventoryRepository;
+    private final ItemCatalog itemCatalog;
+    private final CheckoutConcurrencyPolicy checkoutConcurrencyPolicy;
+    private final TransactionTemplate transactionTemplate;
+    private final InventoryService inventoryService;
+    private final ActiveOrderIndex activeOrderIndex;
+    private final OrderDetailCache orderDetailCache;
+    private final OrderEventBus orderEventBus;
+    private final MeterRegistry meterRegistry;
 
-    /* ============ 내부에서만 쓸 함수 ============ */
+    // 일괄 상태 전이 한 번에 받는 주문 수 상한 (UPDATE ... IN 목록 크기)
+    private static final int MAX_BULK_TRANSITION = 500;
 
-    private CustomerEntity findCustomer(String loginId) {
-        return customerRepository.findByLoginId(loginId)
-                .orElseThrow(() -> new IllegalArgumentException("해당 고객이 없습니다."));
-    }
+    @Value("${order.history.page-size:20}")
+    private int historyPageSize;
+
+    /* ============ 내부에서만 쓸 함수 ============ */
 
     private OrderEntity findOrder(Long orderId) {
         return orderRepository.findById(orderId)
@@ -40,43 +52,32 @@ public class OrderService {
 
     /* ============ 주문조회를 위한 함수 ============ */
 
-    public List<OrderHistoryDTO> findOrderHistoryByLoginId(String loginId) {
-        // 고객의 id로 해당 고객의 주문만 찾기
-        List<OrderEntity> orderEntityList =
-                orderRepository.findAllByCustomerId(findCustomer(loginId).getId());
-
-        return orderEntityList.stream()
-                .map(OrderMapper::toOrderHistoryDTO)
-                .toList();
-    }
-
-    public OrderHistoryDTO findOrderHistoryByOrderId(Long orderId) {
-        // orderId로 orderEntity 가져오기
-        OrderEntity order = findOrder(orderId);
-        // OrderHistoryDTO로 변경하여 반환
-        return OrderMapper.toOrderHistoryDTO(order);
+    // 고객 주문 이력 한 페이지 (최근 주문부터). beforeTime/beforeId가 없으면 첫 페이지
+    // 고객 loginId까지 projection 쿼리 한 번으로 가져옴
+    public OrderHistoryPageDTO findOrderHistoryPage(String loginId, OffsetDateTime beforeTime, Long beforeId) {
+        Limit limit = Limit.of(historyPageSize + 1); // 하나 더 읽어서 다음 페이지가 있는지 확인
+        List<OrderHistoryDTO> rows = (beforeTime == null || beforeId == null)
+                ? orderRepository.findOrderHistoryByLoginId(loginId, limit)
+                : orderRepository.findOrderHistoryByLoginIdBefore(loginId, beforeTime, beforeId, limit);
+        return OrderHistoryPageDTO.of(rows, historyPageSize);
     }
 
-    public OrderItemDTO findOrderItem(Long orderId) {
-        // 한 orderId에 담긴 orderItems 가져오기
-        List<OrderItemEntity> orderItems = orderItemRepository.findAllByOrderId(orderId);
-
-        // orderItems를 OrderItemDTO의 형(Map<String, Integer>)으로 변환
-        // (key: itemName, value: quantity)
-        Map<String, Integer> itemMap = orderItems.stream()
-                .collect(Collectors.toMap(
-                        oi -> oi.getItem().getName(),
-                        OrderItemEntity::getQuantity
-                ));
-
-        OrderItemDTO dto = new OrderItemDTO();
-        dto.setOrderItems(itemMap);
-        return dto;
+    // 주문 상세 (주문 + 고객 loginId + item별 수량): 쿼리 한 번. DELIVERED 주문은 OrderDetailCache에서
+    public OrderDetailDTO findOrderDetail(Long orderId) {
+        return orderDetailCache.get(orderId, id -> {
+            List<Object[]> rows = orderRepository.findOrderDetailRows(id);
+            if (rows.isEmpty()) {
+                throw new IllegalArgumentException("주문이 존재하지 않습니다.");
+            }
+            return OrderMapper.toOrderDetailDTO(rows, itemCatalog);
+        });
     }
 
     /* ============ 주문 함수 ============ */
 
-    @Transactional
+    // 주문 트랜잭션 하나를 CheckoutConcurrencyPolicy 규칙대로 실행 (@Version 충돌 시 새 트랜잭션으로 재시도)
+    // 재시도까지 포함한 시간을 결과별로 checkout.place.order에 기록
+    // outcome: success | insufficient_stock | validation_error | conflict(재시도 소진) | error
     public OrderHistoryDTO placeOrder(OrderDTO orderDTO,
                                       OrderItemDTO orderItemDTO,
                                       CustomerSessionDTO customerSessionDTO) {
@@ -84,89 +85,92 @@ public class OrderService {
         if (customerSessionDTO == null) {
             throw new IllegalStateException("로그인 세션이 없습니다. 다시 로그인해주세요");
         }
-        CustomerEntity customerEntity = customerRepository.findByLoginId(customerSessionDTO.getLoginId())
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "error";
+        try {
+            OrderHistoryDTO placedOrder = checkoutConcurrencyPolicy.execute(() -> transactionTemplate.execute(
+                    status -> placeOrderOnce(orderDTO, orderItemDTO, customerSessionDTO)));
+            outcome = "success";
+            return placedOrder;
+        } catch (InsufficientInventoryException e) {
+            outcome = "insufficient_stock";
+            throw e;
+        } catch (IllegalArgumentException e) {
+            outcome = "validation_error";
+            throw e;
+        } catch (OrderConflictException e) {
+            outcome = "conflict";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer("checkout.place.order", "outcome", outcome));
+        }
+    }
+
+    private OrderHistoryDTO placeOrderOnce(OrderDTO orderDTO,
+                                           OrderItemDTO orderItemDTO,
+                                           CustomerSessionDTO customerSessionDTO) {
+        // pessimistic 모드면 고객 행을 먼저 잠금 (잠금 순서: 고객 -> 재고)
+        Optional<CustomerEntity> customer =
+                checkoutConcurrencyPolicy.strategy() == CheckoutConcurrencyPolicy.Strategy.PESSIMISTIC
+                        ? customerRepository.findForUpdateByLoginId(customerSessionDTO.getLoginId())
+                        : customerRepository.findByLoginId(customerSessionDTO.getLoginId());
+        CustomerEntity customerEntity = customer
                 .orElseThrow(() -> new IllegalStateException("고객 정보가 없습니다."));
 
-        // CHAMPAGNE + SIMPLE 스타일은 거절
-        if (OrderDnrKind.CHAMPAGNE == orderDTO.getDinnerKind()
-                && OrderDnrStyle.SIMPLE == orderDTO.getDinnerStyle()) {
-            throw new IllegalArgumentException("샴페인 축제 디너와 SIMPLE 스타일은 같이 주문할 수 없습니다.");
-        }
-        // 사실상 없는 주문 (모든 아이템 0개) 거절
-        if (orderItemDTO.getOrderItems()
-                .values()
-                .stream()
-                .mapToInt(Integer::intValue)
-                .sum() == 0) {
-            throw new IllegalArgumentException("모든 아이템이 0개인 주문을 요청할 수 없습니다.");
-        }
+        // 주문 내용 검증 (CHAMPAGNE + SIMPLE, 모든 아이템 0개, 음수 수량)
+        OrderPricing.validate(orderDTO, orderItemDTO);
 
         OrderEntity order = OrderMapper.toOrderEntity(orderDTO, customerEntity);    // 주문될 orderEntity 생성
         List<OrderItemEntity> orderItemEntityList = new ArrayList<>();  // OrderItem 조사해서 담을 변수
-        List<String> insufficientItems = new ArrayList<>(); // 부족한 재고의 이름을 모은 리스트
-        int totalPrice = 0; // 총 가격(totalPrice)을 담을 변수
-
-        // OrderItemDTO 내부 (주문한 item) 반복
-        for (Map.Entry<String, Integer> entry : orderItemDTO.getOrderItems().entrySet()) {
-            String orderItemName = entry.getKey();
-            int quantity = entry.getValue();
-
-            // 없는 item인지 검사
-            ItemEntity item = itemRepository.findByName(orderItemName)
-                    .orElseThrow(() -> new IllegalArgumentException("없는 item입니다." + orderItemName));
-
-            // item이 재고에 등록됐는지 검사
-            InventoryEntity inventoryEntity = inventoryRepository.findByItemId(item.getId())
-                    .orElseThrow(() -> new IllegalArgumentException(
-                            "재고에 등록되지 않은 item입니다." + orderItemName));
-
-            // 부족한 재고 이름은 리스트에 추가
-            if (inventoryEntity.getStockQuantity() < quantity) {
-                insufficientItems.add(orderItemName + " (요청: " + quantity +
-                        ", 보유: " + inventoryEntity.getStockQuantity() + ")\n");
+        // 총 가격(totalPrice): sum(단가 * quantity) 후 VIP 할인. 없는 item이 있으면 여기서 거절됨
+        int totalPrice = OrderPricing.applyDiscount(
+                OrderPricing.subtotal(orderItemDTO, itemCatalog), customerEntity.getMembershipLevel());
+
+        // OrderItemDTO 내부 (주문한 item, 수량 0은 건너뜀) slot 순서대로 반복
+        ItemCatalog.Item[] itemsBySlot = itemCatalog.snapshot().bySlot();
+        for (int slot = 0; slot < itemsBySlot.length; slot++) {
+            int quantity = orderItemDTO.quantity(slot);
+            if (quantity == 0) {
                 continue;
             }
 
-            // 재고가 충분하면 quantity만큼 decrease
-            inventoryEntity.setStockQuantity(inventoryEntity.getStockQuantity() - quantity);
+            ItemCatalog.Item item = itemsBySlot[slot]; // subtotal()에서 이미 존재 확인됨
 
-            // totalPrice += 단가(unitPrice) * quantity
-            totalPrice = totalPrice + item.getUnitPrice() * quantity;
-
-            // OrderItemEntity 구성 후 저장
+            // OrderItemEntity 구성 (orderId는 order가 id를 받은 뒤에 채움)
             OrderItemEntity orderItemEntity = new OrderItemEntity();
-            // OrderItemId(PK)를 직접 생성해 넣음 -> JPA가 @MapsId 때문에 id를 Long으로 채우려고 하기 때문
-            OrderItemId orderItemId = new OrderItemId(order.getId(), item.getId());
-            orderItemEntity.setId(orderItemId);
-            orderItemEntity.setOrder(order); // 나머지는 그냥 set해도 됨
-            orderItemEntity.setItem(item);
+            orderItemEntity.setId(new OrderItemId(null, item.id()));
+            orderItemEntity.setOrder(order);
+            orderItemEntity.setItem(itemRepository.getReferenceById(item.id())); // SELECT 없이 프록시만 연결
             orderItemEntity.setQuantity(quantity);
 
             orderItemEntityList.add(orderItemEntity);
         }
 
-        // 재고가 부족한 게 있었다면 예외 호출
-        if (!insufficientItems.isEmpty()) {
-            throw new InsufficientInventoryException("재고가 부족합니다", insufficientItems);
-        }
+        // 재고 차감 (InventoryEngine / checkout.concurrency 설정에 따라 방식이 다름)
+        // 재고가 부족한 게 있었다면 부족한 item 목록과 함께 InsufficientInventoryException
+        inventoryService.reserve(orderItemEntityList);
 
-        // 할인 규칙 적용: VIP였다면 totalPrice 10퍼센트 할인
-        if (customerEntity.getMembershipLevel().equals("VIP")) {
-            totalPrice = ((int) (totalPrice * 0.9)) / 10 * 10;
-        }
+        // totalPrice는 persist 전에 반영 (persist 뒤에 바꾸면 INSERT 후 UPDATE가 한 번 더 나감)
+        order.setTotalPrice(totalPrice);
+        // sequence(pooled)에서 id만 받아오고 INSERT는 commit 시 flush에서 나감
+        orderRepository.save(order);
 
-        order.setTotalPrice(totalPrice); // totalPrice 반영
-        orderRepository.save(order); // 주문될 order 테이블에 반영
-        orderItemRepository.saveAll(orderItemEntityList); // orderItemEntity 한번에 저장 (bulk save)
+        // OrderItemId(PK)를 직접 채워 넣음 -> JPA가 @MapsId 때문에 id를 Long으로 채우려고 하기 때문
+        for (OrderItemEntity orderItemEntity : orderItemEntityList) {
+            orderItemEntity.getId().setOrderId(order.getId());
+        }
+        orderItemRepository.saveAll(orderItemEntityList); // order_item INSERT는 flush 시 JDBC batch 하나로 나감
         customerEntity.setOrderCount(customerEntity.getOrderCount() + 1); // customerEntity의 orderCount 1 증가
         if (customerEntity.getOrderCount() >= 5)
             customerEntity.setMembershipLevel("VIP"); // orderCount 5 이상이면 VIP로 승격
 
-        return OrderMapper.toOrderHistoryDTO(order);
+        OrderHistoryDTO placedOrder = OrderMapper.toOrderHistoryDTO(order);
+        orderEventBus.placedAfterCommit(placedOrder); // commit되면 PLACED 이벤트 (보드 반영 등은 consumer가 트랜잭션 밖에서)
+        return placedOrder;
 
         // 영속 상태이기 때문에 아래 변경사항은 자동 반영됨
         // customerEntity: orderCount 1증가 + VIP승격
-        // inventoryEntity: stockQuantity 주문량만큼 감소
+        // (inventory는 reserve()에서 InventoryEngine이 반영함)
     }
 
     /* ============ 재주문을 위한 함수 ============ */
@@ -177,83 +181,96 @@ public class OrderService {
 
     public OrderItemDTO buildOrderItemDTO(Long orderId) {
         // order_item테이블에서 orderId가 일치하는 레코드 모두 가져와서
-        // OrderItemDTO의 형(Map<String, Integer>)으로 변환
-        Map<String, Integer> itemMap =
-                orderItemRepository.findAllByOrderId(orderId)
-                        .stream()
-                        .collect(Collectors.toMap(
-                                oi -> oi.getItem().getName(), // Key = Item Name
-                                OrderItemEntity::getQuantity // Value = quantity
-                        ));
-
-        OrderItemDTO dto = new OrderItemDTO();
-        dto.setOrderItems(itemMap);
-        return dto;
+        // OrderItemDTO(item slot별 수량)로 변환
+        return OrderMapper.toOrderItemDTO(orderItemRepository.findAllByOrderId(orderId), itemCatalog);
     }
 
     public CustomerSessionDTO getFreshCustomerSessionDTO(String loginId) {
-        CustomerEntity customerEntity = customerRepository.findByLoginId(loginId)
+        return customerRepository.findSessionByLoginId(loginId)
                 .orElseThrow(() -> new IllegalArgumentException("해당 고객이 없습니다."));
-        return CustomerMapper.toCustomerSessionDTO(customerEntity);
     }
 
     /* ============ 직원이 조회할 주문 위한 함수 ============ */
-    // Chef가 볼 주문 조회
-    public List<OrderHistoryDTO> getChefOrders() {
-        // 주문 상태가 "ORDERED" 또는 "COOKING"인 주문만 조회
-        return orderRepository.findByStatusIn(Arrays.asList(OrderStatus.ORDERED, OrderStatus.COOKING))
-                .stream()
-                .map(OrderMapper::toOrderHistoryDTO)
-                .toList();
+    // chef/delivery 보드: DB 대신 ActiveOrderIndex에서 읽음
+    // Chef: "ORDERED", "COOKING" / Delivery: "COOKED", "DELIVERING" + 요리중("COOKING") 테이블
+    public ActiveOrderIndex.Snapshot getActiveOrders() {
+        return activeOrderIndex.snapshot();
     }
 
-    // Delivery가 볼 주문 조회
-    public List<OrderHistoryDTO> getDeliveryOrders() {
-        // 주문 상태가 "COOKED" 또는 "DELIVERING"인 주문만 조회
-        return orderRepository.findByStatusIn(Arrays.asList(OrderStatus.COOKED, OrderStatus.DELIVERING))
-                .stream()
-                .map(OrderMapper::toOrderHistoryDTO)
-                .toList();
+    /* ============ 주문시작/완료, 배달시작/완료 처리 ============ */
+    // 각 전이는 "status가 from일 때만 to로" 바꾸는 UPDATE 한 문장 (주문을 읽어서 Java에서 비교하지 않음)
+    // 두 태블릿이 동시에 눌러도 DB에서 한 쪽만 바뀜 -> 단건은 바뀌었는지(boolean), 일괄은 바뀐 주문 수를 반환
+
+    @Transactional
+    public boolean startCooking(Long orderId) {
+        return transition(List.of(orderId), OrderStatus.ORDERED, OrderStatus.COOKING) == 1;
     }
 
-    // 요리중인 주문만 조회 (배달직원에게도 보여줄 테이블용)
-    public List<OrderHistoryDTO> getCookingOrders() {
-        return orderRepository.findByStatusIn(Arrays.asList(OrderStatus.COOKING))
-                .stream()
-                .map(OrderMapper::toOrderHistoryDTO)
-                .toList();
+    @Transactional
+    public boolean completeCooking(Long orderId) {
+        return transition(List.of(orderId), OrderStatus.COOKING, OrderStatus.COOKED) == 1;
     }
 
-    /* ============ 주문시작/완료, 배달시작/완료 처리 ============ */
+    @Transactional
+    public boolean startDelivery(Long orderId) {
+        return transition(List.of(orderId), OrderStatus.COOKED, OrderStatus.DELIVERING) == 1;
+    }
+
+    @Transactional
+    public boolean completeDelivery(Long orderId) {
+        return transition(List.of(orderId), OrderStatus.DELIVERING, OrderStatus.DELIVERED) == 1;
+    }
+
+    /* ============ 일괄 처리 (단건과 같은 UPDATE 한 문장으로) ============ */
 
     @Transactional
-    public void startCooking(Long orderId) {
-        OrderEntity oe = findOrder(orderId);
-        // Status가 "ORDERED"일 때만 "COOKING"으로 변경
-        if (oe.getStatus() == OrderStatus.ORDERED) oe.setStatus(OrderStatus.COOKING);
+    public int startCooking(Collection<Long> orderIds) {
+        return transition(orderIds, OrderStatus.ORDERED, OrderStatus.COOKING);
     }
 
     @Transactional
-    public void completeCooking(Long orderId) {
-        OrderEntity oe = findOrder(orderId);
-        // Status가 "COOKING"일 때만 "COOKED"으로 변경
-        if (oe.getStatus() == OrderStatus.COOKING) oe.setStatus(OrderStatus.COOKED);
+    public int completeCooking(Collection<Long> orderIds) {
+        return transition(orderIds, OrderStatus.COOKING, OrderStatus.COOKED);
     }
 
     @Transactional
-    public void startDelivery(Long orderId) {
-        OrderEntity oe = findOrder(orderId);
-        // Status가 "COOKED"일 때만 "DELIVERING"으로 변경
-        if (oe.getStatus() == OrderStatus.COOKED) oe.setStatus(OrderStatus.DELIVERING);
+    public int startDelivery(Collection<Long> orderIds) {
+        return transition(orderIds, OrderStatus.COOKED, OrderStatus.DELIVERING);
     }
 
     @Transactional
-    public void completeDelivery(Long orderId) {
-        OrderEntity oe = findOrder(orderId);
-        // Status가 "DELIVERING"일 때만 "DELIVERED"으로 변경
-        if (oe.getStatus() == OrderStatus.DELIVERING) {
-            oe.setDeliveryTime(OffsetDateTime.now(ZoneOffset.ofHours(9)));
-            oe.setStatus(OrderStatus.DELIVERED);
+    public int completeDelivery(Collection<Long> orderIds) {
+        return transition(orderIds, OrderStatus.DELIVERING, OrderStatus.DELIVERED);
+    }
+
+    // 바뀐 주문 수 반환. 요청한 주문 중 일부만 바뀌었다면 나머지는 없거나 이미 다른 status인 주문
+    // UPDATE가 바뀐 주문 id를 같이 돌려주므로 (RETURNING) 어떤 주문의 이벤트를 발행할지 따로 조회하지 않음
+    private int transition(Collection<Long> orderIds, OrderStatus from, OrderStatus to) {
+        Set<Long> ids = new LinkedHashSet<>(orderIds);
+        ids.remove(null);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        if (ids.size() > MAX_BULK_TRANSITION) {
+            throw new IllegalArgumentException("한 번에 처리할 수 있는 주문은 " + MAX_BULK_TRANSITION + "건까지입니다.");
+        }
+
+        int requested = ids.size();
+        OffsetDateTime deliveryTime = to == OrderStatus.DELIVERED ? OffsetDateTime.now(ZoneOffset.ofHours(9)) : null;
+        List<Long> changed = orderRepository.transitionStatus(ids, from, to, deliveryTime);
+        int applied = changed.size();
+
+        // 전이별로 실제 바뀐 주문 수와 건너뛴 주문 수 (건너뜀: 다른 태블릿이 먼저 바꿨거나 없는 주문)
+        meterRegistry.counter("orders.status.transitions", "from", from.name(), "to", to.name(), "result", "applied")
+                .increment(applied);
+        meterRegistry.counter("orders.status.transitions", "from", from.name(), "to", to.name(), "result", "skipped")
+                .increment(requested - applied);
+
+        // commit 뒤에 실제로 바뀐 주문마다 상태 전이 이벤트 (건너뛴 주문은 발행하지 않음)
+        for (Long orderId : changed) {
+            orderEventBus.transitionedAfterCommit(orderId, from, to, deliveryTime);
         }
+        // DELIVERED는 끝 상태라 OrderDetailCache(DELIVERED만 담음)에서 지울 것 없음
+        return applied;
     }
 }
@@ -0,0 +1,106 @@
+package com.devak.mrdaebakdinner.service;
+
+// 모델이 조금씩 보내는 답변 JSON 조각에서 최상위 "message" 문자열 값만 글자 단위로 꺼냄 (stream 모드)
+// { "status": ..., "message": "안녕하세요\n...", "extracted_info": {...} }
+// - 조각 경계가 어디든 상관없음 (escape, \\uXXXX 중간에서 잘려도 다음 조각에서 이어서 해석)
+// - JSON이 올바른지는 검사하지 않음. 다 받은 뒤에 AiOrderService가 전체를 다시 파싱함
+// 한 답변에 하나씩 만들어 쓰고, thread 하나에서만 사용
+public class ReplyMessageExtractor {
+
+    private static final String FIELD = "message";
+
+    private int depth;
+    private boolean inString;
+    private boolean escape;
+    private int unicodeRemaining;  // \\u 뒤에 남은 16진수 자리 수
+    private int unicodeValue;
+    private boolean keyPosition;   // 최상위 object에서 key가 올 자리
+    private boolean valuePosition; // 최상위 object에서 ':' 뒤 값이 올 자리
+    private StringBuilder key;     // 지금 읽고 있는 최상위 key (key가 아니면 null)
+    private String lastKey;
+    private boolean capturing;     // 지금 문자열이 "message"의 값
+
+    // 조각 하나를 읽고, 이번 조각에서 새로 나온 message 글자들을 반환 (없으면 빈 문자열)
+    public String feed(CharSequence chunk) {
+        StringBuilder delta = new StringBuilder();
+        for (int i = 0; i < chunk.length(); i++) {
+            char c = chunk.charAt(i);
+            if (inString) {
+                readStringChar(c, delta);
+                continue;
+            }
+            switch (c) {
+                case '{', '[' -> {
+                    depth++;
+                    keyPosition = depth == 1 && c == '{';
+                    valuePosition = false;
+                }
+                case '}', ']' -> depth--;
+                case ',' -> keyPosition = depth == 1;
+                case ':' -> valuePosition = depth == 1;
+                case '"' -> {
+                    inString = true;
+                    if (depth == 1 && keyPosition) {
+                        key = new StringBuilder();
+                        keyPosition = false;
+                    } else if (depth == 1 && valuePosition) {
+                        capturing = FIELD.equals(lastKey);
+                        valuePosition = false;
+                    }
+                }
+                default -> {
+                    if (!Character.isWhitespace(c) && depth == 1) {
+                        valuePosition = false; // 숫자/true/false/null 값
+                    }
+                }
+            }
+        }
+        return delta.toString();
+    }
+
+    private void readStringChar(char c, StringBuilder delta) {
+        if (unicodeRemaining > 0) {
+            unicodeValue = unicodeValue * 16 + Character.digit(c, 16);
+            if (--unicodeRemaining == 0) {
+                emit((char) unicodeValue, delta);
+            }
+            return;
+        }
+        if (escape) {
+            escape = false;
+            switch (c) {
+                case 'n' -> emit('\n', delta);
+                case 't' -> emit('\t', delta);
+                case 'r' -> emit('\r', delta);
+                case 'b' -> emit('\b', delta);
+                case 'f' -> emit('\f', delta);
+                case 'u' -> {
+                    unicodeRemaining = 4;
+                    unicodeValue = 0;
+                }
+                default -> emit(c, delta); // \" \\ \/
+            }
+            return;
+        }
+        if (c == '\\') {
+            escape = true;
+        } else if (c == '"') {
+            inString = false;
+            if (key != null) {
+                lastKey = key.toString();
+                key = null;
+            }
+            capturing = false;
+        } else {
+            emit(c, delta);
+        }
+    }
+
+    private void emit(char c, StringBuilder delta) {
+        if (key != null) {
+            key.append(c);
+        } else if (capturing) {
+            delta.append(c);
+        }
+    }
+}
@@ -0,0 +1,64 @@
+-- 초기 스키마 (entity 매핑과 같아야 함: spring.jpa.hibernate.ddl-auto=validate)
+
+CREATE TABLE customer (
+    id               BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    login_id         VARCHAR(30)  NOT NULL,
+    password         VARCHAR(255) NOT NULL,
+    name             VARCHAR(30)  NOT NULL,
+    address          VARCHAR(255),
+    contact          VARCHAR(255),
+    order_count      INTEGER      NOT NULL DEFAULT 0,
+    membership_level VARCHAR(255),
+    version          BIGINT       NOT NULL DEFAULT 0,
+    CONSTRAINT uk_customer_login_id UNIQUE (login_id)
+);
+
+CREATE TABLE item (
+    id         BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name       VARCHAR(255) NOT NULL,
+    unit_price INTEGER      NOT NULL,
+    CONSTRAINT uk_item_name UNIQUE (name)
+);
+
+CREATE TABLE inventory (
+    item_id        BIGINT  NOT NULL PRIMARY KEY,
+    stock_quantity INTEGER NOT NULL,
+    version        BIGINT  NOT NULL DEFAULT 0,
+    CONSTRAINT fk_inventory_item FOREIGN KEY (item_id) REFERENCES item (id)
+);
+
+-- id는 pooled sequence (allocationSize = 50과 increment를 맞춤)
+CREATE SEQUENCE orders_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE orders (
+    id               BIGINT                      NOT NULL PRIMARY KEY,
+    order_time       TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    customer_id      BIGINT,
+    dinner_kind      VARCHAR(255)                NOT NULL,
+    dinner_style     VARCHAR(255)                NOT NULL,
+    delivery_address VARCHAR(255)                NOT NULL,
+    delivery_time    TIMESTAMP(6) WITH TIME ZONE,
+    total_price      INTEGER                     NOT NULL,
+    card_number      VARCHAR(255)                NOT NULL,
+    status           VARCHAR(255)                NOT NULL,
+    CONSTRAINT fk_orders_customer FOREIGN KEY (customer_id) REFERENCES customer (id)
+);
+
+-- PK가 (order_id, item_id) 순서라서 order_id로 찾는 조회는 PK index로 처리됨
+CREATE TABLE order_item (
+    order_id BIGINT  NOT NULL,
+    item_id  BIGINT  NOT NULL,
+    quantity INTEGER NOT NULL,
+    CONSTRAINT pk_order_item PRIMARY KEY (order_id, item_id),
+    CONSTRAINT fk_order_item_order FOREIGN KEY (order_id) REFERENCES orders (id),
+    CONSTRAINT fk_order_item_item FOREIGN KEY (item_id) REFERENCES item (id)
+);
+
+CREATE SEQUENCE inventory_journal_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE inventory_journal (
+    id         BIGINT                      NOT NULL PRIMARY KEY,
+    item_id    BIGINT                      NOT NULL,
+    delta      INTEGER                     NOT NULL,
+    created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
@@ -1,3 +1,4 @@
+-- item / 단가와 초기 재고 (item마다 10개)
 INSERT INTO item (name, unit_price) VALUES
 ('wine', 43000),
 ('steak', 39000),
@@ -10,14 +11,5 @@ INSERT INTO item (name, unit_price) VALUES
 ('baguette', 8000),
 ('champagne', 98000);
 
-INSERT INTO inventory (item_id, stock_quantity) VALUES
-(1, 10),
-(2, 10),
-(3, 10),
-(4, 10),
-(5, 10),
-(6, 10),
-(7, 10),
-(8, 10),
-(9, 10),
-(10, 10);
\ No newline at end of file
+INSERT INTO inventory (item_id, stock_quantity, version)
+SELECT id, 10, 0 FROM item ORDER BY id;
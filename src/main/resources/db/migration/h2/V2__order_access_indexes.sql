@@ -0,0 +1,4 @@
+-- PostgreSQL용 V2와 같은 조회를 위한 index (H2는 partial index가 없어서 status 전체에 index)
+CREATE INDEX idx_orders_customer_order_time ON orders (customer_id, order_time);
+
+CREATE INDEX idx_orders_active_status ON orders (status, id);
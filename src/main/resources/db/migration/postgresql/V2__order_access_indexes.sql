@@ -0,0 +1,8 @@
+-- 고객별 주문 이력: WHERE customer_id = ? ORDER BY order_time
+CREATE INDEX idx_orders_customer_order_time ON orders (customer_id, order_time);
+
+-- chef/delivery 보드: 진행 중 status만 (DELIVERED는 계속 쌓이므로 index에서 제외)
+CREATE INDEX idx_orders_active_status ON orders (status, id)
+    WHERE status IN ('ORDERED', 'COOKING', 'COOKED', 'DELIVERING');
+
+-- order_item(order_id)는 PK (order_id, item_id)가 처리하므로 따로 만들지 않음
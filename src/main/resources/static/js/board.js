@@ -0,0 +1,136 @@
+(function () {
+    // chef/delivery 보드: 화면을 그린 시점(data-board-seq) 이후의 주문 변화분을 SSE로 받아 표에 반영
+    // 각 tbody는 data-statuses에 적힌 status의 주문만 보여줌
+    const tables = Array.from(document.querySelectorAll("tbody[data-statuses]")).map((tbody) => ({
+        tbody,
+        statuses: tbody.dataset.statuses.split(","),
+        actions: tbody.dataset.actions, // "chef" | "delivery" | undefined(버튼 없음)
+        bulkForm: tbody.dataset.bulkForm, // 일괄 처리 form id (없으면 체크박스 없음)
+    }));
+    if (tables.length === 0) {
+        return;
+    }
+
+    let lastSeq = Number(document.body.dataset.boardSeq || 0);
+
+    // 서버(Thymeleaf)의 'yyyy, MMM d @ h:mm a' (Asia/Seoul) 형식과 맞춤
+    const timeFormat = new Intl.DateTimeFormat("en-US", {
+        timeZone: "Asia/Seoul",
+        year: "numeric",
+        month: "short",
+        day: "numeric",
+        hour: "numeric",
+        minute: "2-digit",
+        hour12: true,
+    });
+
+    function formatOrderTime(value) {
+        if (!value) {
+            return "-";
+        }
+        const parts = {};
+        timeFormat.formatToParts(new Date(value)).forEach((p) => (parts[p.type] = p.value));
+        return `${parts.year}, ${parts.month} ${parts.day} @ ${parts.hour}:${parts.minute} ${parts.dayPeriod}`;
+    }
+
+    function cell(text) {
+        const td = document.createElement("td");
+        td.textContent = text == null ? "" : String(text);
+        return td;
+    }
+
+    function actionCell(action, orderId, buttonClass, label) {
+        const td = document.createElement("td");
+        const form = document.createElement("form");
+        form.method = "post";
+        form.className = "action-form";
+        form.action = `/staff/${action}?orderId=${encodeURIComponent(orderId)}`;
+        const button = document.createElement("button");
+        button.type = "submit";
+        button.className = buttonClass;
+        button.textContent = label;
+        form.appendChild(button);
+        td.appendChild(form);
+        return td;
+    }
+
+    function checkboxCell(bulkForm, orderId, checked) {
+        const td = document.createElement("td");
+        const input = document.createElement("input");
+        input.type = "checkbox";
+        input.name = "orderIds";
+        input.value = orderId;
+        input.checked = checked;
+        input.setAttribute("form", bulkForm);
+        td.appendChild(input);
+        return td;
+    }
+
+    function buildRow(order, actions, bulkForm, checked) {
+        const tr = document.createElement("tr");
+        tr.dataset.orderId = order.id;
+        tr.dataset.orderTime = order.orderTime;
+        if (bulkForm) {
+            tr.appendChild(checkboxCell(bulkForm, order.id, checked));
+        }
+        tr.appendChild(cell(order.id));
+        tr.appendChild(cell(order.customerLoginId));
+        tr.appendChild(cell(order.status));
+        tr.appendChild(cell(order.deliveryAddress));
+        tr.appendChild(cell(formatOrderTime(order.orderTime)));
+
+        const detail = document.createElement("td");
+        const link = document.createElement("a");
+        link.href = `/orders/detail/${encodeURIComponent(order.id)}`;
+        link.className = "detail-link";
+        link.textContent = "상세보기";
+        detail.appendChild(link);
+        tr.appendChild(detail);
+
+        if (actions) {
+            tr.appendChild(actionCell(`${actions}/start`, order.id, "start-button", "시작"));
+            tr.appendChild(actionCell(`${actions}/complete`, order.id, "complete-button", "완료"));
+        }
+        return tr;
+    }
+
+    // 서버와 같은 주문 순서 (order_time, id)를 유지하며 끼워 넣음
+    function isAfter(row, order) {
+        const rowTime = Date.parse(row.dataset.orderTime);
+        const orderTime = Date.parse(order.orderTime);
+        return rowTime > orderTime || (rowTime === orderTime && Number(row.dataset.orderId) > Number(order.id));
+    }
+
+    function insertSorted(tbody, tr, order) {
+        const next = Array.from(tbody.rows).find((row) => isAfter(row, order));
+        tbody.insertBefore(tr, next || null);
+    }
+
+    function applyDelta(delta) {
+        if (delta.seq <= lastSeq) {
+            return; // 이미 화면에 반영된 변화
+        }
+        lastSeq = delta.seq;
+        const order = delta.order;
+        tables.forEach(({ tbody, statuses, actions, bulkForm }) => {
+            const existing = tbody.querySelector(`tr[data-order-id="${order.id}"]`);
+            // 같은 표 안에서 status만 바뀐 행은 체크 상태 유지
+            const checkbox = existing && existing.querySelector('input[name="orderIds"]');
+            const checked = Boolean(checkbox && checkbox.checked);
+            if (existing) {
+                existing.remove();
+            }
+            if (statuses.includes(order.status)) {
+                insertSorted(tbody, buildRow(order, actions, bulkForm, checked), order);
+            }
+        });
+    }
+
+    const source = new EventSource(`/staff/board/stream?since=${lastSeq}`);
+    source.addEventListener("delta", (event) => applyDelta(JSON.parse(event.data)));
+    // 서버가 놓친 변화분을 다 줄 수 없을 때 (오래 끊겼거나 서버 재시작)
+    source.addEventListener("reload", () => {
+        source.close();
+        location.reload();
+    });
+})();
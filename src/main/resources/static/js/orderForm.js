@@ -184,28 +184,27 @@
         // 스크롤 하단으로
         chatContainer.scrollTop = chatContainer.scrollHeight;
 
-        // AI 응답 요청 & 처리
+        // AI 답변 말풍선 (답변이 생성되는 대로 채움)
+        const botMsg = document.createElement("div");
+        botMsg.classList.add("chat-message", "bot-message");
+
+        // AI 응답 요청 & 처리 (stream: "token" event로 답변 조각, 마지막에 "result" event)
         try {
-            const response = await fetch("/customer/ai-chat-order", {
-                method: "POST",
-                headers: { "Content-Type": "application/json" },
-                body: JSON.stringify({ userInput }),
+            const data = await streamChat(userInput, (text) => {
+                if (!botMsg.isConnected) {
+                    chatContainer.appendChild(botMsg);
+                }
+                botMsg.textContent += text;
+                chatContainer.scrollTop = chatContainer.scrollHeight;
             });
-            const data = await response.json();
             // { "status": "CONTINUE", "message": "..." }
             // { "status": "ERROR", "message": "..." }
             // { "status": "DONE", "menu": "...", "style": "...", "items": "...", ... }
 
             // data.status === "CONTINUE"
             if (data.status === "CONTINUE") {
-                // AI 답변 추가
-                const botMsg = document.createElement("div");
-                botMsg.classList.add("chat-message", "bot-message");
-                botMsg.textContent = data.message;
-                chatContainer.appendChild(botMsg);
-
-                // 스크롤 하단으로
-                chatContainer.scrollTop = chatContainer.scrollHeight;
+                // AI 답변 (stream으로 받은 글자를 최종 message로 맞춤)
+                showBotMessage(botMsg, data.message);
 
                 voiceMessage.textContent = "답변 완료";
                 return;
@@ -240,11 +239,8 @@
                     data.deliveryAddress || "";
                 document.getElementById("cardNumber").value = data.cardNumber || "";
 
-                // 마지막 AI 답변 추가
-                const botMsg = document.createElement("div");
-                botMsg.classList.add("chat-message", "bot-message");
-                botMsg.textContent = data.message;
-                chatContainer.appendChild(botMsg);
+                // 마지막 AI 답변
+                showBotMessage(botMsg, data.message);
 
                 voiceMessage.textContent = "주문 폼이 자동으로 채워졌습니다";
 
@@ -253,14 +249,82 @@
 
             // data.status === "ERROR"
             else {
+                botMsg.remove();
                 voiceMessage.textContent = "Error: " + data.message;
                 return;
             }
         } catch (err) {
+            botMsg.remove();
             voiceMessage.textContent = "오류: " + err.message;
         }
     });
 
+    function showBotMessage(botMsg, message) {
+        botMsg.textContent = message;
+        if (!botMsg.isConnected) {
+            chatContainer.appendChild(botMsg);
+        }
+        chatContainer.scrollTop = chatContainer.scrollHeight;
+    }
+
+    // POST /customer/ai-chat-order/stream 응답(SSE)을 읽음 (EventSource는 GET만 되므로 fetch로 직접)
+    // "token" event마다 onToken(text), "result" event의 내용을 반환
+    async function streamChat(userInput, onToken) {
+        const response = await fetch("/customer/ai-chat-order/stream", {
+            method: "POST",
+            headers: {
+                "Content-Type": "application/json",
+                Accept: "text/event-stream",
+            },
+            body: JSON.stringify({ userInput }),
+        });
+        if (!response.ok || !response.body) {
+            throw new Error("응답 오류 (" + response.status + ")");
+        }
+
+        const reader = response.body.getReader();
+        const decoder = new TextDecoder();
+        let buffer = "";
+        let result = null;
+        while (result === null) {
+            const { value, done } = await reader.read();
+            if (done) {
+                break;
+            }
+            buffer += decoder.decode(value, { stream: true });
+            // event 하나는 빈 줄로 끝남
+            let boundary;
+            while ((boundary = buffer.search(/\r?\n\r?\n/)) >= 0) {
+                const frame = buffer.slice(0, boundary);
+                buffer = buffer.slice(boundary).replace(/^\r?\n\r?\n/, "");
+                const event = parseEvent(frame);
+                if (event.name === "token") {
+                    onToken(JSON.parse(event.data).text);
+                } else if (event.name === "result") {
+                    result = JSON.parse(event.data);
+                }
+            }
+        }
+        reader.cancel().catch(() => {});
+        if (result === null) {
+            throw new Error("답변이 중간에 끊겼습니다.");
+        }
+        return result;
+    }
+
+    function parseEvent(frame) {
+        let name = "message";
+        const data = [];
+        frame.split(/\r?\n/).forEach((line) => {
+            if (line.startsWith("event:")) {
+                name = line.slice(6).trim();
+            } else if (line.startsWith("data:")) {
+                data.push(line.slice(5).replace(/^ /, ""));
+            }
+        });
+        return { name, data: data.join("\n") };
+    }
+
     // 페이지 로드 시 기존 선택된 메뉴를 복원
     document.addEventListener("DOMContentLoaded", () => {
         // initiallySelectedMenu 다시 선택 & default item구성 반영 X
@@ -0,0 +1,141 @@
+package com.devak.mrdaebakdinner.benchmark;
+
+import com.devak.mrdaebakdinner.MrDaebakDinnerApplication;
+import com.devak.mrdaebakdinner.dto.CustomerSessionDTO;
+import com.devak.mrdaebakdinner.dto.CustomerSignUpDTO;
+import com.devak.mrdaebakdinner.dto.OrderDTO;
+import com.devak.mrdaebakdinner.dto.OrderItemDTO;
+import com.devak.mrdaebakdinner.entity.OrderDnrKind;
+import com.devak.mrdaebakdinner.entity.OrderDnrStyle;
+import com.devak.mrdaebakdinner.exception.InsufficientInventoryException;
+import com.devak.mrdaebakdinner.exception.OrderConflictException;
+import com.devak.mrdaebakdinner.service.CheckoutConcurrencyPolicy;
+import com.devak.mrdaebakdinner.service.CustomerService;
+import com.devak.mrdaebakdinner.service.InventoryService;
+import com.devak.mrdaebakdinner.service.OrderService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// checkout.concurrency 방식별로 같은 hot row(wine, steak)에 주문을 몰아넣고 처리량과 abort 비율을 비교
+// 실행: ./gradlew benchmark --tests '*CheckoutContentionBenchmark*'
+// (datasource는 실행 환경 설정을 그대로 사용. 고객/주문/재고를 실제로 쌓으므로 운영 DB에 돌리지 말 것)
+@Tag("benchmark")
+class CheckoutContentionBenchmark {
+
+    private static final int THREADS = Integer.getInteger("bench.threads", 16);
+    private static final int ORDERS_PER_THREAD = Integer.getInteger("bench.ordersPerThread", 50);
+    private static final int CUSTOMERS = Integer.getInteger("bench.customers", 4); // 적을수록 고객 행 충돌이 많아짐
+    private static final String RUN_ID = Long.toString(System.currentTimeMillis(), 36); // 같은 DB에 다시 돌려도 loginId가 겹치지 않게
+
+    @Test
+    void compareStrategies() throws Exception {
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-12s %10s %10s %10s %10s %10s %12s",
+                "strategy", "orders", "ok", "conflicts", "aborted", "abort%", "orders/sec"));
+        for (String strategy : List.of("conditional", "optimistic", "pessimistic")) {
+            report.add(run(strategy));
+        }
+        report.forEach(System.out::println);
+    }
+
+    private String run(String strategy) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MrDaebakDinnerApplication.class)
+                // command-line 인자로 넣어야 application.properties 값보다 우선함 (.properties()는 기본값이라 밀림)
+                // Ollama는 호출하지 않지만 ${OLLAMA_API_BASEURL}가 없는 환경에서도 뜨도록 채워 둠
+                .run("--checkout.concurrency=" + strategy,
+                        "--inventory.engine=database",
+                        "--server.port=0",
+                        "--spring.jpa.show-sql=false",
+                        "--ollama.api.baseurl=http://127.0.0.1:1")) {
+            // 측정 전에 실제로 쓰이는 방식이 맞는지 확인
+            assertThat(context.getBean(CheckoutConcurrencyPolicy.class).strategy())
+                    .isEqualTo(CheckoutConcurrencyPolicy.Strategy.valueOf(strategy.toUpperCase()));
+
+            OrderService orderService = context.getBean(OrderService.class);
+            CustomerService customerService = context.getBean(CustomerService.class);
+            InventoryService inventoryService = context.getBean(InventoryService.class);
+
+            int totalOrders = THREADS * ORDERS_PER_THREAD;
+            inventoryService.increaseCount(1L, totalOrders); // wine
+            inventoryService.increaseCount(2L, totalOrders); // steak
+
+            List<CustomerSessionDTO> customers = new ArrayList<>();
+            for (int i = 0; i < CUSTOMERS; i++) {
+                CustomerSignUpDTO signUp = new CustomerSignUpDTO();
+                signUp.setLoginId("b" + RUN_ID + "-" + strategy.charAt(0) + i);
+                signUp.setPassword("bench");
+                signUp.setName("bench");
+                customerService.signUp(signUp);
+                CustomerSessionDTO session = new CustomerSessionDTO();
+                session.setLoginId(signUp.getLoginId());
+                customers.add(session);
+            }
+
+            AtomicInteger ok = new AtomicInteger();
+            AtomicInteger aborted = new AtomicInteger();
+            AtomicInteger soldOut = new AtomicInteger();
+            ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                CustomerSessionDTO customer = customers.get(t % CUSTOMERS);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int n = 0; n < ORDERS_PER_THREAD; n++) {
+                        try {
+                            orderService.placeOrder(valentineOrder(), valentineItems(), customer);
+                            ok.incrementAndGet();
+                        } catch (OrderConflictException e) {
+                            aborted.incrementAndGet();
+                        } catch (InsufficientInventoryException e) {
+                            soldOut.incrementAndGet();
+                        }
+                    }
+                    return null;
+                }));
+            }
+
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+            pool.shutdown();
+
+            if (soldOut.get() > 0) {
+                System.out.println(strategy + ": 재고 부족 " + soldOut.get() + "건 (재고 설정 확인 필요)");
+            }
+            // conflicts: @Version 충돌로 롤백 후 재시도한 횟수 (aborted는 재시도를 다 쓴 주문)
+            Object conflicts = context.getBean(CheckoutConcurrencyPolicy.class).stats().get("conflicts");
+            return String.format("%-12s %10d %10d %10s %10d %9.2f%% %12.1f",
+                    strategy, totalOrders, ok.get(), conflicts, aborted.get(),
+                    100.0 * aborted.get() / totalOrders, ok.get() / seconds);
+        }
+    }
+
+    private static OrderDTO valentineOrder() {
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.setDinnerKind(OrderDnrKind.VALENTINE);
+        orderDTO.setDinnerStyle(OrderDnrStyle.SIMPLE);
+        orderDTO.setDeliveryAddress("bench");
+        orderDTO.setCardNumber("0000");
+        return orderDTO;
+    }
+
+    private static OrderItemDTO valentineItems() {
+        OrderItemDTO orderItemDTO = new OrderItemDTO();
+        orderItemDTO.setWine(1);
+        orderItemDTO.setSteak(1);
+        return orderItemDTO;
+    }
+}
@@ -0,0 +1,270 @@
+package com.devak.mrdaebakdinner.loadtest;
+
+import com.devak.mrdaebakdinner.MrDaebakDinnerApplication;
+import com.devak.mrdaebakdinner.controller.StaffMonitorController;
+import com.devak.mrdaebakdinner.service.AiChatStreamService;
+import com.devak.mrdaebakdinner.service.ConversationStore;
+import com.devak.mrdaebakdinner.service.OllamaClient;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// AI 주문 대화만 동시에 수백 개 돌려서 AiOrderController 경로의 처리량/꼬리 지연을 보는 부하 테스트 (GPU 없이)
+// - DB: H2 in-memory (loadtest profile), LLM: StubOllamaServer (latency 분포, stream, 잘못된 답변 비율 설정)
+// - 세션: signup -> login -> 대화 SCRIPT를 DONE까지. 실패(503 bulkhead, 깨진 모델 답변 등)하면 잠깐 쉬고 같은 턴을 다시 보냄
+// - 출력: 요청 하나하나의 p50/p95/p99, 재시도를 포함한 턴별 지연, 스레드 수(최대), 대화 저장소와 heap 크기(최대)
+// 실행: ./gradlew benchmark --tests '*AiChatConcurrencyBenchmark*' -Daibench.sessions=300 -Daibench.stream=true
+//       -Daibench.latency=lognormal:300,0.5 (fixed:200 / uniform:100-400) -Daibench.faultRate=0.05 -Daibench.maxInFlight=8
+@Tag("benchmark")
+class AiChatConcurrencyBenchmark {
+
+    private static final int SESSIONS = Integer.getInteger("aibench.sessions", 200);
+    private static final boolean STREAM = Boolean.getBoolean("aibench.stream");
+    private static final String LATENCY = System.getProperty("aibench.latency", "lognormal:300,0.5");
+    private static final double FAULT_RATE = Double.parseDouble(System.getProperty("aibench.faultRate", "0.05"));
+    private static final int MAX_IN_FLIGHT = Integer.getInteger("aibench.maxInFlight", 8);
+    private static final int STUB_THREADS = Integer.getInteger("aibench.stubThreads", 64);
+    private static final int MAX_ATTEMPTS = Integer.getInteger("aibench.maxAttempts", 20);
+    private static final long SAMPLE_MS = 100;
+
+    // 마지막 턴에 CONFIRM_KEYWORD -> stub이 DONE
+    private static final List<String> SCRIPT = List.of(
+            "발렌타인 디너 주세요",
+            "그랜드 스타일로 할게요",
+            "내일 저녁 7시에 서울시 광진구 %d번지로 배달해 주세요",
+            "카드는 1234-5678-9012-3456이고 이대로 " + StubOllamaServer.CONFIRM_KEYWORD);
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void driveSessionsToDone() throws Exception {
+        try (StubOllamaServer ollama = StubOllamaServer.start(
+                StubOllamaServer.Latency.parse(LATENCY), FAULT_RATE, STUB_THREADS);
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(MrDaebakDinnerApplication.class)
+                     .profiles("loadtest")
+                     // command-line 인자로 넣어야 application.properties 값보다 우선함 (.properties()는 기본값이라 밀림)
+                     .run("--server.port=0",
+                             "--ollama.api.baseurl=" + ollama.baseUrl(),
+                             "--ai.ollama.max-in-flight=" + MAX_IN_FLIGHT,
+                             "--ai.stream.threads=" + MAX_IN_FLIGHT,
+                             "--ai.stream.queue-size=" + SESSIONS)) {
+            // 설정이 실제로 반영됐는지 측정 전에 확인
+            assertThat(context.getBean(OllamaClient.class).stats())
+                    .containsEntry("maxInFlight", (long) MAX_IN_FLIGHT);
+            assertThat(context.getBean(AiChatStreamService.class).stats())
+                    .containsEntry("threads", (long) MAX_IN_FLIGHT)
+                    .containsEntry("queueCapacity", (long) SESSIONS);
+
+            String baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+            ConversationStore conversationStore = context.getBean(ConversationStore.class);
+            LatencyRecorder requests = new LatencyRecorder(); // 요청 하나하나
+            LatencyRecorder turns = new LatencyRecorder();    // 재시도까지 포함한 턴 (고객이 느끼는 지연)
+            Map<String, AtomicLong> failures = new ConcurrentHashMap<>();
+            AtomicInteger doneSessions = new AtomicInteger();
+
+            // 로그인까지는 측정 전에 끝냄
+            ExecutorService pool = Executors.newFixedThreadPool(SESSIONS);
+            List<LoadTestSession> sessions = new ArrayList<>();
+            List<Future<?>> logins = new ArrayList<>();
+            for (int i = 0; i < SESSIONS; i++) {
+                LoadTestSession session = new LoadTestSession(baseUrl, new LatencyRecorder());
+                sessions.add(session);
+                String loginId = "aibench" + i;
+                logins.add(pool.submit(() -> login(session, loginId)));
+            }
+            for (Future<?> login : logins) {
+                login.get();
+            }
+
+            ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+            MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+            System.gc();
+            long heapBefore = memory.getHeapMemoryUsage().getUsed();
+            threads.resetPeakThreadCount();
+            int threadsBefore = threads.getThreadCount();
+            Sampler sampler = new Sampler(conversationStore, memory);
+            Thread samplerThread = new Thread(sampler, "aibench-sampler");
+            samplerThread.setDaemon(true);
+            samplerThread.start();
+
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> chats = new ArrayList<>();
+            for (int i = 0; i < SESSIONS; i++) {
+                LoadTestSession session = sessions.get(i);
+                int sessionNo = i;
+                chats.add(pool.submit(() -> {
+                    start.await();
+                    if (chat(session, sessionNo, requests, turns, failures)) {
+                        doneSessions.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> chat : chats) {
+                chat.get();
+            }
+            double wallSeconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+            sampler.stop.set(true);
+            samplerThread.join();
+            pool.shutdown();
+            System.gc();
+            long heapAfter = memory.getHeapMemoryUsage().getUsed();
+
+            System.out.printf("sessions=%d, stream=%s, latency=%s, faultRate=%.2f, maxInFlight=%d, wall=%.1fs%n",
+                    SESSIONS, STREAM, LATENCY, FAULT_RATE, MAX_IN_FLIGHT, wallSeconds);
+            System.out.printf("reached DONE=%d/%d (%.1f sessions/sec), llm calls=%d (stream %d), injected faults=%s%n",
+                    doneSessions.get(), SESSIONS, doneSessions.get() / wallSeconds,
+                    ollama.requests(), ollama.streamRequests(), faultCounts(ollama));
+            System.out.println("failed attempts by reason=" + failures);
+            requests.report(wallSeconds).forEach(System.out::println);
+            turns.report(wallSeconds).forEach(System.out::println);
+            System.out.printf("threads: before=%d, peak=%d (JVM 전체, 부하 client thread %d개 포함)%n",
+                    threadsBefore, threads.getPeakThreadCount(), SESSIONS);
+            System.out.printf("conversation store peak: conversations=%d, weightedBytes=%d (%d bytes/conversation)%n",
+                    sampler.peakConversations, sampler.peakStoreBytes,
+                    sampler.peakConversations == 0 ? 0 : sampler.peakStoreBytes / sampler.peakConversations);
+            System.out.printf("heap used: before=%dMB, peak=%dMB, after(gc)=%dMB%n",
+                    heapBefore >> 20, sampler.peakHeap >> 20, heapAfter >> 20);
+            System.out.println(context.getBean(StaffMonitorController.class).showStats());
+        }
+    }
+
+    private Void login(LoadTestSession session, String loginId) {
+        session.postForm("POST /customer/signup", "/customer/signup",
+                LoadTestSession.form("loginId", loginId, "password", "load", "name", loginId,
+                        "address", "서울시 광진구", "contact", "010-0000-0000"),
+                "/customer");
+        session.postForm("POST /customer/login", "/customer/login",
+                LoadTestSession.form("loginId", loginId, "password", "load"),
+                "/customer/main");
+        return null;
+    }
+
+    // SCRIPT를 차례로 보냄. 마지막 턴이 DONE이면 true
+    private boolean chat(LoadTestSession session, int sessionNo, LatencyRecorder requests,
+                         LatencyRecorder turns, Map<String, AtomicLong> failures) throws InterruptedException {
+        String path = STREAM ? "/customer/ai-chat-order/stream" : "/customer/ai-chat-order";
+        for (int turn = 0; turn < SCRIPT.size(); turn++) {
+            String userInput = SCRIPT.get(turn).formatted(sessionNo);
+            String endpoint = "POST " + path + " turn" + (turn + 1);
+            long begin = System.nanoTime();
+            String status = null;
+            for (int attempt = 1; attempt <= MAX_ATTEMPTS && status == null; attempt++) {
+                long sent = System.nanoTime();
+                LoadTestSession.Response response = session.postJson(endpoint, path,
+                        objectMapper.createObjectNode().put("userInput", userInput).toString());
+                String reason = failureReason(response);
+                if (reason == null) {
+                    status = resultOf(response).path("status").asText();
+                    requests.record(endpoint, System.nanoTime() - sent, true);
+                } else {
+                    requests.record(endpoint, System.nanoTime() - sent, false);
+                    failures.computeIfAbsent(reason, k -> new AtomicLong()).incrementAndGet();
+                    // 동시에 몰린 재시도가 다시 한꺼번에 부딪치지 않게 jitter
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(20, 50L * attempt + 21));
+                }
+            }
+            boolean ok = status != null && (turn == SCRIPT.size() - 1 ? "DONE" : "CONTINUE").equals(status);
+            turns.record("turn" + (turn + 1) + " incl. retries", System.nanoTime() - begin, ok);
+            if (status == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 성공이면 null, 실패면 집계용 이유
+    private String failureReason(LoadTestSession.Response response) {
+        if (response.status() != 200) {
+            return "http " + response.status();
+        }
+        JsonNode result = resultOf(response);
+        if (result == null) {
+            return "no result";
+        }
+        if ("ERROR".equals(result.path("status").asText())) {
+            String message = result.path("message").asText();
+            return "ERROR " + (message.length() > 30 ? message.substring(0, 30) : message);
+        }
+        return null;
+    }
+
+    // 일반 응답은 본문 JSON, stream은 마지막 "result" event의 data
+    private JsonNode resultOf(LoadTestSession.Response response) {
+        try {
+            if (!STREAM) {
+                return objectMapper.readTree(response.body());
+            }
+            String data = null;
+            boolean resultEvent = false;
+            for (String line : response.body().split("\n")) {
+                if (line.startsWith("event:")) {
+                    resultEvent = "result".equals(line.substring(6).trim());
+                } else if (resultEvent && line.startsWith("data:")) {
+                    data = line.substring(5);
+                }
+            }
+            return data == null ? null : objectMapper.readTree(data);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static String faultCounts(StubOllamaServer ollama) {
+        StringBuilder counts = new StringBuilder("{");
+        for (StubOllamaServer.Fault fault : StubOllamaServer.Fault.values()) {
+            counts.append(counts.length() > 1 ? ", " : "").append(fault).append('=').append(ollama.faults(fault));
+        }
+        return counts.append('}').toString();
+    }
+
+    // 실행 중 대화 저장소 크기와 heap 사용량의 최댓값
+    private static class Sampler implements Runnable {
+
+        private final ConversationStore conversationStore;
+        private final MemoryMXBean memory;
+        private final AtomicBoolean stop = new AtomicBoolean();
+        private volatile long peakConversations;
+        private volatile long peakStoreBytes;
+        private volatile long peakHeap;
+
+        Sampler(ConversationStore conversationStore, MemoryMXBean memory) {
+            this.conversationStore = conversationStore;
+            this.memory = memory;
+        }
+
+        @Override
+        public void run() {
+            while (!stop.get()) {
+                Map<String, Long> stats = conversationStore.stats();
+                peakConversations = Math.max(peakConversations, stats.get("conversations"));
+                peakStoreBytes = Math.max(peakStoreBytes, stats.get("weightedBytes"));
+                peakHeap = Math.max(peakHeap, memory.getHeapMemoryUsage().getUsed());
+                try {
+                    Thread.sleep(SAMPLE_MS);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.devak.mrdaebakdinner.loadtest;
+
+import com.devak.mrdaebakdinner.MrDaebakDinnerApplication;
+import com.devak.mrdaebakdinner.controller.StaffMonitorController;
+import com.devak.mrdaebakdinner.service.InventoryService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// PostgreSQL/Ollama 없이 앱 전체(HTTP -> Controller -> Service -> DB)를 돌리는 부하 테스트
+// - DB: H2 in-memory (loadtest profile, PostgreSQL mode)
+// - LLM: StubOllamaServer
+// - 고객 세션: signup -> login -> main -> (주문 -> 이력 -> 상세 -> 재주문)*N -> AI 주문 대화
+// - 직원 세션: chef(요리 시작/완료), delivery(배달 시작/완료)가 보드를 보면서 주문을 끝까지 처리
+// 실행: ./gradlew benchmark --tests '*EndToEndLoadTest*' -Dloadtest.customers=50
+@Tag("benchmark")
+class EndToEndLoadTest {
+
+    private static final int CUSTOMERS = Integer.getInteger("loadtest.customers", 20);
+    private static final int ORDERS_PER_CUSTOMER = Integer.getInteger("loadtest.ordersPerCustomer", 5);
+    private static final long STAFF_THINK_MS = Long.getLong("loadtest.staffThinkMs", 50);
+    private static final long LLM_LATENCY_MS = Long.getLong("loadtest.llmLatencyMs", 200);
+
+    private static final Pattern HISTORY_ORDER_ID = Pattern.compile("/orders/detail/(\\d+)");
+
+    @Test
+    void replaySessions() throws Exception {
+        try (StubOllamaServer ollama = StubOllamaServer.start(LLM_LATENCY_MS, 16);
+             ConfigurableApplicationContext context = new SpringApplicationBuilder(MrDaebakDinnerApplication.class)
+                     .profiles("loadtest")
+                     // command-line 인자로 넣어야 application.properties 값보다 우선함 (.properties()는 기본값이라 밀림)
+                     .run("--server.port=0",
+                             "--ollama.api.baseurl=" + ollama.baseUrl())) {
+            // 주문이 재고 부족으로 막히지 않게 넉넉히 채움 (재주문 포함 고객당 2 * N건, item당 최대 4개)
+            InventoryService inventoryService = context.getBean(InventoryService.class);
+            int stock = CUSTOMERS * ORDERS_PER_CUSTOMER * 2 * 4 + 100;
+            for (long itemId = 1; itemId <= 10; itemId++) {
+                inventoryService.increaseCount(itemId, stock);
+            }
+
+            String baseUrl = "http://127.0.0.1:" + context.getEnvironment().getProperty("local.server.port");
+            LatencyRecorder recorder = new LatencyRecorder();
+            AtomicBoolean customersDone = new AtomicBoolean();
+            AtomicBoolean chefDone = new AtomicBoolean();
+
+            ExecutorService pool = Executors.newFixedThreadPool(CUSTOMERS + 2);
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<?>> customers = new ArrayList<>();
+            for (int i = 0; i < CUSTOMERS; i++) {
+                String loginId = "load" + i;
+                customers.add(pool.submit(() -> {
+                    start.await();
+                    customerSession(new LoadTestSession(baseUrl, recorder), loginId);
+                    return null;
+                }));
+            }
+            Future<?> chef = pool.submit(() -> {
+                start.await();
+                staffSession(new LoadTestSession(baseUrl, recorder), "chef", customersDone);
+                chefDone.set(true);
+                return null;
+            });
+            Future<?> delivery = pool.submit(() -> {
+                start.await();
+                staffSession(new LoadTestSession(baseUrl, recorder), "delivery", chefDone);
+                return null;
+            });
+
+            long begin = System.nanoTime();
+            start.countDown();
+            for (Future<?> customer : customers) {
+                customer.get();
+            }
+            double customerSeconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+            customersDone.set(true);
+            chef.get();
+            delivery.get();
+            double wallSeconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+            pool.shutdown();
+
+            long placed = recorder.count("POST /customer/orders/new") - recorder.errors("POST /customer/orders/new");
+            System.out.printf("customers=%d, ordersPerCustomer=%d, llmLatencyMs=%d, wall=%.1fs%n",
+                    CUSTOMERS, ORDERS_PER_CUSTOMER, LLM_LATENCY_MS, wallSeconds);
+            System.out.printf("orders placed=%d (%.1f orders/sec while customers were active), llm calls=%d%n",
+                    placed, placed / customerSeconds, ollama.requests());
+            recorder.report(wallSeconds).forEach(System.out::println);
+            System.out.println(context.getBean(StaffMonitorController.class).showStats());
+        }
+    }
+
+    private void customerSession(LoadTestSession session, String loginId) {
+        session.postForm("POST /customer/signup", "/customer/signup",
+                LoadTestSession.form("loginId", loginId, "password", "load", "name", loginId,
+                        "address", "서울시 광진구", "contact", "010-0000-0000"),
+                "/customer");
+        session.postForm("POST /customer/login", "/customer/login",
+                LoadTestSession.form("loginId", loginId, "password", "load"),
+                "/customer/main");
+        session.get("GET /customer/main", "/customer/main");
+
+        for (int n = 0; n < ORDERS_PER_CUSTOMER; n++) {
+            session.get("GET /customer/orders/new", "/customer/orders/new");
+            session.postForm("POST /customer/orders/new", "/customer/orders/new",
+                    LoadTestSession.form("dinnerKind", "VALENTINE", "dinnerStyle", "GRAND",
+                            "deliveryAddress", "서울시 광진구", "cardNumber", "1234-5678-9012-3456",
+                            "wine", "1", "steak", "1", "salad", String.valueOf(n % 2)),
+                    "/customer/orders/success");
+
+            LoadTestSession.Response history = session.get("GET /customer/orders/history", "/customer/orders/history");
+            Matcher matcher = HISTORY_ORDER_ID.matcher(history.body());
+            if (!matcher.find()) {
+                continue;
+            }
+            String orderId = matcher.group(1);
+            session.get("GET /orders/detail/{orderId}", "/orders/detail/" + orderId);
+
+            // 재주문: 이전 주문 내용으로 채워진 주문 화면 -> 같은 내용으로 다시 주문
+            session.get("GET /customer/order/reorder/{orderId}", "/customer/order/reorder/" + orderId);
+            session.postForm("POST /customer/orders/new", "/customer/orders/new",
+                    LoadTestSession.form("dinnerKind", "VALENTINE", "dinnerStyle", "GRAND",
+                            "deliveryAddress", "서울시 광진구", "cardNumber", "1234-5678-9012-3456",
+                            "wine", "1", "steak", "1", "salad", String.valueOf(n % 2)),
+                    "/customer/orders/success");
+        }
+
+        // AI 주문 대화 두 턴 (CONTINUE -> DONE)
+        session.postJson("POST /customer/ai-chat-order", "/customer/ai-chat-order",
+                "{\"userInput\": \"발렌타인 디너 주세요\"}");
+        session.postJson("POST /customer/ai-chat-order", "/customer/ai-chat-order",
+                "{\"userInput\": \"심플 스타일로 " + StubOllamaServer.CONFIRM_KEYWORD + "\"}");
+    }
+
+    // position: chef | delivery
+    // 보드의 각 행(status)을 보고 chef: ORDERED -> start, COOKING -> complete
+    //                         delivery: COOKED -> start, DELIVERING -> complete
+    // upstreamDone이 true가 되고 보드에 처리할 주문이 없어지면 종료
+    private void staffSession(LoadTestSession session, String position, AtomicBoolean upstreamDone)
+            throws InterruptedException {
+        session.postForm("POST /staff/login", "/staff/login",
+                LoadTestSession.form("password", "staff"), "/staff/chef");
+        String board = "/staff/" + position;
+        String startStatus = "chef".equals(position) ? "ORDERED" : "COOKED";
+        String completeStatus = "chef".equals(position) ? "COOKING" : "DELIVERING";
+        Pattern rowOrderId = Pattern.compile(board + "/start\\?orderId=(\\d+)");
+
+        while (true) {
+            boolean lastRound = upstreamDone.get();
+            String html = session.get("GET " + board, board).body();
+            List<String> toStart = new ArrayList<>();
+            List<String> toComplete = new ArrayList<>();
+            for (String row : html.split("<tr")) {
+                Matcher orderId = rowOrderId.matcher(row);
+                if (!orderId.find()) {
+                    continue;
+                }
+                if (row.contains("<td>" + startStatus + "</td>")) {
+                    toStart.add(orderId.group(1));
+                } else if (row.contains("<td>" + completeStatus + "</td>")) {
+                    toComplete.add(orderId.group(1));
+                }
+            }
+
+            // 하나는 상세 화면도 열어봄 (직원용 상세)
+            if (!toStart.isEmpty()) {
+                session.get("GET /orders/detail/{orderId}", "/orders/detail/" + toStart.get(0));
+            }
+            for (String orderId : toStart) {
+                session.postForm("POST " + board + "/start", board + "/start",
+                        LoadTestSession.form("orderId", orderId), board);
+            }
+            for (String orderId : toComplete) {
+                session.postForm("POST " + board + "/complete", board + "/complete",
+                        LoadTestSession.form("orderId", orderId), board);
+            }
+
+            if (lastRound && toStart.isEmpty() && toComplete.isEmpty()) {
+                return;
+            }
+            Thread.sleep(STAFF_THINK_MS);
+        }
+    }
+}
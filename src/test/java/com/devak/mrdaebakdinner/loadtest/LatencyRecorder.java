@@ -0,0 +1,60 @@
+package com.devak.mrdaebakdinner.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+// endpoint별 응답시간(ns)과 실패 수를 모아서 p50/p95/p99, 처리량 표로 출력
+class LatencyRecorder {
+
+    private final Map<String, ConcurrentLinkedQueue<Long>> samples = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> errors = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long elapsedNanos, boolean ok) {
+        samples.computeIfAbsent(endpoint, k -> new ConcurrentLinkedQueue<>()).add(elapsedNanos);
+        if (!ok) {
+            errors.computeIfAbsent(endpoint, k -> new AtomicLong()).incrementAndGet();
+        }
+    }
+
+    long count(String endpoint) {
+        ConcurrentLinkedQueue<Long> queue = samples.get(endpoint);
+        return queue == null ? 0 : queue.size();
+    }
+
+    long errors(String endpoint) {
+        AtomicLong count = errors.get(endpoint);
+        return count == null ? 0 : count.get();
+    }
+
+    // wallSeconds: 전체 실행 시간 (endpoint별 req/s 계산용)
+    List<String> report(double wallSeconds) {
+        List<String> lines = new ArrayList<>();
+        lines.add(String.format("%-36s %8s %7s %9s %9s %9s %9s %9s",
+                "endpoint", "count", "errors", "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)", "req/s"));
+        samples.keySet().stream().sorted().forEach(endpoint -> {
+            long[] sorted = samples.get(endpoint).stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            lines.add(String.format("%-36s %8d %7d %9.2f %9.2f %9.2f %9.2f %9.1f",
+                    endpoint, sorted.length, errors(endpoint),
+                    millis(percentile(sorted, 50)), millis(percentile(sorted, 95)),
+                    millis(percentile(sorted, 99)), millis(sorted[sorted.length - 1]),
+                    sorted.length / wallSeconds));
+        });
+        return lines;
+    }
+
+    // nearest-rank
+    private static long percentile(long[] sorted, int p) {
+        int rank = (int) Math.ceil(p / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
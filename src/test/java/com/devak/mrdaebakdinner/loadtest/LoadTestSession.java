@@ -0,0 +1,91 @@
+package com.devak.mrdaebakdinner.loadtest;
+
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.stream.Collectors;
+
+// 브라우저 한 개 (JSESSIONID 쿠키 유지, redirect는 따라가지 않음 -> 각 요청을 따로 측정)
+class LoadTestSession {
+
+    private final String baseUrl;
+    private final LatencyRecorder recorder;
+    private final HttpClient client;
+
+    LoadTestSession(String baseUrl, LatencyRecorder recorder) {
+        this.baseUrl = baseUrl;
+        this.recorder = recorder;
+        this.client = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    // endpoint: 집계용 이름 (path variable은 {orderId}처럼 묶어서 넘김)
+    Response get(String endpoint, String path) {
+        return send(endpoint, HttpRequest.newBuilder(URI.create(baseUrl + path)).GET(),
+                (status, location) -> status == 200);
+    }
+
+    // form POST. 성공하면 redirectTo로 시작하는 Location을 돌려주는 PRG 흐름 기준
+    Response postForm(String endpoint, String path, Map<String, String> form, String redirectTo) {
+        String body = form.entrySet().stream()
+                .map(e -> URLEncoder.encode(e.getKey(), StandardCharsets.UTF_8)
+                        + "=" + URLEncoder.encode(e.getValue(), StandardCharsets.UTF_8))
+                .collect(Collectors.joining("&"));
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        // 302지만 엉뚱한 곳(예: 로그인 화면)으로 간 경우도 실패로 셈
+        return send(endpoint, request,
+                (status, location) -> status == 302 && URI.create(location).getPath().startsWith(redirectTo));
+    }
+
+    Response postJson(String endpoint, String path, String json) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json));
+        return send(endpoint, request, (status, location) -> status == 200);
+    }
+
+    private Response send(String endpoint, HttpRequest.Builder request, BiPredicate<Integer, String> success) {
+        long begin = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(
+                    request.timeout(Duration.ofSeconds(60)).build(),
+                    HttpResponse.BodyHandlers.ofString(StandardCharsets.UTF_8));
+            long elapsed = System.nanoTime() - begin;
+            String location = response.headers().firstValue("Location").orElse("");
+            boolean ok = success.test(response.statusCode(), location);
+            recorder.record(endpoint, elapsed, ok);
+            return new Response(response.statusCode(), location, response.body(), ok);
+        } catch (IOException e) {
+            recorder.record(endpoint, System.nanoTime() - begin, false);
+            return new Response(-1, "", "", false);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new Response(-1, "", "", false);
+        }
+    }
+
+    static Map<String, String> form(String... keyValues) {
+        Map<String, String> form = new LinkedHashMap<>();
+        for (int i = 0; i + 1 < keyValues.length; i += 2) {
+            form.put(keyValues[i], keyValues[i + 1]);
+        }
+        return form;
+    }
+
+    record Response(int status, String location, String body, boolean ok) {
+    }
+}
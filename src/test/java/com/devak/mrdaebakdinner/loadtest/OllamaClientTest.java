@@ -0,0 +1,122 @@
+package com.devak.mrdaebakdinner.loadtest;
+
+import com.devak.mrdaebakdinner.exception.AiBusyException;
+import com.devak.mrdaebakdinner.service.OllamaClient;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.net.http.HttpTimeoutException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// OllamaClient를 StubOllamaServer에 붙여서: max-in-flight 초과 거절과 permit 반환, stream 줄 사이 timeout, abort
+// stub의 stream은 응답 시간의 30%가 지나야 첫 줄을 보냄 (그동안 본문이 비어 있음)
+class OllamaClientTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final ExecutorService caller = Executors.newSingleThreadExecutor();
+    private StubOllamaServer ollama;
+    private OllamaClient client;
+
+    private OllamaClient start(long latencyMs, int maxInFlight, long streamIdleTimeoutMs) throws Exception {
+        ollama = StubOllamaServer.start(latencyMs, 4);
+        client = new OllamaClient(ollama.baseUrl(), 2_000, 60_000, maxInFlight, 2, "30m",
+                streamIdleTimeoutMs, meterRegistry);
+        return client;
+    }
+
+    @AfterEach
+    void stop() {
+        caller.shutdownNow();
+        if (client != null) {
+            client.close();
+        }
+        if (ollama != null) {
+            ollama.close();
+        }
+    }
+
+    private static Map<String, Object> body(boolean stream) {
+        return Map.of(
+                "model", "test",
+                "messages", List.of(Map.of("role", "user", "content", "발렌타인 디너 주세요")),
+                "stream", stream);
+    }
+
+    private Future<Void> streamInBackground(OllamaClient.StreamAbort abort, CountDownLatch firstLine) {
+        return caller.submit(() -> {
+            client.chatStream(body(true), line -> firstLine.countDown(), abort);
+            return null;
+        });
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(condition.getAsBoolean()).isTrue();
+    }
+
+    private double gauge(String name) {
+        return meterRegistry.get(name).gauge().value();
+    }
+
+    @Test
+    void rejectsCallOverMaxInFlightAndReleasesPermit() throws Exception {
+        OllamaClient client = start(300, 1, 10_000);
+        Future<Void> stream = streamInBackground(new OllamaClient.StreamAbort(), new CountDownLatch(1));
+        await(() -> client.stats().get("inFlight") == 1);
+        assertThat(gauge("ai.ollama.stream.blocked")).isEqualTo(1.0);
+
+        assertThatThrownBy(() -> client.chat(body(false)))
+                .isInstanceOf(AiBusyException.class);
+        assertThat(client.stats()).containsEntry("rejected", 1L);
+
+        stream.get(5, TimeUnit.SECONDS);
+        assertThat(client.stats()).containsEntry("inFlight", 0L);
+        assertThat(gauge("ai.ollama.stream.blocked")).isZero();
+        assertThat(meterRegistry.find("ai.ollama.io.queued").gauge()).isNotNull(); // 값은 HttpClient 내부 작업에 따라 달라짐
+        // permit이 돌아왔으므로 다음 호출은 통과
+        assertThat(client.chat(body(false)).get(5, TimeUnit.SECONDS)).contains("\"done\":true");
+        assertThat(client.stats()).containsEntry("rejected", 1L);
+    }
+
+    @Test
+    void idleStreamTimesOut() throws Exception {
+        OllamaClient client = start(5_000, 1, 200); // 첫 줄까지 1500ms > idle 200ms
+
+        long begin = System.nanoTime();
+        assertThatThrownBy(() -> client.chatStream(body(true), line -> { }, new OllamaClient.StreamAbort()))
+                .isInstanceOf(HttpTimeoutException.class);
+
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - begin)).isLessThan(1_500); // 첫 줄을 기다리지 않고 끊음
+        assertThat(client.stats())
+                .containsEntry("timeouts", 1L)
+                .containsEntry("inFlight", 0L);
+    }
+
+    @Test
+    void abortCancelsStream() throws Exception {
+        OllamaClient client = start(2_000, 1, 10_000);
+        OllamaClient.StreamAbort abort = new OllamaClient.StreamAbort();
+        CountDownLatch firstLine = new CountDownLatch(1);
+        Future<Void> stream = streamInBackground(abort, firstLine);
+        assertThat(firstLine.await(5, TimeUnit.SECONDS)).isTrue();
+
+        abort.abort();
+
+        assertThatThrownBy(() -> stream.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(CancellationException.class);
+        assertThat(client.stats())
+                .containsEntry("cancelled", 1L)
+                .containsEntry("inFlight", 0L);
+    }
+}
@@ -0,0 +1,302 @@
+package com.devak.mrdaebakdinner.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Ollama /api/chat 흉내 서버 (부하 테스트용)
+// - 대화 턴(createResponse): 마지막 user 메시지에 "주문할게요"가 있으면 DONE, 아니면 CONTINUE
+//   스타일 키워드(심플/그랜드/디럭스)가 나오면 extracted_info.style에 반영
+// - 주문 추출(createJsonOrder): format.properties에 menu가 있으면 VALENTINE/SIMPLE 주문 JSON
+//   (DONE 턴의 extracted_info가 완전하면 AiOrderService가 호출하지 않음)
+// - 응답 시간: Latency 분포에서 매번 뽑음 (고정 / 균등 / log-normal)
+// - "stream": true 요청이면 실제 Ollama처럼 NDJSON chunk로 나눠 보냄 (첫 chunk까지 prefill 몫, 나머지는 chunk 사이에 나눔)
+// - faultRate 비율로 대화 턴 답변을 망가뜨림 (Fault 참고). 마지막 응답에는 prompt_eval_count 등 사용량도 넣음
+class StubOllamaServer implements AutoCloseable {
+
+    static final String CONFIRM_KEYWORD = "주문할게요";
+
+    private static final int STREAM_CHUNK_CHARS = 4;     // chunk 하나에 담는 글자 수 (token 대신)
+    private static final double PREFILL_SHARE = 0.3;     // 응답 시간 중 첫 chunk 전까지의 비율
+
+    // 모델이 실제로 내는 잘못된 답변들
+    enum Fault {
+        PLAIN_TEXT,       // JSON이 아닌 평문
+        TRUNCATED_JSON,   // 중간에 끊긴 JSON (num_predict 초과 등)
+        MISSING_STATUS,   // JSON이지만 status가 없음
+        INCOMPLETE_DONE   // DONE인데 extracted_info에 card_number가 없음 -> 주문 추출 모델 호출로 fallback
+    }
+
+    // 응답 시간 분포 (ms)
+    interface Latency {
+        long nextMillis();
+
+        static Latency fixed(long millis) {
+            return () -> millis;
+        }
+
+        static Latency uniform(long minMillis, long maxMillis) {
+            return () -> ThreadLocalRandom.current().nextLong(minMillis, maxMillis + 1);
+        }
+
+        // 중앙값 medianMillis, sigma가 클수록 꼬리가 긺 (sigma 0.5면 p99가 중앙값의 약 3.2배)
+        static Latency logNormal(long medianMillis, double sigma) {
+            return () -> Math.round(medianMillis * Math.exp(sigma * ThreadLocalRandom.current().nextGaussian()));
+        }
+
+        // "fixed:200", "uniform:100-400", "lognormal:300,0.5"
+        static Latency parse(String spec) {
+            String[] parts = spec.split(":", 2);
+            String[] args = parts.length > 1 ? parts[1].split("[-,]") : new String[0];
+            return switch (parts[0]) {
+                case "fixed" -> fixed(Long.parseLong(args[0]));
+                case "uniform" -> uniform(Long.parseLong(args[0]), Long.parseLong(args[1]));
+                case "lognormal" -> logNormal(Long.parseLong(args[0]), Double.parseDouble(args[1]));
+                default -> throw new IllegalArgumentException("알 수 없는 latency 분포: " + spec);
+            };
+        }
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Latency latency;
+    private final double faultRate;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong streamRequests = new AtomicLong();
+    private final AtomicLongArray faults = new AtomicLongArray(Fault.values().length);
+
+    private StubOllamaServer(Latency latency, double faultRate, int threads) throws IOException {
+        this.latency = latency;
+        this.faultRate = faultRate;
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.executor = Executors.newFixedThreadPool(threads);
+        server.createContext("/api/chat", this::handleChat);
+        server.setExecutor(executor);
+    }
+
+    // latencyMs: 응답마다 고정으로 기다리는 시간 (모델 추론 시간 대신)
+    static StubOllamaServer start(long latencyMs, int threads) throws IOException {
+        return start(Latency.fixed(latencyMs), 0, threads);
+    }
+
+    // faultRate: 대화 턴 답변 중 망가뜨릴 비율 (0 ~ 1)
+    static StubOllamaServer start(Latency latency, double faultRate, int threads) throws IOException {
+        StubOllamaServer stub = new StubOllamaServer(latency, faultRate, threads);
+        stub.server.start();
+        return stub;
+    }
+
+    String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    long requests() {
+        return requests.get();
+    }
+
+    long streamRequests() {
+        return streamRequests.get();
+    }
+
+    long faults(Fault fault) {
+        return faults.get(fault.ordinal());
+    }
+
+    private void handleChat(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+            String content = request.path("format").path("properties").has("menu")
+                    ? orderContent()
+                    : turnContent(lastUserMessage(request));
+            long latencyMillis = Math.max(0, latency.nextMillis());
+            int promptTokens = request.path("messages").toString().length() / 4;
+
+            if (request.path("stream").asBoolean()) {
+                streamRequests.incrementAndGet();
+                streamResponse(exchange, request, content, latencyMillis, promptTokens);
+                return;
+            }
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+
+            ObjectNode response = chunk(request, content, true);
+            usage(response, promptTokens, content, latencyMillis);
+            byte[] bytes = objectMapper.writeValueAsBytes(response);
+
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // 한 줄에 chunk 하나 (마지막 줄은 done: true + 사용량)
+    private void streamResponse(HttpExchange exchange, JsonNode request, String content,
+                                long latencyMillis, int promptTokens) throws IOException, InterruptedException {
+        List<String> pieces = new ArrayList<>();
+        for (int i = 0; i < content.length(); i += STREAM_CHUNK_CHARS) {
+            pieces.add(content.substring(i, Math.min(content.length(), i + STREAM_CHUNK_CHARS)));
+        }
+        long prefillMillis = Math.round(latencyMillis * PREFILL_SHARE);
+        long chunkGapNanos = pieces.isEmpty() ? 0 : (latencyMillis - prefillMillis) * 1_000_000 / pieces.size();
+
+        exchange.getResponseHeaders().set("Content-Type", "application/x-ndjson");
+        exchange.sendResponseHeaders(200, 0); // chunked
+        try (OutputStream out = exchange.getResponseBody()) {
+            // chunk마다 정해진 시각까지 기다림 (sleep 오차가 쌓여 전체 응답 시간이 늘어나지 않게)
+            long next = System.nanoTime() + prefillMillis * 1_000_000;
+            for (String piece : pieces) {
+                sleepUntil(next);
+                writeLine(out, chunk(request, piece, false));
+                next += chunkGapNanos;
+            }
+            sleepUntil(next);
+            ObjectNode last = chunk(request, "", true);
+            usage(last, promptTokens, content, latencyMillis);
+            writeLine(out, last);
+        }
+    }
+
+    private static void sleepUntil(long deadlineNanos) throws InterruptedException {
+        long remaining = deadlineNanos - System.nanoTime();
+        if (remaining > 0) {
+            Thread.sleep(remaining / 1_000_000, (int) (remaining % 1_000_000));
+        }
+    }
+
+    private void writeLine(OutputStream out, JsonNode line) throws IOException {
+        out.write(objectMapper.writeValueAsBytes(line));
+        out.write('\n');
+        out.flush();
+    }
+
+    private ObjectNode chunk(JsonNode request, String content, boolean done) {
+        ObjectNode response = objectMapper.createObjectNode();
+        response.put("model", request.path("model").asText());
+        response.put("created_at", "2026-01-01T00:00:00Z");
+        response.putObject("message")
+                .put("role", "assistant")
+                .put("content", content);
+        if (done) {
+            response.put("done_reason", "stop");
+        }
+        response.put("done", done);
+        return response;
+    }
+
+    // Ollama 응답 끝의 사용량 (duration은 ns)
+    private static void usage(ObjectNode response, int promptTokens, String content, long latencyMillis) {
+        long totalNanos = latencyMillis * 1_000_000;
+        long prefillNanos = Math.round(totalNanos * PREFILL_SHARE);
+        response.put("total_duration", totalNanos);
+        response.put("load_duration", 0);
+        response.put("prompt_eval_count", promptTokens);
+        response.put("prompt_eval_duration", prefillNanos);
+        response.put("eval_count", (content.length() + STREAM_CHUNK_CHARS - 1) / STREAM_CHUNK_CHARS);
+        response.put("eval_duration", totalNanos - prefillNanos);
+    }
+
+    private static String lastUserMessage(JsonNode request) {
+        String last = "";
+        for (JsonNode message : request.path("messages")) {
+            if ("user".equals(message.path("role").asText())) {
+                last = message.path("content").asText();
+            }
+        }
+        return last;
+    }
+
+    private String turnContent(String userInput) throws IOException {
+        boolean done = userInput.contains(CONFIRM_KEYWORD);
+        Fault fault = nextFault(done);
+        if (fault == Fault.PLAIN_TEXT) {
+            return "네, 발렌타인 디너로 도와드리겠습니다. 스타일을 골라주세요.";
+        }
+
+        ObjectNode content = objectMapper.createObjectNode();
+        if (fault != Fault.MISSING_STATUS) {
+            content.put("status", done ? "DONE" : "CONTINUE");
+        }
+        content.put("message", done
+                ? "주문을 확정했습니다."
+                : "발렌타인 디너를 선택하셨습니다. 스타일은 SIMPLE, GRAND, DELUXE 중 어떤 것으로 하시겠어요?");
+        ObjectNode info = content.putObject("extracted_info");
+        info.put("menu", "VALENTINE");
+        info.put("style", style(userInput));
+        if (done) {
+            // 확정 턴은 실제 모델처럼 필수 정보를 다 채움 -> 주문 추출 호출 없이 끝남
+            info.putObject("items").put("wine", 1).put("steak", 1);
+            info.put("reservation_time", "2026년 1월 1일 19시");
+            info.put("delivery_address", "loadtest");
+            if (fault != Fault.INCOMPLETE_DONE) {
+                info.put("card_number", "0000-0000-0000-0000");
+            }
+        }
+        String json = objectMapper.writeValueAsString(content);
+        return fault == Fault.TRUNCATED_JSON ? json.substring(0, json.length() / 2) : json;
+    }
+
+    private static String style(String userInput) {
+        if (userInput.contains("그랜드") || userInput.contains("GRAND")) {
+            return "GRAND";
+        }
+        if (userInput.contains("디럭스") || userInput.contains("DELUXE")) {
+            return "DELUXE";
+        }
+        return "SIMPLE";
+    }
+
+    // faultRate 확률로 이 턴에 맞는 Fault 하나 (INCOMPLETE_DONE은 DONE 턴에만), 아니면 null
+    private Fault nextFault(boolean done) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (faultRate <= 0 || random.nextDouble() >= faultRate) {
+            return null;
+        }
+        int choices = done ? Fault.values().length : Fault.values().length - 1;
+        Fault fault = Fault.values()[random.nextInt(choices)];
+        faults.incrementAndGet(fault.ordinal());
+        return fault;
+    }
+
+    private String orderContent() throws IOException {
+        ObjectNode order = objectMapper.createObjectNode();
+        order.put("menu", "VALENTINE");
+        order.put("style", "SIMPLE");
+        ObjectNode items = order.putObject("items");
+        for (String name : new String[]{"coffee_cup", "coffee_pot", "salad", "eggscramble",
+                "bacon", "bread", "baguette", "champagne"}) {
+            items.put(name, 0);
+        }
+        items.put("wine", 1);
+        items.put("steak", 1);
+        order.put("deliveryAddress", "loadtest");
+        order.put("cardNumber", "0000-0000-0000-0000");
+        order.put("reservationTime", "2026-01-01T19:00:00+09:00");
+        return objectMapper.writeValueAsString(order);
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
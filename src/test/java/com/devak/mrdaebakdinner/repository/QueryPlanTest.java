@@ -0,0 +1,65 @@
+package com.devak.mrdaebakdinner.repository;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// 주요 조회가 V2 migration의 index를 타는지 EXPLAIN으로 확인 (PostgreSQL에서만)
+// 테이블이 작으면 planner가 seq scan을 고르므로 enable_seqscan을 꺼서 "index를 쓸 수 있는지"를 봄
+// SPRING_DATASOURCE_URL이 PostgreSQL일 때만 실행 (context를 띄우기 전에 건너뛰므로 DB 없는 환경에서도 실패하지 않음)
+@EnabledIfEnvironmentVariable(named = "SPRING_DATASOURCE_URL", matches = "jdbc:postgresql:.*")
+@SpringBootTest
+@Transactional
+class QueryPlanTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void requirePostgres() {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        assumeTrue("PostgreSQL".equals(database), "PostgreSQL 전용 (현재: " + database + ")");
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off"); // 트랜잭션 끝나면 원래대로
+    }
+
+    @Test
+    void customerOrderHistoryUsesCustomerOrderTimeIndex() {
+        assertThat(plan("SELECT * FROM orders WHERE customer_id = 1 ORDER BY order_time DESC"))
+                .contains("idx_orders_customer_order_time");
+    }
+
+    @Test
+    void boardQueryUsesActiveStatusPartialIndex() {
+        assertThat(plan("SELECT * FROM orders WHERE status IN ('ORDERED', 'COOKING') ORDER BY id"))
+                .contains("idx_orders_active_status");
+    }
+
+    @Test
+    void orderItemsByOrderUsePrimaryKey() {
+        assertThat(plan("SELECT * FROM order_item WHERE order_id = 1"))
+                .contains("pk_order_item");
+    }
+
+    // 완료된 주문은 partial index 대상이 아님 (index가 진행 중 주문만큼만 커지는지 확인)
+    @Test
+    void deliveredOrdersAreNotInActiveStatusIndex() {
+        assertThat(plan("SELECT * FROM orders WHERE status = 'DELIVERED'"))
+                .doesNotContain("idx_orders_active_status");
+    }
+
+    private String plan(String sql) {
+        List<String> lines = jdbcTemplate.queryForList("EXPLAIN " + sql, String.class);
+        return String.join("\n", lines);
+    }
+}
@@ -0,0 +1,83 @@
+package com.devak.mrdaebakdinner.service;
+
+import com.devak.mrdaebakdinner.dto.CustomerSessionDTO;
+import com.devak.mrdaebakdinner.dto.CustomerSignUpDTO;
+import com.devak.mrdaebakdinner.dto.OrderDTO;
+import com.devak.mrdaebakdinner.dto.OrderItemDTO;
+import com.devak.mrdaebakdinner.entity.OrderDnrKind;
+import com.devak.mrdaebakdinner.entity.OrderDnrStyle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// conditional 재고 차감 + order_item batch INSERT: 주문 하나의 SQL 문장 수가 item 수와 상관없이 같음
+// StatementCounter가 센 값을 CheckoutConcurrencyPolicy.stats()의 statementsLast로 읽음
+// DB: H2 in-memory (loadtest profile). Ollama는 호출하지 않음
+@SpringBootTest(properties = {
+        "ollama.api.baseurl=http://127.0.0.1:1",
+        "inventory.engine=database",
+        "checkout.concurrency=conditional"})
+@ActiveProfiles("loadtest")
+class CheckoutStatementCountTest {
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private CheckoutConcurrencyPolicy checkoutConcurrencyPolicy;
+
+    private CustomerSessionDTO customer;
+
+    @BeforeEach
+    void signUpCustomer() {
+        CustomerSignUpDTO signUp = new CustomerSignUpDTO();
+        signUp.setLoginId("statements-" + System.nanoTime()); // in-memory DB를 다른 테스트와 같이 써도 겹치지 않게
+        signUp.setPassword("test");
+        signUp.setName("test");
+        customerService.signUp(signUp);
+        customer = new CustomerSessionDTO();
+        customer.setLoginId(signUp.getLoginId());
+        for (long itemId = 1; itemId <= OrderItemDTO.ITEM_NAMES.size(); itemId++) {
+            inventoryService.increaseCount(itemId, 10);
+        }
+    }
+
+    // item 0..itemCount-1을 하나씩 주문하고 그 주문이 쓴 문장 수를 반환
+    private long statementsFor(int itemCount) {
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.setDinnerKind(OrderDnrKind.CHAMPAGNE);
+        orderDTO.setDinnerStyle(OrderDnrStyle.GRAND); // champagne은 SIMPLE 불가
+        orderDTO.setDeliveryAddress("test");
+        orderDTO.setCardNumber("0000");
+        OrderItemDTO orderItemDTO = new OrderItemDTO();
+        for (int slot = 0; slot < itemCount; slot++) {
+            orderItemDTO.setQuantity(slot, 1);
+        }
+        orderService.placeOrder(orderDTO, orderItemDTO, customer);
+        return ((Number) checkoutConcurrencyPolicy.stats().get("statementsLast")).longValue();
+    }
+
+    @Test
+    void statementCountDoesNotGrowWithItemCount() {
+        // 처음 두 주문은 버림: 카탈로그 캐시 준비와 orders_seq 조회(pooled 방식은 처음에 두 번 받아 옴)가 섞임
+        // 그 뒤로는 미리 받은 50개 안에서 id를 쓰므로 sequence 조회가 끼지 않음
+        statementsFor(1);
+        statementsFor(1);
+
+        long oneItem = statementsFor(1);
+        long tenItems = statementsFor(OrderItemDTO.ITEM_NAMES.size());
+
+        assertThat(oneItem).isPositive();
+        assertThat(tenItems).isEqualTo(oneItem);
+    }
+}
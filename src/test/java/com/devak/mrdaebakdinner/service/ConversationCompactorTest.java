@@ -0,0 +1,68 @@
+package com.devak.mrdaebakdinner.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 오래된 턴을 상태 메시지로 접고, 앞의 system 메시지와 최근 턴은 그대로 두는지
+class ConversationCompactorTest {
+
+    private static ConversationStore.Conversation conversation(int turns) {
+        ConversationStore.Conversation conversation = new ConversationStore.Conversation();
+        conversation.append("system", "시스템 프롬프트");
+        conversation.append("system", "[현재 시간] 2026년 10월 17일 15시 (한국시간)");
+        for (int turn = 1; turn <= turns; turn++) {
+            conversation.append("user", "고객 " + turn);
+            conversation.append("assistant",
+                    "{\"status\": \"CONTINUE\", \"message\": \"답변 " + turn + "\", \"extracted_info\": {\"turn\": " + turn + "}}");
+        }
+        return conversation;
+    }
+
+    @Test
+    void keepsShortConversationAsIs() {
+        ConversationStore.Conversation conversation = conversation(3);
+        new ConversationCompactor(2, 4, 10_000).prepare(conversation, "고객 4");
+
+        assertThat(conversation.messages()).hasSize(2 + 3 * 2);
+    }
+
+    @Test
+    void foldsOlderTurnsWhenWindowIsFull() {
+        ConversationStore.Conversation conversation = conversation(5);
+        ConversationCompactor compactor = new ConversationCompactor(2, 4, 10_000);
+        compactor.prepare(conversation, "고객 6");
+
+        List<Map<String, String>> messages = conversation.messages();
+        assertThat(messages).hasSize(2 + 1 + 2 * 2);
+        assertThat(messages.get(0).get("content")).isEqualTo("시스템 프롬프트");
+        String state = messages.get(2).get("content");
+        assertThat(state).startsWith(ConversationCompactor.STATE_PREFIX)
+                .contains("{\"turn\":5}")
+                .contains("- 고객 1", "- 고객 3")
+                .doesNotContain("- 고객 4");
+        assertThat(messages.get(3).get("content")).isEqualTo("고객 4");
+        assertThat(conversation.turns()).isEqualTo(5);
+        assertThat(compactor.stats()).containsEntry("compactions", 1L).containsEntry("foldedTurns", 3L);
+
+        // 창이 다시 찰 때까지는 접지 않음 (앞부분이 그대로 -> prompt cache 유지)
+        conversation.append("user", "고객 6");
+        conversation.append("assistant", "{\"extracted_info\": {\"turn\": 6}}");
+        compactor.prepare(conversation, "고객 7");
+        assertThat(conversation.messages().get(2).get("content")).isEqualTo(state);
+    }
+
+    @Test
+    void rejectsInputThatCannotFitTheBudget() {
+        ConversationStore.Conversation conversation = conversation(1);
+        ConversationCompactor compactor = new ConversationCompactor(2, 4, 100);
+
+        assertThatThrownBy(() -> compactor.prepare(conversation, "가".repeat(200)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(compactor.stats()).containsEntry("overBudget", 1L);
+    }
+}
@@ -0,0 +1,106 @@
+package com.devak.mrdaebakdinner.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// idle-ttl 만료, byte 상한(대화 하나 최소 무게 포함), update() 재계산, 대화별 busy 표시
+// 시간은 ticker로 직접 움직임
+class ConversationStoreTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+
+    private ConversationStore store(long maxEntries, long maxBytes) {
+        return new ConversationStore(30, maxEntries, maxBytes, nanos::get);
+    }
+
+    private void advanceMinutes(long minutes) {
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(minutes));
+    }
+
+    // 메시지 하나의 추정 크기가 정확히 bytes가 되는 content (overhead 96 + 2 * (role + content 글자 수))
+    private static String contentOf(long bytes) {
+        return "x".repeat((int) ((bytes - 96) / 2 - "user".length()));
+    }
+
+    @Test
+    void expiresConversationsIdleLongerThanTtl() {
+        ConversationStore store = store(10, 10_000);
+        store.getOrCreate("idle");
+        store.getOrCreate("active");
+        advanceMinutes(20);
+        store.getOrCreate("active"); // 읽기만 해도 idle 시간이 다시 시작됨
+        advanceMinutes(20);
+
+        assertThat(store.stats())
+                .containsEntry("conversations", 1L)
+                .containsEntry("expired", 1L)
+                .containsEntry("sizeEvicted", 0L);
+    }
+
+    @Test
+    void countsEmptyConversationsAtMinimumWeight() {
+        ConversationStore store = store(4, 4_000); // 대화 하나 최소 1000 byte -> 최대 4개
+        for (int i = 0; i < 5; i++) {
+            store.getOrCreate("user" + i);
+        }
+
+        assertThat(store.stats())
+                .containsEntry("conversations", 4L)
+                .containsEntry("weightedBytes", 4_000L)
+                .containsEntry("created", 5L)
+                .containsEntry("sizeEvicted", 1L);
+    }
+
+    @Test
+    void updateReweighsGrownConversation() {
+        ConversationStore store = store(4, 4_000);
+        ConversationStore.Conversation conversation = store.getOrCreate("grown");
+        conversation.append("user", contentOf(3_000));
+        assertThat(store.stats()).containsEntry("weightedBytes", 1_000L); // update 전에는 처음 잰 무게
+
+        store.update("grown", conversation);
+        assertThat(store.stats()).containsEntry("weightedBytes", 3_000L);
+
+        conversation.append("user", contentOf(2_000)); // 혼자서 상한을 넘으면 버림
+        store.update("grown", conversation);
+        assertThat(store.stats())
+                .containsEntry("conversations", 0L)
+                .containsEntry("weightedBytes", 0L)
+                .containsEntry("sizeEvicted", 1L);
+    }
+
+    @Test
+    void doesNotReinsertConversationEvictedDuringTurn() {
+        ConversationStore store = store(10, 10_000);
+        ConversationStore.Conversation conversation = store.getOrCreate("slow");
+        assertThat(conversation.tryAcquire()).isTrue();
+        advanceMinutes(31); // 모델 답변을 기다리는 동안 만료
+        assertThat(store.stats()).containsEntry("expired", 1L);
+
+        conversation.append("user", "안녕하세요");
+        store.update("slow", conversation);
+        conversation.release();
+
+        assertThat(store.stats()).containsEntry("conversations", 0L);
+        assertThat(store.getOrCreate("slow")).isNotSameAs(conversation);
+    }
+
+    @Test
+    void allowsOneRequestPerConversationAtATime() {
+        ConversationStore store = store(10, 10_000);
+        ConversationStore.Conversation first = store.getOrCreate("busy");
+        ConversationStore.Conversation second = store.getOrCreate("busy");
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.tryAcquire()).isTrue();
+        assertThat(second.tryAcquire()).isFalse();
+        store.recordBusy();
+        first.release();
+        assertThat(second.tryAcquire()).isTrue();
+        assertThat(store.stats()).containsEntry("busy", 1L);
+    }
+}
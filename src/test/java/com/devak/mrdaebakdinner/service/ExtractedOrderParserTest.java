@@ -0,0 +1,75 @@
+package com.devak.mrdaebakdinner.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// DONE 턴 extracted_info -> 주문. 잘못된 값은 fallback(IllegalArgumentException)으로 넘기는지
+class ExtractedOrderParserTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private JsonNode info(String menu, String style, String items, String reservationTime) throws Exception {
+        return objectMapper.readTree("""
+                {"menu": %s, "style": %s, "items": %s, "reservation_time": %s,
+                 "delivery_address": "서울시 동대문구", "card_number": "1234-5678-9012-3456"}
+                """.formatted(menu, style, items, reservationTime));
+    }
+
+    @Test
+    void buildsDoneResultFromValidExtractedInfo() throws Exception {
+        ExtractedOrderParser parser = new ExtractedOrderParser();
+        Map<String, Object> result = parser.toDoneResult(
+                info("\"champagne\"", "\"DELUXE\"",
+                        "{\"champagne\": 1, \"baguette\": 4, \"coffee_pot\": 1, \"wine\": 2, \"steak\": 1, \"bread\": null}",
+                        "\"2026년 10월 18일 19시\""),
+                "주문을 확정했습니다.");
+
+        assertThat(result).containsEntry("status", "DONE")
+                .containsEntry("menu", "CHAMPAGNE")
+                .containsEntry("style", "DELUXE")
+                .containsEntry("reservationTime", "2026년 10월 18일 19시")
+                .containsEntry("message", "주문을 확정했습니다.");
+        @SuppressWarnings("unchecked")
+        Map<String, Integer> items = (Map<String, Integer>) result.get("items");
+        assertThat(items).hasSize(10).containsEntry("wine", 2).containsEntry("baguette", 4).containsEntry("bread", 0);
+        assertThat(parser.stats()).containsEntry("parsed", 1L).containsEntry("fallback", 0L);
+    }
+
+    @Test
+    void rejectsInvalidFieldsAndCountsFallbackCause() throws Exception {
+        ExtractedOrderParser parser = new ExtractedOrderParser();
+        String valentine = "{\"wine\": 1, \"steak\": 1}";
+        String time = "\"2026년 10월 18일 19시\"";
+
+        assertThatThrownBy(() -> parser.toDoneResult(info("\"KOREAN\"", "\"GRAND\"", valentine, time), ""))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> parser.toDoneResult(info("\"VALENTINE\"", "null", valentine, time), ""))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> parser.toDoneResult(info("\"VALENTINE\"", "\"GRAND\"", "{\"wine\": 1, \"steak\": 1, \"pizza\": 1}", time), ""))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> parser.toDoneResult(info("\"VALENTINE\"", "\"GRAND\"", "{\"wine\": \"1\", \"steak\": 1}", time), ""))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> parser.toDoneResult(info("\"VALENTINE\"", "\"GRAND\"", "{\"wine\": 1}", time), ""))
+                .isInstanceOf(IllegalArgumentException.class); // 기본 구성 steak 빠짐
+        assertThatThrownBy(() -> parser.toDoneResult(info("\"VALENTINE\"", "\"GRAND\"", valentine, "\"2026년 2월 30일 19시\""), ""))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> parser.toDoneResult(info("\"CHAMPAGNE\"", "\"SIMPLE\"",
+                "{\"champagne\": 1, \"baguette\": 4, \"coffee_pot\": 1, \"wine\": 1, \"steak\": 1}", time), ""))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        assertThat(parser.stats())
+                .containsEntry("parsed", 0L)
+                .containsEntry("fallback", 7L)
+                .containsEntry("fallback.MENU", 1L)
+                .containsEntry("fallback.STYLE", 1L)
+                .containsEntry("fallback.ITEMS", 3L)
+                .containsEntry("fallback.RESERVATION_TIME", 1L)
+                .containsEntry("fallback.COMBINATION", 1L);
+    }
+}
@@ -0,0 +1,112 @@
+package com.devak.mrdaebakdinner.service;
+
+import com.devak.mrdaebakdinner.entity.OrderItemEntity;
+import com.devak.mrdaebakdinner.entity.OrderItemId;
+import com.devak.mrdaebakdinner.repository.InventoryJournalRepository;
+import com.devak.mrdaebakdinner.repository.InventoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ledger 재고의 write-behind: flush 전에 재시작해도 inventory + journal로 같은 재고를 복구하고, flush는 두 번 반영하지 않음
+// DB: H2 in-memory (loadtest profile). 주기적 flush는 꺼 두고 테스트가 직접 호출
+@SpringBootTest(properties = {
+        "ollama.api.baseurl=http://127.0.0.1:1",
+        "inventory.engine=ledger",
+        "inventory.ledger.flush-interval-ms=3600000"})
+@ActiveProfiles("loadtest")
+class LedgerInventoryEngineTest {
+
+    private static final long WINE = 1L;
+    private static final long STEAK = 2L;
+
+    @Autowired
+    private LedgerInventoryEngine engine;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private InventoryJournalRepository inventoryJournalRepository;
+
+    @Autowired
+    private ItemCatalog itemCatalog;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // 재시작한 것처럼 새 engine (아직 ledger를 읽지 않은 상태)
+    private LedgerInventoryEngine restartedEngine() {
+        return new LedgerInventoryEngine(inventoryRepository, inventoryJournalRepository, itemCatalog,
+                transactionManager, 500);
+    }
+
+    private static OrderItemEntity orderItem(long itemId, int quantity) {
+        OrderItemEntity orderItem = new OrderItemEntity();
+        orderItem.setId(new OrderItemId(null, itemId));
+        orderItem.setQuantity(quantity);
+        return orderItem;
+    }
+
+    private Map<Long, Integer> tableStock() {
+        Map<Long, Integer> stock = new TreeMap<>();
+        for (InventoryRepository.StockRow row : inventoryRepository.findAllStockByOrderByItemIdAsc()) {
+            stock.put(row.getItemId(), row.getStockQuantity());
+        }
+        return stock;
+    }
+
+    private Map<Long, Integer> pendingJournal() {
+        Map<Long, Integer> pending = new HashMap<>();
+        for (Object[] row : inventoryJournalRepository.sumDeltaByItemId()) {
+            pending.put((Long) row[0], ((Number) row[1]).intValue());
+        }
+        return pending;
+    }
+
+    @Test
+    void restartBeforeFlushRecoversStockFromTablePlusJournal() {
+        engine.increase(WINE, 10);
+        engine.increase(STEAK, 10);
+        Map<Long, Integer> before = engine.findAllStock();
+        engine.reserve(List.of(orderItem(WINE, 2), orderItem(STEAK, 1)));
+
+        // flush 없이 재시작
+        Map<Long, Integer> table = tableStock();
+        Map<Long, Integer> pending = pendingJournal();
+        assertThat(pending).isNotEmpty();
+        Map<Long, Integer> recovered = restartedEngine().findAllStock();
+
+        table.forEach((itemId, stock) ->
+                assertThat(recovered.get(itemId)).isEqualTo(stock + pending.getOrDefault(itemId, 0)));
+        assertThat(recovered).isEqualTo(engine.findAllStock());
+        assertThat(recovered.get(WINE)).isEqualTo(before.get(WINE) - 2);
+        assertThat(recovered.get(STEAK)).isEqualTo(before.get(STEAK) - 1);
+    }
+
+    @Test
+    void flushAppliesJournalOnce() {
+        engine.increase(WINE, 5);
+        engine.reserve(List.of(orderItem(WINE, 3)));
+        Map<Long, Integer> ledger = engine.findAllStock();
+
+        engine.flush();
+        assertThat(pendingJournal()).isEmpty();
+        assertThat(tableStock()).isEqualTo(ledger);
+        long flushes = engine.stats().get("flushes");
+
+        engine.flush(); // 반영할 journal이 없으므로 아무것도 바뀌지 않음
+        assertThat(tableStock()).isEqualTo(ledger);
+        assertThat(engine.stats()).containsEntry("flushes", flushes);
+        assertThat(restartedEngine().findAllStock()).isEqualTo(ledger);
+    }
+}
@@ -0,0 +1,47 @@
+package com.devak.mrdaebakdinner.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 메뉴/스타일 질문만 가로채고, 주문/변경이 섞인 문장은 모델에게 넘기는지
+class MenuFaqResponderTest {
+
+    private static MenuFaqResponder.Intent classify(String userInput) {
+        return MenuFaqResponder.classify(MenuFaqResponder.normalize(userInput));
+    }
+
+    @Test
+    void answersCatalogAndStyleQuestions() {
+        assertThat(classify("프렌치 디너에는 뭐가 들어가요?")).isEqualTo(MenuFaqResponder.Intent.MENU_DETAIL);
+        assertThat(classify("샴페인 축제 디너 구성 알려주세요")).isEqualTo(MenuFaqResponder.Intent.MENU_DETAIL);
+        assertThat(classify("DELUXE는 어떤 스타일이에요?")).isEqualTo(MenuFaqResponder.Intent.STYLE_DETAIL);
+        assertThat(classify("메뉴 뭐 있어요?")).isEqualTo(MenuFaqResponder.Intent.MENU_LIST);
+        assertThat(classify("스타일 종류 설명해 주세요")).isEqualTo(MenuFaqResponder.Intent.STYLE_LIST);
+    }
+
+    @Test
+    void leavesOrdersAndAmbiguousQuestionsToTheModel() {
+        assertThat(classify("프렌치 디너로 주문할게요")).isNull();
+        assertThat(classify("발렌타인 디너 그랜드로 해주세요")).isNull();
+        assertThat(classify("와인 2병 추가해 주세요")).isNull();
+        assertThat(classify("샴페인은 뭐예요?")).isNull();                     // item 샴페인 (메뉴 아님)
+        assertThat(classify("프렌치랑 잉글리시 차이가 뭐예요?")).isNull();      // 비교는 모델에게
+        assertThat(classify("내일 7시에 배달 가능한가요?")).isNull();
+    }
+
+    @Test
+    void countsShareOfTurnsAnsweredLocally() {
+        MenuFaqResponder responder = new MenuFaqResponder();
+
+        assertThat(responder.answer("champagne 디너 뭐 나와요?"))
+                .contains("CHAMPAGNE 디너", "바게트 빵 4", "GRAND, DELUXE (SIMPLE 불가)");
+        assertThat(responder.answer("발렌타인 디너로 할게요")).isNull();
+
+        assertThat(responder.stats())
+                .containsEntry("turns", 2L)
+                .containsEntry("local", 1L)
+                .containsEntry("localPercent", 50L)
+                .containsEntry("local.MENU_DETAIL", 1L);
+    }
+}
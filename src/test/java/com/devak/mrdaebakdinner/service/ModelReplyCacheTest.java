@@ -0,0 +1,72 @@
+package com.devak.mrdaebakdinner.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// 대화 첫머리의 시간/개인 정보 없는 CONTINUE 답변만 재사용하는지
+class ModelReplyCacheTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private static List<Map<String, String>> newConversation() {
+        List<Map<String, String>> history = new ArrayList<>();
+        history.add(Map.of("role", "system", "content", AiOrderService.SYSTEM_PROMPT));
+        history.add(Map.of("role", "system", "content", "[현재 시간] 2025년 11월 3일 18시 (한국시간)"));
+        return history;
+    }
+
+    private AiOrderService.ModelReply reply(String status, String message, String extractedInfo) throws Exception {
+        return new AiOrderService.ModelReply("{}", status, message, objectMapper.readTree(extractedInfo));
+    }
+
+    @Test
+    void replaysFirstTurnReplyForSameNormalizedInput() throws Exception {
+        ModelReplyCache cache = new ModelReplyCache(100, 60);
+        String key = cache.keyFor(newConversation(), "안녕하세요!");
+        cache.offer(key, reply("CONTINUE", "어떤 디너로 하시겠어요?", "{\"menu\":null}"));
+
+        String sameKey = cache.keyFor(newConversation(), "안녕 하세요");
+        assertThat(sameKey).isEqualTo(key);
+        assertThat(cache.get(sameKey).message()).isEqualTo("어떤 디너로 하시겠어요?");
+        assertThat(cache.stats()).containsEntry("hits", 1L).containsEntry("hitPercent", 100L);
+    }
+
+    @Test
+    void skipsTurnsWithHistoryOrTimeReferences() {
+        ModelReplyCache cache = new ModelReplyCache(100, 60);
+        List<Map<String, String>> history = newConversation();
+        history.add(Map.of("role", "user", "content", "안녕하세요"));
+        history.add(Map.of("role", "assistant", "content", "{}"));
+
+        assertThat(cache.keyFor(history, "추천해 주세요")).isNull();
+        assertThat(cache.keyFor(newConversation(), "내일 저녁에 받을 수 있나요?")).isNull();
+        assertThat(cache.keyFor(newConversation(), "와인 2병 추가")).isNull();
+        assertThat(cache.stats()).containsEntry("uncacheable", 3L);
+    }
+
+    @Test
+    void storesOnlyTimeIndependentContinueRepliesWithoutPersonalData() throws Exception {
+        ModelReplyCache cache = new ModelReplyCache(100, 60);
+        String key = cache.keyFor(newConversation(), "발렌타인 디너 주세요");
+
+        cache.offer(key, reply("DONE", "주문 완료", "{\"menu\":\"VALENTINE\"}"));
+        cache.offer(key, reply("CONTINUE", "오늘 18시 이후 배달 가능합니다.", "{\"menu\":\"VALENTINE\"}"));
+        cache.offer(key, reply("CONTINUE", "스타일을 골라주세요.",
+                "{\"menu\":\"VALENTINE\",\"delivery_address\":\"서울시 동대문구\"}"));
+        assertThat(cache.get(key)).isNull();
+
+        cache.offer(key, reply("CONTINUE", "스타일을 골라주세요.", "{\"menu\":\"VALENTINE\",\"card_number\":null}"));
+        assertThat(cache.get(key)).isNotNull();
+        assertThat(cache.stats())
+                .containsEntry("stored", 1L)
+                .containsEntry("rejected.STATUS", 1L)
+                .containsEntry("rejected.TIME", 1L)
+                .containsEntry("rejected.PERSONAL", 1L);
+    }
+}
@@ -0,0 +1,161 @@
+package com.devak.mrdaebakdinner.service;
+
+import com.devak.mrdaebakdinner.entity.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// ring buffer 순서/묶음 경계, 가득 찼을 때 기다렸다 버리기, consumer 예외 격리, 종료 시 남은 이벤트 전달
+class OrderEventBusTest {
+
+    // onEvent 밖에서 읽을 값만 복사해 둠 (OrderEvent 칸은 다음 이벤트로 덮어써짐)
+    private record Seen(long sequence, Long orderId, boolean endOfBatch) {
+    }
+
+    private static class Recorder implements OrderEventConsumer {
+        final List<Seen> seen = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch firstEventStarted = new CountDownLatch(1);
+        final CountDownLatch release;
+
+        Recorder(boolean blockOnFirstEvent) {
+            this.release = new CountDownLatch(blockOnFirstEvent ? 1 : 0);
+        }
+
+        @Override
+        public void onEvent(OrderEvent event, boolean endOfBatch) {
+            seen.add(new Seen(event.sequence(), event.orderId(), endOfBatch));
+            firstEventStarted.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static OrderEventBus start(List<OrderEventConsumer> consumers, int ringSize, int maxBatchSize,
+                                       long publishTimeoutMs) {
+        OrderEventBus bus = new OrderEventBus(consumers, ringSize, maxBatchSize, publishTimeoutMs);
+        bus.start();
+        return bus;
+    }
+
+    // 트랜잭션 밖이라 바로 발행됨
+    private static void publish(OrderEventBus bus, long orderId) {
+        bus.transitionedAfterCommit(orderId, OrderStatus.ORDERED, OrderStatus.COOKING, null);
+    }
+
+    @Test
+    void deliversInSequenceOrderAcrossRingWraparound() throws Exception {
+        Recorder recorder = new Recorder(false);
+        OrderEventBus bus = start(List.of(recorder), 4, 2, 5_000);
+        for (long orderId = 0; orderId < 50; orderId++) {
+            publish(bus, orderId);
+        }
+        bus.close();
+
+        assertThat(recorder.seen).extracting(Seen::sequence).containsExactlyElementsOf(
+                LongStream.range(0, 50).boxed().toList());
+        assertThat(recorder.seen).extracting(Seen::orderId).containsExactlyElementsOf(
+                LongStream.range(0, 50).boxed().toList());
+        assertThat(bus.stats())
+                .containsEntry("published", 50L)
+                .containsEntry("COOKING", 50L)
+                .containsEntry("dropped", 0L);
+    }
+
+    @Test
+    void fullRingBlocksPublisherThenDropsAfterTimeout() throws Exception {
+        Recorder recorder = new Recorder(true);
+        OrderEventBus bus = start(List.of(recorder), 2, 8, 200);
+        publish(bus, 1);
+        assertThat(recorder.firstEventStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        publish(bus, 2); // ring 2칸이 모두 참 (첫 이벤트는 consumer가 아직 처리 중)
+
+        long start = System.nanoTime();
+        publish(bus, 3);
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertThat(waitedMillis).isGreaterThanOrEqualTo(190);
+        assertThat(bus.stats())
+                .containsEntry("fullWaits", 1L)
+                .containsEntry("dropped", 1L)
+                .containsEntry("pending", 2L);
+
+        recorder.release.countDown();
+        bus.close();
+        assertThat(recorder.seen).extracting(Seen::orderId).containsExactly(1L, 2L);
+    }
+
+    @Test
+    void marksLastEventOfEachBatch() throws Exception {
+        Recorder recorder = new Recorder(true);
+        OrderEventBus bus = start(List.of(recorder), 8, 3, 5_000);
+        publish(bus, 0);
+        assertThat(recorder.firstEventStarted.await(5, TimeUnit.SECONDS)).isTrue();
+        for (long orderId = 1; orderId <= 6; orderId++) { // dispatcher가 첫 이벤트에 묶인 동안 쌓임
+            publish(bus, orderId);
+        }
+        recorder.release.countDown();
+        bus.close();
+
+        // 묶음: [0], [1, 2, 3], [4, 5, 6]
+        assertThat(recorder.seen).extracting(Seen::endOfBatch)
+                .containsExactly(true, false, false, true, false, false, true);
+        assertThat(bus.stats())
+                .containsEntry("batches", 3L)
+                .containsEntry("maxBatch", 3L);
+    }
+
+    @Test
+    void throwingConsumerDoesNotStopOthers() throws Exception {
+        OrderEventConsumer failing = (event, endOfBatch) -> {
+            throw new IllegalStateException("consumer 실패");
+        };
+        Recorder recorder = new Recorder(false);
+        OrderEventBus bus = start(List.of(failing, recorder), 8, 4, 5_000);
+        for (long orderId = 1; orderId <= 3; orderId++) {
+            publish(bus, orderId);
+        }
+        bus.close();
+
+        assertThat(recorder.seen).extracting(Seen::orderId).containsExactly(1L, 2L, 3L);
+        assertThat(bus.stats()).containsEntry("consumerErrors", 3L);
+    }
+
+    @Test
+    void closeDeliversAlreadyPublishedEvents() throws Exception {
+        Recorder recorder = new Recorder(true);
+        OrderEventBus bus = start(List.of(recorder), 16, 4, 5_000);
+        for (long orderId = 1; orderId <= 10; orderId++) {
+            publish(bus, orderId);
+        }
+        assertThat(recorder.firstEventStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Thread closer = new Thread(() -> {
+            try {
+                bus.close();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        closer.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (closer.getState() != Thread.State.TIMED_WAITING && System.nanoTime() < deadline) {
+            Thread.sleep(10); // close()가 dispatcher 종료를 기다리기 시작할 때까지
+        }
+        recorder.release.countDown(); // 종료 중에도 이미 발행된 이벤트는 다 넘김
+        closer.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertThat(closer.isAlive()).isFalse();
+        assertThat(recorder.seen).hasSize(10);
+        assertThat(bus.stats()).containsEntry("pending", 0L);
+    }
+}
@@ -0,0 +1,165 @@
+package com.devak.mrdaebakdinner.service;
+
+import com.devak.mrdaebakdinner.dto.CustomerSessionDTO;
+import com.devak.mrdaebakdinner.dto.CustomerSignUpDTO;
+import com.devak.mrdaebakdinner.dto.OrderDTO;
+import com.devak.mrdaebakdinner.dto.OrderItemDTO;
+import com.devak.mrdaebakdinner.entity.OrderDnrKind;
+import com.devak.mrdaebakdinner.entity.OrderDnrStyle;
+import com.devak.mrdaebakdinner.entity.OrderStatus;
+import com.devak.mrdaebakdinner.repository.OrderRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 조건부 UPDATE 상태 전이: 동시에 눌러도 한 번만 바뀌고, 일괄 처리는 실제로 바뀐 주문 수만 셈 (RETURNING으로 받은 id만 발행)
+// DB: H2 in-memory (loadtest profile). Ollama는 호출하지 않음
+@SpringBootTest(properties = "ollama.api.baseurl=http://127.0.0.1:1")
+@ActiveProfiles("loadtest")
+class OrderTransitionTest {
+
+    private static final int THREADS = 8;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderEventBus orderEventBus;
+
+    private CustomerSessionDTO customer;
+
+    @BeforeEach
+    void signUpCustomer() {
+        CustomerSignUpDTO signUp = new CustomerSignUpDTO();
+        signUp.setLoginId("transition-" + System.nanoTime()); // in-memory DB를 다른 테스트와 같이 써도 겹치지 않게
+        signUp.setPassword("test");
+        signUp.setName("test");
+        customerService.signUp(signUp);
+        customer = new CustomerSessionDTO();
+        customer.setLoginId(signUp.getLoginId());
+        inventoryService.increaseCount(1L, 10); // wine
+        inventoryService.increaseCount(2L, 10); // steak
+    }
+
+    private Long placeOrder() {
+        OrderDTO orderDTO = new OrderDTO();
+        orderDTO.setDinnerKind(OrderDnrKind.VALENTINE);
+        orderDTO.setDinnerStyle(OrderDnrStyle.SIMPLE);
+        orderDTO.setDeliveryAddress("test");
+        orderDTO.setCardNumber("0000");
+        OrderItemDTO orderItemDTO = new OrderItemDTO();
+        orderItemDTO.setWine(1);
+        orderItemDTO.setSteak(1);
+        return orderService.placeOrder(orderDTO, orderItemDTO, customer).getId();
+    }
+
+    private OrderStatus statusOf(Long orderId) {
+        return orderRepository.findById(orderId).orElseThrow().getStatus();
+    }
+
+    // commit 뒤 발행된 이벤트가 모두 넘어간 뒤의 type별 누적 수
+    private long deliveredEvents(OrderEvent.Type type) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (orderEventBus.stats().get("pending") > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        return orderEventBus.stats().get(type.name());
+    }
+
+    @Test
+    void concurrentSingleTransitionAppliesOnce() throws Exception {
+        Long orderId = placeOrder();
+        long cookingEvents = deliveredEvents(OrderEvent.Type.COOKING);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            results.add(pool.submit(() -> {
+                start.await();
+                return orderService.startCooking(orderId);
+            }));
+        }
+        start.countDown();
+        int applied = 0;
+        for (Future<Boolean> result : results) {
+            if (result.get(10, TimeUnit.SECONDS)) {
+                applied++;
+            }
+        }
+        pool.shutdown();
+
+        assertThat(applied).isEqualTo(1);
+        assertThat(statusOf(orderId)).isEqualTo(OrderStatus.COOKING);
+        assertThat(deliveredEvents(OrderEvent.Type.COOKING)).isEqualTo(cookingEvents + 1);
+    }
+
+    @Test
+    void bulkTransitionCountsOnlyApplicableOrders() throws Exception {
+        Long cooking = placeOrder();
+        Long ordered1 = placeOrder();
+        Long ordered2 = placeOrder();
+        orderService.startCooking(cooking);
+        long cookingEvents = deliveredEvents(OrderEvent.Type.COOKING);
+
+        // cooking은 이미 COOKING, 없는 주문 id와 null은 건너뜀
+        List<Long> ids = new ArrayList<>(List.of(cooking, ordered1, ordered2, Long.MAX_VALUE));
+        ids.add(null);
+        assertThat(orderService.startCooking(ids)).isEqualTo(2);
+
+        assertThat(statusOf(cooking)).isEqualTo(OrderStatus.COOKING);
+        assertThat(statusOf(ordered1)).isEqualTo(OrderStatus.COOKING);
+        assertThat(statusOf(ordered2)).isEqualTo(OrderStatus.COOKING);
+        assertThat(deliveredEvents(OrderEvent.Type.COOKING)).isEqualTo(cookingEvents + 2); // 건너뛴 주문은 발행하지 않음
+
+        // 같은 목록을 다시 보내면 바뀔 주문이 없음
+        assertThat(orderService.startCooking(ids)).isZero();
+    }
+
+    @Test
+    void bulkDeliveryCompletionRecordsDeliveryTime() throws Exception {
+        Long delivering = placeOrder();
+        Long cooked = placeOrder();
+        orderService.startCooking(List.of(delivering, cooked));
+        orderService.completeCooking(List.of(delivering, cooked));
+        orderService.startDelivery(delivering);
+        long deliveredEvents = deliveredEvents(OrderEvent.Type.DELIVERED);
+
+        // cooked는 아직 배달 시작 전이라 건너뜀
+        assertThat(orderService.completeDelivery(List.of(delivering, cooked))).isEqualTo(1);
+
+        assertThat(statusOf(delivering)).isEqualTo(OrderStatus.DELIVERED);
+        assertThat(orderRepository.findById(delivering).orElseThrow().getDeliveryTime()).isNotNull();
+        assertThat(statusOf(cooked)).isEqualTo(OrderStatus.COOKED);
+        assertThat(orderRepository.findById(cooked).orElseThrow().getDeliveryTime()).isNull();
+        assertThat(deliveredEvents(OrderEvent.Type.DELIVERED)).isEqualTo(deliveredEvents + 1);
+    }
+
+    @Test
+    void rejectsBulkTransitionOverLimit() {
+        List<Long> ids = LongStream.rangeClosed(1, 501).boxed().toList();
+
+        assertThatThrownBy(() -> orderService.startCooking(ids))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("500");
+    }
+}
@@ -0,0 +1,97 @@
+package com.devak.mrdaebakdinner.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+// 실제 Ollama에서 턴마다 prefill(prompt 계산) token 수와 지연을 잼
+// - before: 시간이 시스템 프롬프트 첫 줄에 들어간 예전 방식 (대화마다 시작 시각이 달라 prefix가 첫 줄부터 다름)
+// - after: 고정 SYSTEM_PROMPT + clockMessage (모든 대화가 같은 prefix, 턴마다 history 뒤에만 붙음)
+// 여러 대화의 턴을 번갈아 보내서 실제처럼 고객끼리 prompt cache를 두고 경쟁하게 함
+// 실행: ./gradlew benchmark --tests '*PromptPrefillBenchmark*' -Dollama.baseurl=http://localhost:11434
+//       (Ollama가 없으면 건너뜀. OLLAMA_NUM_PARALLEL에 따라 결과가 달라지므로 같이 기록할 것)
+@Tag("benchmark")
+class PromptPrefillBenchmark {
+
+    private static final String BASE_URL = System.getProperty("ollama.baseurl");
+    private static final int CONVERSATIONS = Integer.getInteger("prefill.conversations", 4);
+
+    private static final List<String> TURNS = List.of(
+            "발렌타인 디너 주문하고 싶어요",
+            "스타일은 GRAND로 할게요",
+            "내일 저녁 7시에 받을게요",
+            "주소는 서울시 동대문구 서울시립대로 163이에요");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void compareBeforeAndAfter() throws Exception {
+        assumeTrue(BASE_URL != null, "-Dollama.baseurl 없음");
+        OllamaClient ollamaClient = new OllamaClient(BASE_URL, 2000, 300_000, 1, 2, "30m", 15_000, new SimpleMeterRegistry());
+        AiOrderService aiOrderService = new AiOrderService(ollamaClient, new ConversationStore(30, 10_000, 64L << 20),
+                new ExtractedOrderParser(), new ConversationCompactor(4, 8, 3500),
+                new MenuFaqResponder(), new ModelReplyCache(1000, 60));
+        try {
+            List<String> report = new ArrayList<>();
+            report.add(String.format("%-7s %5s %14s %14s %12s", "mode", "turn", "prefillTokens", "prefillMillis", "totalMillis"));
+            // 모델 load 시간이 before의 첫 턴에 섞이지 않게 먼저 한 번 호출
+            ollamaClient.chat(aiOrderService.chatRequestBody(List.of(), "안녕하세요", false)).get();
+            run(aiOrderService, ollamaClient, false, report);
+            run(aiOrderService, ollamaClient, true, report);
+            report.forEach(System.out::println);
+        } finally {
+            ollamaClient.close();
+        }
+    }
+
+    private void run(AiOrderService aiOrderService, OllamaClient ollamaClient,
+                     boolean stablePrefix, List<String> report) throws Exception {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.ofHours(9));
+        List<List<Map<String, String>>> histories = new ArrayList<>();
+        for (int c = 0; c < CONVERSATIONS; c++) {
+            // 대화마다 시작 시각이 한 시간씩 다르다고 가정 (같은 시각이면 예전 방식도 prefix가 같음)
+            Map<String, String> clock = AiOrderService.clockMessage(now.plusHours(c));
+            List<Map<String, String>> history = new ArrayList<>();
+            if (stablePrefix) {
+                history.add(Map.of("role", "system", "content", AiOrderService.SYSTEM_PROMPT));
+                history.add(clock);
+            } else {
+                history.add(Map.of("role", "system", "content", clock.get("content") + "\n" + AiOrderService.SYSTEM_PROMPT));
+            }
+            histories.add(history);
+        }
+
+        for (int turn = 0; turn < TURNS.size(); turn++) {
+            long prefillTokens = 0;
+            long prefillNanos = 0;
+            long totalNanos = 0;
+            for (List<Map<String, String>> history : histories) {
+                String userInput = TURNS.get(turn);
+                long start = System.nanoTime();
+                String responseBody = ollamaClient.chat(aiOrderService.chatRequestBody(history, userInput, false)).get();
+                totalNanos += System.nanoTime() - start;
+
+                JsonNode response = objectMapper.readTree(responseBody);
+                prefillTokens += response.path("prompt_eval_count").asLong();
+                prefillNanos += response.path("prompt_eval_duration").asLong();
+                history.add(Map.of("role", "user", "content", userInput));
+                history.add(Map.of("role", "assistant", "content", response.path("message").path("content").asText()));
+            }
+            report.add(String.format("%-7s %5d %14d %14d %12d", stablePrefix ? "after" : "before", turn + 1,
+                    prefillTokens / CONVERSATIONS,
+                    TimeUnit.NANOSECONDS.toMillis(prefillNanos / CONVERSATIONS),
+                    TimeUnit.NANOSECONDS.toMillis(totalNanos / CONVERSATIONS)));
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.devak.mrdaebakdinner.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// stream 조각 경계가 어디서 잘려도 "message" 값만 그대로 나오는지
+class ReplyMessageExtractorTest {
+
+    private static final String REPLY = "{\"status\": \"CONTINUE\", "
+            + "\"extracted_info\": {\"menu\": \"VALENTINE\", \"message\": \"안쪽 필드\", \"items\": {\"wine\": 1}}, "
+            + "\"message\": \"발렌타인 디너입니다.\\n스타일을 \\\"골라\\\" 주세요 \\uD83C\\uDF77\"}";
+
+    private static final String MESSAGE = "발렌타인 디너입니다.\n스타일을 \"골라\" 주세요 🍷";
+
+    @Test
+    void extractsTopLevelMessageFromWholeReply() {
+        assertThat(new ReplyMessageExtractor().feed(REPLY)).isEqualTo(MESSAGE);
+    }
+
+    @Test
+    void extractsSameMessageWhateverTheChunkSize() {
+        for (int chunkSize = 1; chunkSize <= 7; chunkSize++) {
+            ReplyMessageExtractor extractor = new ReplyMessageExtractor();
+            StringBuilder message = new StringBuilder();
+            for (int i = 0; i < REPLY.length(); i += chunkSize) {
+                message.append(extractor.feed(REPLY.substring(i, Math.min(REPLY.length(), i + chunkSize))));
+            }
+            assertThat(message.toString()).as("chunkSize=%d", chunkSize).isEqualTo(MESSAGE);
+        }
+    }
+
+    @Test
+    void ignoresNonStringValuesBeforeMessage() {
+        String reply = "{\"count\": 3, \"done\": false, \"note\": null, \"message\": \"ok\"}";
+        assertThat(new ReplyMessageExtractor().feed(reply)).isEqualTo("ok");
+    }
+}